@@ -1,12 +1,17 @@
 package com.template.core.config;
 
 import com.template.core.dto.ErrorResponseDTO;
+import com.template.core.exception.ValidacaoException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Controlador para lidar com os erros.
  */
@@ -21,4 +26,29 @@ public class AdviceExceptionController extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponseDTO(ex.getMessage()));
     }
 
+    /**
+     * Função responsável por retornar 400 quando um valor informado é inválido (ex.: CPF/CNPJ). As demais
+     * IllegalArgumentException são erros internos e seguem para {@link #getError(Exception)}.
+     */
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity<ErrorResponseDTO> getValidacao(ValidacaoException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponseDTO(ex.getMessage()));
+    }
+
+    /**
+     * Função responsável por retornar 401 quando as credenciais do usuário são inválidas.
+     */
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<ErrorResponseDTO> getBadCredentials(BadCredentialsException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ErrorResponseDTO(ex.getMessage()));
+    }
+
+    /**
+     * Função responsável por retornar 503 quando um executor limitado (ex.: hashing de senhas) está saturado.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponseDTO> getRejectedExecution(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(new ErrorResponseDTO("SERVIÇO SOBRECARREGADO, TENTE NOVAMENTE"));
+    }
+
 }
\ No newline at end of file
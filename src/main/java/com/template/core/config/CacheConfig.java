@@ -0,0 +1,98 @@
+package com.template.core.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.template.core.repository.DadosPessoaisRepository;
+import com.template.core.repository.PermissaoRepository;
+import com.template.core.repository.ProdutoRepository;
+import com.template.core.repository.RoleRepository;
+import com.template.core.repository.UserRepository;
+import com.template.core.util.cache.BroadcastingCaffeineCacheManager;
+import com.template.core.util.cache.CacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Configuração dos caches de entidades da camada de serviço.
+ * <p>
+ * Cada entidade possui o seu cache, com tamanho, expiração e renovação definidos por uma especificação do Caffeine
+ * (ex.: {@code maximumSize=10000,expireAfterWrite=10m,refreshAfterWrite=5m}). Os caches são read-through: uma
+ * ausência é carregada pelo repositório uma única vez por chave, mesmo com leituras concorrentes, e uma entrada lida
+ * após o {@code refreshAfterWrite} é devolvida enquanto é recarregada em segundo plano, de modo que chaves muito
+ * acessadas não expiram todas de uma vez. As estatísticas de acertos, ausências e remoções são publicadas nas métricas
+ * {@code cache.*} do actuator com a tag {@code cache=<nome>}.
+ * <p>
+ * As remoções são propagadas para as demais instâncias pelo {@link CacheInvalidationBus}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUTOS = "produtos";
+
+    public static final String PERMISSOES = "permissoes";
+
+    public static final String DADOS_PESSOAIS = "dados-pessoais";
+
+    public static final String ROLES = "roles";
+
+    public static final String USERS = "users";
+
+    @Value("${template.cache.produtos:maximumSize=10000,expireAfterWrite=10m,refreshAfterWrite=5m}")
+    private String produtosSpec;
+
+    @Value("${template.cache.permissoes:maximumSize=1000,expireAfterWrite=30m,refreshAfterWrite=10m}")
+    private String permissoesSpec;
+
+    @Value("${template.cache.dados-pessoais:maximumSize=10000,expireAfterWrite=10m,refreshAfterWrite=5m}")
+    private String dadosPessoaisSpec;
+
+    @Value("${template.cache.roles:maximumSize=200,expireAfterWrite=30m,refreshAfterWrite=10m}")
+    private String rolesSpec;
+
+    @Value("${template.cache.users:maximumSize=10000,expireAfterWrite=10m,refreshAfterWrite=5m}")
+    private String usersSpec;
+
+    /**
+     * Cria o gerenciador de caches. As remoções feitas dentro de uma transação são aplicadas apenas após a confirmação,
+     * para que uma leitura concorrente não recarregue o valor anterior à alteração.
+     *
+     * @param produtoRepository       O repositório de produtos.
+     * @param permissaoRepository     O repositório de permissões.
+     * @param dadosPessoaisRepository O repositório de dados pessoais.
+     * @param roleRepository          O repositório de roles.
+     * @param userRepository          O repositório de users.
+     * @param cacheInvalidationBus    O barramento de invalidação entre as instâncias.
+     * @return O gerenciador de caches.
+     */
+    @Bean
+    public CacheManager cacheManager(ProdutoRepository produtoRepository, PermissaoRepository permissaoRepository, DadosPessoaisRepository dadosPessoaisRepository, RoleRepository roleRepository, UserRepository userRepository, CacheInvalidationBus cacheInvalidationBus) {
+        CaffeineCacheManager cacheManager = new BroadcastingCaffeineCacheManager(cacheInvalidationBus);
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+
+        register(cacheManager, PRODUTOS, produtosSpec, produtoRepository::findById);
+        register(cacheManager, PERMISSOES, permissoesSpec, permissaoRepository::findById);
+        register(cacheManager, DADOS_PESSOAIS, dadosPessoaisSpec, dadosPessoaisRepository::findById);
+        register(cacheManager, ROLES, rolesSpec, roleRepository::findDetalheById);
+        register(cacheManager, USERS, usersSpec, userRepository::findDetalheById);
+        cacheInvalidationBus.bind(cacheManager);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Registra o cache com a especificação e a função de carga pelo ID. Entidades inexistentes não são armazenadas.
+     */
+    private static void register(CaffeineCacheManager cacheManager, String name, String spec, Function<Long, Optional<?>> loader) {
+        cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build(key -> loader.apply((Long) key).orElse(null)));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.template.core.config;
+
+import com.template.core.util.cache.CacheInvalidationBus;
+import com.template.core.util.cache.InMemoryInvalidationTransport;
+import com.template.core.util.cache.InvalidationTransport;
+import com.template.core.util.cache.PostgresInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuração da invalidação dos caches locais entre as instâncias da aplicação.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Value("${template.cache.invalidation.channel:template_core_cache}")
+    private String channel;
+
+    @Value("${template.cache.invalidation.linger-millis:5}")
+    private long lingerMillis;
+
+    @Value("${template.cache.invalidation.batch-size:128}")
+    private int batchSize;
+
+    /**
+     * Cria o transporte pelo LISTEN/NOTIFY do Postgres. A escuta do canal mantém uma conexão do pool ocupada.
+     *
+     * @param dataSource O DataSource da aplicação.
+     * @return O transporte.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "template.cache.invalidation.transport", havingValue = "postgres", matchIfMissing = true)
+    public InvalidationTransport postgresInvalidationTransport(DataSource dataSource) {
+        return new PostgresInvalidationTransport(dataSource, channel);
+    }
+
+    /**
+     * Cria o transporte em memória, que não propaga invalidações para outras instâncias.
+     *
+     * @return O transporte.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "template.cache.invalidation.transport", havingValue = "memory")
+    public InvalidationTransport inMemoryInvalidationTransport() {
+        return new InMemoryInvalidationTransport();
+    }
+
+    /**
+     * Cria o barramento que publica em lotes as remoções dos caches locais e aplica as recebidas dos demais nós.
+     *
+     * @param invalidationTransport O transporte dos lotes.
+     * @return O barramento de invalidação.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheInvalidationBus cacheInvalidationBus(InvalidationTransport invalidationTransport) {
+        return new CacheInvalidationBus(invalidationTransport, lingerMillis, batchSize);
+    }
+
+}
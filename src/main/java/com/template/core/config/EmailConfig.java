@@ -0,0 +1,158 @@
+package com.template.core.config;
+
+import com.template.core.util.email.AnexosEmail;
+import com.template.core.util.email.EmailSender;
+import com.template.core.util.email.SmtpTransportPool;
+import com.template.core.util.email.TemplatesEmail;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.mail.Authenticator;
+import jakarta.mail.MessagingException;
+import jakarta.mail.PasswordAuthentication;
+import jakarta.mail.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuração do envio de emails.
+ */
+@Configuration
+public class EmailConfig {
+
+    @Value("${template.email.sender}")
+    private String sender;
+
+    @Value("${template.email.senderPassword}")
+    private String senderPassword;
+
+    @Value("${template.email.host:smtp.gmail.com}")
+    private String host;
+
+    @Value("${template.email.port:587}")
+    private int port;
+
+    @Value("${template.email.starttls:true}")
+    private boolean starttls;
+
+    @Value("${template.email.timeout-millis:30000}")
+    private long timeoutMillis;
+
+    @Value("${template.email.pool.size:4}")
+    private int poolSize;
+
+    @Value("${template.email.pool.max-messages-per-connection:100}")
+    private int maxMensagens;
+
+    @Value("${template.email.pool.max-idle-millis:60000}")
+    private long maxOciosoMillis;
+
+    @Value("${template.email.pool.validate-after-millis:5000}")
+    private long validarAposMillis;
+
+    @Value("${template.email.attachments.dir:anexos}")
+    private Path diretorioAnexos;
+
+    @Value("${template.email.outbox.threads:4}")
+    private int threads;
+
+    /**
+     * Configura a Session do JavaMail, compartilhada por todas as conexões. Os timeouts de conexão, leitura e escrita
+     * limitam o tempo de uma tentativa, que deve ser menor que a reserva do email na fila de envio.
+     *
+     * @return a Session do email
+     */
+    @Bean
+    public Session emailSession() {
+        Properties props = new Properties();
+        props.put("mail.smtp.host", host);
+        props.put("mail.smtp.port", String.valueOf(port));
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        props.put("mail.smtp.starttls.required", String.valueOf(starttls));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMillis));
+        props.put("mail.smtp.timeout", String.valueOf(timeoutMillis));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeoutMillis));
+
+        return Session.getInstance(props, new Authenticator() {
+            @Override
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication(sender, senderPassword);
+            }
+        });
+    }
+
+    /**
+     * Cria o pool de conexões SMTP. O total de conexões abertas é publicado no contador
+     * {@code email.smtp.connections.opened} e as conexões ociosas no gauge {@code email.smtp.connections.idle}.
+     *
+     * @param emailSession  A Session do email.
+     * @param meterRegistry O registro de métricas.
+     * @return O SmtpTransportPool.
+     */
+    @Bean(destroyMethod = "close")
+    public SmtpTransportPool smtpTransportPool(Session emailSession, MeterRegistry meterRegistry) {
+        SmtpTransportPool pool = new SmtpTransportPool(emailSession, poolSize, maxMensagens, maxOciosoMillis, validarAposMillis);
+        FunctionCounter.builder("email.smtp.connections.opened", pool, SmtpTransportPool::getConexoesAbertas).register(meterRegistry);
+        Gauge.builder("email.smtp.connections.idle", pool, SmtpTransportPool::getConexoesOciosas).register(meterRegistry);
+        return pool;
+    }
+
+    /**
+     * Cria o cliente SMTP compartilhado pelas threads de envio.
+     *
+     * @param smtpTransportPool O pool de conexões SMTP.
+     * @return O EmailSender.
+     * @throws MessagingException se o email do remetente for inválido.
+     */
+    @Bean
+    public EmailSender emailSender(SmtpTransportPool smtpTransportPool) throws MessagingException {
+        return new EmailSender(sender, smtpTransportPool);
+    }
+
+    /**
+     * Carrega e compila os templates de email uma única vez, na inicialização.
+     *
+     * @return Os templates de email.
+     */
+    @Bean
+    public TemplatesEmail templatesEmail() {
+        return TemplatesEmail.carregar();
+    }
+
+    /**
+     * Cria o diretório dos arquivos que podem ser anexados aos emails.
+     *
+     * @return Os anexos de email.
+     */
+    @Bean
+    public AnexosEmail anexosEmail() {
+        return new AnexosEmail(diretorioAnexos);
+    }
+
+    /**
+     * Cria o executor das threads de envio da fila de emails. A fila do executor não precisa de limite: o
+     * {@link EmailOutboxWorker} só reserva emails enquanto houver vagas na janela de envio. As métricas do executor são
+     * publicadas com a tag name=email-outbox.
+     *
+     * @param meterRegistry O registro de métricas.
+     * @return O executor de envio.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor emailOutboxExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new CustomizableThreadFactory("email-outbox-"));
+        new ExecutorServiceMetrics(executor, "email-outbox", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+}
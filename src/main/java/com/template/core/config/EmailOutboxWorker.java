@@ -0,0 +1,193 @@
+package com.template.core.config;
+
+import com.template.core.entity.EmailMensagem;
+import com.template.core.entity.EmailOutbox;
+import com.template.core.event.EmailEnfileiradoEvent;
+import com.template.core.service.EmailService;
+import com.template.core.util.email.AnexosEmail;
+import com.template.core.util.email.EmailSender;
+import com.template.core.util.email.TemplatesEmail;
+import com.template.core.util.jpa.AtualizacaoEmLote;
+import com.template.core.util.ratelimit.TokenBucketRateLimiter;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Esvazia a fila de envio de emails em segundo plano.
+ * <p>
+ * Uma thread verifica a fila a cada {@code template.email.outbox.poll-millis}, e logo após a gravação de um email, e
+ * reserva os emails pendentes pelo {@link EmailService#reservar}, no máximo {@code template.email.outbox.window} em
+ * envio ao mesmo tempo. O assunto e o corpo de cada email são renderizados pelos {@link TemplatesEmail} já compilados,
+ * com as variáveis da mensagem e o destinatário, e os anexos são lidos do disco durante o envio. Os emails reservados
+ * são enviados pelas threads do {@code emailOutboxExecutor}, pelas conexões do pool SMTP e no máximo a
+ * {@code template.email.rate-limit.per-second} envios por segundo, o limite do provedor. O limite é de todo o cluster:
+ * cada instância envia a sua fração, o limite e a rajada divididos por {@code template.email.rate-limit.instances}, a
+ * quantidade de instâncias que esvaziam a mesma fila. O resultado dos envios é
+ * registrado em grupo, e o de cada falha em uma transação própria. Enquanto houver emails pendentes, a janela é
+ * reabastecida a cada envio concluído.
+ */
+@Component
+@Slf4j
+public class EmailOutboxWorker {
+
+    private final EmailService service;
+    private final EmailSender sender;
+    private final TemplatesEmail templates;
+    private final AnexosEmail anexos;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore janela;
+    private final TokenBucketRateLimiter limite;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("email-outbox-poller-"));
+    private final AtomicBoolean acordado = new AtomicBoolean();
+    private final ConcurrentLinkedQueue<Long> enviados = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean registrando = new AtomicBoolean();
+
+    @Value("${template.email.outbox.poll-millis:1000}")
+    private long pollMillis;
+
+    public EmailOutboxWorker(EmailService service, EmailSender sender, TemplatesEmail templates, AnexosEmail anexos, @Qualifier("emailOutboxExecutor") ThreadPoolExecutor executor,
+                             @Value("${template.email.outbox.window:32}") int janela,
+                             @Value("${template.email.rate-limit.per-second:10}") double enviosPorSegundo,
+                             @Value("${template.email.rate-limit.burst:10}") int rajada,
+                             @Value("${template.email.rate-limit.instances:1}") int instancias) {
+        this.service = service;
+        this.sender = sender;
+        this.templates = templates;
+        this.anexos = anexos;
+        this.executor = executor;
+        this.janela = new Semaphore(janela);
+        this.limite = new TokenBucketRateLimiter(Math.max(1, rajada / instancias), enviosPorSegundo / instancias, 1);
+    }
+
+    /**
+     * Inicia a verificação periódica da fila quando a aplicação estiver pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        poller.scheduleWithFixedDelay(this::drenar, 0, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Acorda a verificação da fila após a confirmação da transação que gravou o email. Vários emails gravados antes da
+     * verificação são atendidos por uma única verificação.
+     *
+     * @param event o email gravado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailEnfileirado(EmailEnfileiradoEvent event) {
+        if (acordado.compareAndSet(false, true)) {
+            poller.execute(() -> {
+                acordado.set(false);
+                drenar();
+            });
+        }
+    }
+
+    @PreDestroy
+    public void parar() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Reserva e despacha emails enquanto houver vagas na janela e emails pendentes. Aguarda uma vaga quando a janela
+     * está cheia, e retorna quando uma reserva volta com menos emails que as vagas disponíveis. As vagas não ocupadas
+     * são devolvidas à janela mesmo se a reserva falhar.
+     */
+    private void drenar() {
+        try {
+            List<EmailOutbox> emails;
+            int vagas;
+            do {
+                janela.acquire();
+                vagas = 1 + janela.drainPermits();
+                emails = List.of();
+                try {
+                    emails = service.reservar(vagas);
+                } finally {
+                    janela.release(vagas - emails.size());
+                }
+                emails.forEach(email -> executor.execute(() -> enviar(email)));
+            } while (emails.size() == vagas);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao reservar emails da fila de envio.", e);
+        }
+    }
+
+    /**
+     * Envia o email e registra o resultado. Se o registro falhar, o email permanece reservado e é reenviado quando a
+     * reserva expirar.
+     */
+    private void enviar(EmailOutbox email) {
+        try {
+            aguardarLimite();
+            EmailMensagem mensagem = email.getMensagem();
+            TemplatesEmail.Conteudo conteudo = templates.renderizar(mensagem.getTemplate(), nome -> TemplatesEmail.DESTINATARIO.equals(nome) ? email.getDestinatario() : mensagem.getVariaveis().get(nome));
+            sender.enviar(email.getDestinatario(), conteudo.assunto(), conteudo.corpo(), anexos.resolver(mensagem.getAnexos()));
+            registrarEnvio(email.getId());
+        } catch (MessagingException | RuntimeException e) {
+            log.debug("Falha na tentativa {} de envio do email {}.", email.getTentativas(), email.getId(), e);
+            registrar(() -> service.registrarFalha(email.getId(), e.getMessage()));
+        } finally {
+            janela.release();
+        }
+    }
+
+    /**
+     * Aguarda até que o limite de envios por segundo do provedor SMTP permita mais um envio.
+     */
+    private void aguardarLimite() {
+        for (long espera = limite.tryAcquire(0, System.nanoTime()); espera > 0; espera = limite.tryAcquire(0, System.nanoTime())) {
+            LockSupport.parkNanos(espera);
+        }
+    }
+
+    /**
+     * Registra os envios concluídos em grupo: a thread que encontra o registro livre registra, em uma única instrução,
+     * todos os envios acumulados até então, inclusive os concluídos pelas demais threads enquanto ela registrava.
+     */
+    private void registrarEnvio(Long id) {
+        enviados.add(id);
+        while (!enviados.isEmpty() && registrando.compareAndSet(false, true)) {
+            try {
+                List<Long> ids = new ArrayList<>();
+                Long enviado;
+                while (ids.size() < AtualizacaoEmLote.TAMANHO_BLOCO && (enviado = enviados.poll()) != null) {
+                    ids.add(enviado);
+                }
+                registrar(() -> service.registrarEnvios(ids));
+            } finally {
+                registrando.set(false);
+            }
+        }
+    }
+
+    private void registrar(Runnable registro) {
+        try {
+            registro.run();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao registrar o resultado do envio; os emails serão reenviados quando a reserva expirar.", e);
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.template.core.config;
+
+import com.template.core.dto.InicializacaoDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint do actuator com a linha do tempo da inicialização: o tempo até o início do contexto, a duração de cada
+ * etapa da carga inicial e o tempo até a aplicação aceitar tráfego.
+ */
+@Component
+@Endpoint(id = "inicializacao")
+@RequiredArgsConstructor
+public class InicializacaoEndpoint {
+    private final Initializer initializer;
+
+    /**
+     * Retorna a linha do tempo da inicialização.
+     *
+     * @return a linha do tempo, ou {@code null} antes do início do contexto
+     */
+    @ReadOperation
+    public InicializacaoDTO inicializacao() {
+        return initializer.getInicializacao();
+    }
+}
@@ -0,0 +1,34 @@
+package com.template.core.config;
+
+import com.template.core.dto.InicializacaoDTO;
+import com.template.core.util.inicializacao.GrafoInicializacao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador de saúde da carga inicial, incluído no grupo {@code readiness}: a aplicação só aceita tráfego depois que
+ * todas as etapas do {@link Initializer} forem concluídas.
+ */
+@Component
+@RequiredArgsConstructor
+public class InicializacaoHealthIndicator implements HealthIndicator {
+    private final Initializer initializer;
+
+    /**
+     * Retorna {@code UP} quando a carga inicial foi concluída e {@code OUT_OF_SERVICE} enquanto ela não termina ou se
+     * alguma etapa falhou.
+     *
+     * @return a saúde da carga inicial, com a sua situação
+     */
+    @Override
+    public Health health() {
+        InicializacaoDTO inicializacao = initializer.getInicializacao();
+        if (inicializacao == null) {
+            return Health.outOfService().build();
+        }
+        Health.Builder health = GrafoInicializacao.CONCLUIDA.equals(inicializacao.situacao()) ? Health.up() : Health.outOfService();
+        return health.withDetail("situacao", inicializacao.situacao()).build();
+    }
+}
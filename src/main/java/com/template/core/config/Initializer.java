@@ -1,32 +1,119 @@
 package com.template.core.config;
 
+import com.template.core.dto.EtapaInicializacaoDTO;
+import com.template.core.dto.InicializacaoDTO;
 import com.template.core.service.PermissaoService;
 import com.template.core.service.RoleService;
 import com.template.core.service.DadosPessoaisService;
 import com.template.core.service.UserService;
-import jakarta.annotation.PostConstruct;
+import com.template.core.util.inicializacao.GrafoInicializacao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.cloud.CloudPlatform;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Arquivo responsável por adicionar dados iniciais cruciais para o funcionamento do projeto.
+ * <p>
+ * A carga inicial é executada após o início do contexto, sem atrasar a inicialização do contexto nem o registro no
+ * Eureka, como um grafo de etapas: a role ADMIN e os dados pessoais do ADMIN em paralelo; depois, as permissões dos
+ * endpoints, que dependem das permissões gravadas com a role ADMIN, em paralelo com o user ADMIN, que depende de ambos.
+ * Cada etapa termina com uma única consulta de existência quando os dados já existem. Enquanto a carga não termina, o
+ * {@link InicializacaoHealthIndicator} mantém o grupo de readiness fora de serviço. Se uma etapa falhar, a aplicação
+ * é marcada como quebrada (liveness) para que o orquestrador a reinicie, ou é encerrada quando não há orquestrador.
+ * <p>
+ * A duração de cada etapa é registrada no log, no timer {@code template.bootstrap.step} e no endpoint
+ * {@code /actuator/inicializacao}, e o tempo até a aplicação aceitar tráfego no gauge
+ * {@code template.bootstrap.ready.time}.
  */
 @Configuration
+@DependsOnDatabaseInitialization
 @RequiredArgsConstructor
+@Slf4j
 public class Initializer {
+    private static final String EM_ANDAMENTO = "EM_ANDAMENTO";
+    private static final int THREADS = 2;
+
     private final RoleService roleService;
     private final UserService userService;
     private final DadosPessoaisService dadosPessoaisService;
     private final PermissaoService permissaoService;
+    private final ApplicationContext applicationContext;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Linha do tempo da inicialização, ou {@code null} antes do início do contexto.
+     */
+    @Getter
+    private volatile InicializacaoDTO inicializacao;
 
     /**
-     * Função responsável por adicionar dados iniciais cruciais para o funcionamento do projeto.
+     * Inicia a carga inicial em segundo plano; o {@link InicializacaoHealthIndicator} recusa tráfego até que ela termine.
      */
-    @PostConstruct
-    public void postConstruct() {
-        roleService.addRoleAdmin();
-        dadosPessoaisService.addDadosPessoaisAdmin();
-        userService.addAdmin();
-        permissaoService.adicionaPermissoes();
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        long contextoMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        inicializacao = new InicializacaoDTO(EM_ANDAMENTO, contextoMillis, null, null, List.of());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, new CustomizableThreadFactory("bootstrap-"));
+        long inicio = System.nanoTime();
+        new GrafoInicializacao()
+                .etapa("role-admin", roleService::addRoleAdmin)
+                .etapa("dados-pessoais-admin", dadosPessoaisService::addDadosPessoaisAdmin)
+                .etapa("permissoes", permissaoService::adicionaPermissoes, "role-admin")
+                .etapa("user-admin", userService::addAdmin, "role-admin", "dados-pessoais-admin")
+                .executar(executor)
+                .thenAccept(etapas -> concluir(contextoMillis, (System.nanoTime() - inicio) / 1_000_000, etapas))
+                .whenComplete((nada, falha) -> executor.shutdown());
+    }
+
+    /**
+     * Registra a linha do tempo e as métricas da carga inicial, liberando o tráfego se todas as etapas foram concluídas.
+     * Se alguma falhou, marca a aplicação como quebrada quando executada em um orquestrador, que a reinicia, ou a
+     * encerra caso contrário, em vez de mantê-la em execução sem aceitar tráfego.
+     */
+    private void concluir(long contextoMillis, long cargaMillis, List<EtapaInicializacaoDTO> etapas) {
+        boolean concluida = etapas.stream().allMatch(etapa -> GrafoInicializacao.CONCLUIDA.equals(etapa.situacao()));
+        long tempoAtePronto = ManagementFactory.getRuntimeMXBean().getUptime();
+        etapas.forEach(etapa -> Timer.builder("template.bootstrap.step").tag("etapa", etapa.nome()).tag("situacao", etapa.situacao())
+                .register(meterRegistry).record(etapa.duracaoMillis(), TimeUnit.MILLISECONDS));
+        String linhaDoTempo = etapas.stream()
+                .map(etapa -> "%s %s +%d ms, %d ms".formatted(etapa.nome(), etapa.situacao(), etapa.inicioMillis(), etapa.duracaoMillis()))
+                .collect(Collectors.joining("; "));
+
+        if (concluida) {
+            inicializacao = new InicializacaoDTO(GrafoInicializacao.CONCLUIDA, contextoMillis, cargaMillis, tempoAtePronto, etapas);
+            TimeGauge.builder("template.bootstrap.ready.time", () -> tempoAtePronto, TimeUnit.MILLISECONDS).register(meterRegistry);
+            log.info("Inicialização concluída em {} ms: contexto em {} ms, carga inicial em {} ms [{}].", tempoAtePronto, contextoMillis, cargaMillis, linhaDoTempo);
+        } else {
+            inicializacao = new InicializacaoDTO(GrafoInicializacao.FALHA, contextoMillis, cargaMillis, null, etapas);
+            etapas.stream().filter(etapa -> etapa.erro() != null).forEach(etapa -> log.error("Falha na etapa {} da carga inicial: {}", etapa.nome(), etapa.erro()));
+            log.error("Carga inicial interrompida após {} ms [{}].", cargaMillis, linhaDoTempo);
+            if (CloudPlatform.getActive(environment) != null) {
+                AvailabilityChangeEvent.publish(applicationContext, LivenessState.BROKEN);
+            } else {
+                System.exit(SpringApplication.exit(applicationContext, () -> 1));
+            }
+        }
     }
 }
@@ -0,0 +1,26 @@
+package com.template.core.config;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração da serialização JSON das entidades.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Registra o módulo do Hibernate no ObjectMapper. Os planos de busca de cada endpoint carregam todo o grafo que ele
+     * serializa, portanto o JSON é o mesmo de quando as associações eram EAGER; o módulo apenas garante que uma
+     * associação LAZY esquecida em um plano seja serializada como null, em vez de disparar consultas ou
+     * LazyInitializationException.
+     *
+     * @return O Hibernate6Module.
+     */
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module();
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.template.core.config;
+
+import com.template.core.util.security.BCryptCostCalibrator;
+import com.template.core.util.security.PasswordHasher;
+import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuração do hashing de senhas.
+ */
+@Configuration
+@Slf4j
+public class PasswordHashingConfig {
+
+    @Value("${template.password.target-millis:100}")
+    private long targetMillis;
+
+    @Value("${template.password.min-strength:8}")
+    private int minStrength;
+
+    @Value("${template.password.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${template.password.hashing.threads:2}")
+    private int threads;
+
+    @Value("${template.password.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    /**
+     * Custo do BCrypt calibrado na inicialização.
+     */
+    private int strength;
+
+    /**
+     * Calibra o custo do BCrypt para que um hash leve no máximo o tempo alvo configurado na CPU atual.
+     */
+    @PostConstruct
+    public void calibrate() {
+        strength = BCryptCostCalibrator.calibrate(targetMillis, minStrength, maxStrength);
+        log.info("Custo do BCrypt calibrado em {} para o tempo alvo de {} ms.", strength, targetMillis);
+    }
+
+    /**
+     * Cria o encoder de senhas compartilhado pela aplicação, com o custo calibrado.
+     *
+     * @return O BCryptPasswordEncoder.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Cria o executor dedicado ao hashing de senhas, com quantidade fixa de threads e fila limitada. Quando a fila
+     * está cheia o executor recusa a tarefa, e a requisição recebe 503. As métricas do executor (incluindo
+     * executor.queued, a profundidade da fila) são publicadas com a tag name=password-hashing.
+     *
+     * @param meterRegistry O registro de métricas.
+     * @return O executor de hashing.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Cria o hasher de senhas que executa o encoder no executor dedicado.
+     *
+     * @param passwordEncoder         O encoder de senhas.
+     * @param passwordHashingExecutor O executor de hashing.
+     * @return O PasswordHasher.
+     */
+    @Bean
+    public PasswordHasher passwordHasher(PasswordEncoder passwordEncoder, ThreadPoolExecutor passwordHashingExecutor) {
+        return new PasswordHasher(passwordEncoder, strength, minStrength, passwordHashingExecutor);
+    }
+
+}
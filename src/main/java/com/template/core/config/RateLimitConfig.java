@@ -0,0 +1,55 @@
+package com.template.core.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.core.dto.ErrorResponseDTO;
+import com.template.core.util.ratelimit.TokenBucketRateLimiter;
+import com.template.core.util.security.RoutePermissionRegistry;
+import com.template.core.util.security.ServiceTokenVerifier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do rate limit aplicado às rotas /api.
+ */
+@Configuration
+@ConditionalOnProperty(name = "template.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Value("${template.rate-limit.capacity:100}")
+    private int capacity;
+
+    @Value("${template.rate-limit.refill-per-second:50}")
+    private double refillPerSecond;
+
+    @Value("${template.rate-limit.table-size:4096}")
+    private int tableSize;
+
+    /**
+     * Registra o filtro de rate limit antes da cadeia do Spring Security, para que requisições acima da cota sejam
+     * recusadas sem passar pela autenticação.
+     *
+     * @param serviceTokenVerifier         O verificador do token de serviço do gateway.
+     * @param internalServiceTokenVerifier O verificador das chaves das chamadas entre serviços.
+     * @param routePermissionRegistry      O registry do matcher de permissões.
+     * @param objectMapper                 O ObjectMapper utilizado para serializar a resposta 429.
+     * @return O registro do filtro.
+     * @throws JsonProcessingException Se ocorrer algum erro ao serializar a resposta 429.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ServiceTokenVerifier serviceTokenVerifier, @Qualifier("internalServiceTokenVerifier") ServiceTokenVerifier internalServiceTokenVerifier, RoutePermissionRegistry routePermissionRegistry, ObjectMapper objectMapper) throws JsonProcessingException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(capacity, refillPerSecond, tableSize);
+        byte[] rejectedBody = objectMapper.writeValueAsBytes(new ErrorResponseDTO("LIMITE DE REQUISIÇÕES EXCEDIDO"));
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(limiter, serviceTokenVerifier, internalServiceTokenVerifier, routePermissionRegistry, rejectedBody));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.template.core.config;
+
+import com.template.core.util.ratelimit.TokenBucketRateLimiter;
+import com.template.core.util.security.RoutePermissionRegistry;
+import com.template.core.util.security.ServiceTokenVerifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que limita a taxa de requisições por cliente e por rota antes da cadeia do Spring Security.
+ * <p>
+ * O cliente é identificado pela chave do chaveiro do gateway ou, a seguir, pela chave de {@code api.internal-keys}
+ * que corresponde ao X-Service-Token, e a rota pelo matcher de permissões compilado. Tokens inválidos compartilham um
+ * único bucket por rota, separado dos clientes válidos, de modo que não consomem a cota das chaves do gateway nem das
+ * chamadas entre serviços. Requisições acima da cota recebem 429 com o header Retry-After.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final TokenBucketRateLimiter limiter;
+    private final ServiceTokenVerifier serviceTokenVerifier;
+    private final ServiceTokenVerifier internalServiceTokenVerifier;
+    private final RoutePermissionRegistry routePermissionRegistry;
+    private final byte[] rejectedBody;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        int caller = caller(request.getHeader("X-Service-Token"));
+        int route = routePermissionRegistry.find(request.getRequestURI(), request.getContextPath().length());
+        long waitNanos = limiter.tryAcquire(key(caller, route), System.nanoTime());
+
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+        } else {
+            reject(response, waitNanos);
+        }
+    }
+
+    /**
+     * Índice do cliente: as chaves do gateway seguidas das chaves internas, ou -1 se o token não corresponder a nenhuma.
+     * Os dois chaveiros são sempre comparados, para não expor pelo tempo de resposta qual deles aceitou o token.
+     */
+    private int caller(String token) {
+        int caller = serviceTokenVerifier.indexOf(token);
+        int internal = internalServiceTokenVerifier.indexOf(token);
+        if (caller >= 0) {
+            return caller;
+        }
+        return internal < 0 ? -1 : serviceTokenVerifier.size() + internal;
+    }
+
+    /**
+     * Combina o cliente e a rota em uma chave não negativa; cliente e rota desconhecidos (-1) ocupam a posição 0.
+     */
+    private static long key(int caller, int route) {
+        return (long) (caller + 1) << Integer.SIZE | (route + 1);
+    }
+
+    /**
+     * Responde 429 informando em Retry-After, em segundos arredondados para cima, quando um token estará disponível.
+     */
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectedBody.length);
+        response.getOutputStream().write(rejectedBody);
+    }
+
+}
@@ -1,9 +1,14 @@
 package com.template.core.config;
 
+import com.template.core.util.security.RoutePermissionRegistry;
+import com.template.core.util.security.ServiceTokenVerifier;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,7 +17,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 
-import java.util.Base64;
+import java.util.List;
 
 /**
  * Esta classe configura a segurança do Spring Security na aplicação.
@@ -22,34 +27,83 @@ import java.util.Base64;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    /**
+     * Decisão reutilizada para todas as requisições autorizadas.
+     */
+    private static final AuthorizationDecision ACESSO_PERMITIDO = new AuthorizationDecision(true);
+
     @Value("${api.key}")
     public String apiKey;
 
     /**
-     * Valida a chave da API comparando a versão decodificada da chave recebida com a chave esperada.
+     * Chaves anteriores da API ainda aceitas durante a rotação.
+     */
+    @Value("${api.previous-keys:}")
+    private String[] previousApiKeys;
+
+    /**
+     * Chaves das chamadas entre serviços, aceitas sem as roles do usuário.
+     */
+    @Value("${api.internal-keys:}")
+    private String[] internalApiKeys;
+
+    /**
+     * Cria o verificador do token de serviço com a chave atual e as chaves anteriores.
+     *
+     * @return o ServiceTokenVerifier configurado.
+     */
+    @Bean
+    @Primary
+    public ServiceTokenVerifier serviceTokenVerifier() {
+        return new ServiceTokenVerifier(apiKey, List.of(previousApiKeys));
+    }
+
+    /**
+     * Cria o verificador das chaves das chamadas entre serviços, que dispensam o header X-User-Roles. Sem chaves
+     * configuradas, nenhuma chamada é aceita sem as roles do usuário.
+     *
+     * @return o ServiceTokenVerifier das chamadas entre serviços.
+     */
+    @Bean
+    public ServiceTokenVerifier internalServiceTokenVerifier() {
+        return ServiceTokenVerifier.of(List.of(internalApiKeys));
+    }
+
+    /**
+     * Cria o registry do matcher de permissões, alimentado pelo AutorizacaoService.
+     *
+     * @return o RoutePermissionRegistry.
+     */
+    @Bean
+    public RoutePermissionRegistry routePermissionRegistry() {
+        return new RoutePermissionRegistry();
+    }
+
+    /**
+     * Avalia as roles do usuário repassadas pelo gateway no header X-User-Roles contra as permissões compiladas.
+     * Requisições sem o header são negadas: chamadas entre serviços precisam usar uma chave de {@code api.internal-keys}.
      *
-     * @param key A chave da API codificada em Base64 a ser validada.
-     * @return {@code true} se a chave decodificada corresponder à chave esperada, {@code false} caso contrário.
-     * @throws AccessDeniedException Se houver um erro ao decodificar a chave.
+     * @param request  A requisição HTTP.
+     * @param registry O registry do matcher de permissões.
+     * @return {@code true} se o acesso ao endpoint for permitido, {@code false} caso contrário.
      */
-    private boolean validateAPIKey(String key) {
-        try {
-            String decodedKey = new String(Base64.getDecoder().decode(key.getBytes()));
-            return decodedKey.equals(apiKey);
-        } catch (Exception e) {
-            throw new AccessDeniedException(e.getMessage());
-        }
+    private static boolean isRouteAllowed(HttpServletRequest request, RoutePermissionRegistry registry) {
+        String roles = request.getHeader("X-User-Roles");
+        return roles != null && registry.isAllowed(roles, request.getMethod(), request.getRequestURI(), request.getContextPath().length());
     }
 
     /**
      * Configura o filtro de segurança para as requisições HTTP.
      *
-     * @param http O objeto HttpSecurity usado para configurar a segurança.
+     * @param http                    O objeto HttpSecurity usado para configurar a segurança.
+     * @param serviceTokenVerifier         O verificador do token de serviço do gateway.
+     * @param internalServiceTokenVerifier O verificador das chaves das chamadas entre serviços.
+     * @param routePermissionRegistry      O registry do matcher de permissões.
      * @return O SecurityFilterChain configurado.
      * @throws Exception Se ocorrer algum erro durante a configuração.
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ServiceTokenVerifier serviceTokenVerifier, @Qualifier("internalServiceTokenVerifier") ServiceTokenVerifier internalServiceTokenVerifier, RoutePermissionRegistry routePermissionRegistry) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -60,8 +114,9 @@ public class SecurityConfig {
                         .access(((_, request) -> {
                             String tempApiKey = request.getRequest().getHeader("X-Service-Token");
 
-                            if (validateAPIKey(tempApiKey)) {
-                                return new AuthorizationDecision(true);
+                            if (internalServiceTokenVerifier.matches(tempApiKey)
+                                    || serviceTokenVerifier.matches(tempApiKey) && isRouteAllowed(request.getRequest(), routePermissionRegistry)) {
+                                return ACESSO_PERMITIDO;
                             }
                             throw new AccessDeniedException("ACESSO NEGADO");
                         }))
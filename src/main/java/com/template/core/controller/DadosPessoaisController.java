@@ -1,16 +1,32 @@
 package com.template.core.controller;
 
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.CpfCnpjLoteDTO;
+import com.template.core.dto.CpfCnpjValidacaoDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.DadosPessoaisResumoDTO;
+import com.template.core.dto.ExportacaoDTO;
 import com.template.core.dto.PageRequestDTO;
+import com.template.core.dto.PrefixoRequestDTO;
+import com.template.core.dto.RegistrosAfetadosDTO;
+import com.template.core.dto.DadosPessoaisPatchDTO;
+import com.template.core.dto.LoteDTO;
 import com.template.core.entity.DadosPessoais;
+import com.template.core.service.BuscaDadosPessoaisService;
 import com.template.core.service.DadosPessoaisService;
+import com.template.core.util.exportacao.EscritorExportacao;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controlador para lidar com as solicitações relacionadas aos dados pessoais.
  */
@@ -20,16 +36,18 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "bearer-key")
 public class DadosPessoaisController {
     private final DadosPessoaisService service;
+    private final BuscaDadosPessoaisService buscaService;
 
     /**
      * Obtém os dados pessoais pelo seu ID.
      *
      * @param id O ID dos dados pessoais a serem encontrados.
+     * @param apenasAtivos Se apenas um registro ativo deve ser retornado.
      * @return Os dados pessoais correspondentes ao ID fornecido.
      */
     @GetMapping("/get/{id}")
-    public ResponseEntity<DadosPessoais> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<DadosPessoais> findById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean apenasAtivos) {
+        return ResponseEntity.ok(service.findById(id, apenasAtivos));
     }
 
     /**
@@ -40,7 +58,53 @@ public class DadosPessoaisController {
      */
     @PostMapping("/find")
     public ResponseEntity<Page<DadosPessoais>> findAll(@Valid @RequestBody PageRequestDTO pageRequestDTO) {
-        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size())));
+        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size()), pageRequestDTO.apenasAtivos()));
+    }
+
+    /**
+     * Obtém uma página de dados pessoais por cursor, sem contagem de registros.
+     *
+     * @param cursorRequestDTO Objeto contendo o cursor retornado pela página anterior e o tamanho da página
+     * @return Uma página de dados pessoais com o token da próxima página.
+     */
+    @PostMapping("/find/cursor")
+    public ResponseEntity<CursorPageDTO<DadosPessoais>> findAllByCursor(@Valid @RequestBody CursorRequestDTO cursorRequestDTO) {
+        return ResponseEntity.ok(service.findAll(cursorRequestDTO));
+    }
+
+    /**
+     * Busca os dados pessoais pelo início do nome, de uma palavra do nome ou do CPF/CNPJ, para sugestões durante a digitação.
+     *
+     * @param prefixoRequestDTO Objeto contendo o texto digitado e a quantidade máxima de registros
+     * @return Os dados pessoais encontrados.
+     */
+    @PostMapping("/typeahead")
+    public ResponseEntity<List<DadosPessoaisResumoDTO>> typeahead(@Valid @RequestBody PrefixoRequestDTO prefixoRequestDTO) {
+        return ResponseEntity.ok(buscaService.typeahead(prefixoRequestDTO));
+    }
+
+    /**
+     * Exporta os dados pessoais em NDJSON ou CSV, de acordo com o cabeçalho Accept, escrevendo-os na resposta à medida que são
+     * lidos do banco.
+     *
+     * @param accept       Formato da exportação: {@code application/x-ndjson} (padrão) ou {@code text/csv}.
+     * @param apenasAtivos Se apenas os registros ativos devem ser exportados.
+     * @return Os dados pessoais exportados, ordenados pelo ID.
+     */
+    @GetMapping(value = "/export", produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ExportacaoDTO> export(@RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "application/x-ndjson") String accept, @RequestParam(defaultValue = "false") boolean apenasAtivos) {
+        return ResponseEntity.ok().contentType(EscritorExportacao.mediaType(accept)).body(new ExportacaoDTO(outputStream -> service.export(accept, apenasAtivos, outputStream)));
+    }
+
+    /**
+     * Valida e normaliza um lote de CPFs/CNPJs.
+     *
+     * @param cpfCnpjLoteDTO Os CPFs/CNPJs, com ou sem pontuação.
+     * @return Os documentos normalizados, com {@code null} nas posições dos inválidos, e a quantidade de inválidos.
+     */
+    @PostMapping("/validate")
+    public ResponseEntity<CpfCnpjValidacaoDTO> validate(@Valid @RequestBody CpfCnpjLoteDTO cpfCnpjLoteDTO) {
+        return ResponseEntity.ok(service.validaCpfCnpj(cpfCnpjLoteDTO.documentos()));
     }
 
     /**
@@ -54,6 +118,17 @@ public class DadosPessoaisController {
         return ResponseEntity.ok(service.save(dadosPessoais));
     }
 
+    /**
+     * Salva uma lista de dados pessoais.
+     *
+     * @param loteDTO Os dados pessoais a serem salvos.
+     * @return Os dados pessoais salvos.
+     */
+    @PostMapping("/save-all")
+    public ResponseEntity<List<DadosPessoais>> saveAll(@Valid @RequestBody LoteDTO<DadosPessoais> loteDTO) {
+        return ResponseEntity.ok(service.saveAll(loteDTO.registros()));
+    }
+
     /**
      * Atualiza os dados pessoais.
      *
@@ -65,6 +140,19 @@ public class DadosPessoaisController {
         return ResponseEntity.ok(service.update(dadosPessoais));
     }
 
+    /**
+     * Atualiza parcialmente os dados pessoais, alterando apenas os campos informados.
+     *
+     * @param id                    O ID dos dados pessoais a serem atualizados.
+     * @param dadosPessoaisPatchDTO Os campos a serem alterados.
+     * @return ResponseEntity<Void> status 204 NO CONTENT.
+     */
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<Void> patch(@PathVariable Long id, @Valid @RequestBody DadosPessoaisPatchDTO dadosPessoaisPatchDTO) {
+        service.patch(id, dadosPessoaisPatchDTO);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Exclui os dados pessoais pelo seu ID.
      *
@@ -77,4 +165,26 @@ public class DadosPessoaisController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Exclui os dados pessoais informados pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros excluídos.
+     */
+    @DeleteMapping("/delete")
+    public ResponseEntity<RegistrosAfetadosDTO> deleteAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, false)));
+    }
+
+    /**
+     * Reativa os dados pessoais informados pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros reativados.
+     */
+    @PatchMapping("/reactivate")
+    public ResponseEntity<RegistrosAfetadosDTO> reactivateAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, true)));
+    }
+
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.template.core.controller;
 
 import com.template.core.dto.EmailDTO;
+import com.template.core.dto.EmailLoteDTO;
+import com.template.core.dto.EmailProgressoDTO;
 import com.template.core.service.EmailService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.mail.MessagingException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,15 +26,38 @@ public class EmailController {
     private final EmailService service;
 
     /**
-     * Envia um email.
+     * Grava um email na fila de envio. O envio é feito em segundo plano, com novas tentativas em caso de falha.
      *
      * @param email Objeto contendo o email do destinatário
-     * @return ResponseEntity<Void> status 204 NO_CONTENT.
+     * @return ResponseEntity<Void> status 202 ACCEPTED.
      */
     @PostMapping("/send-email")
-    public ResponseEntity<Void> sendEmail(@RequestBody @Valid EmailDTO email) throws MessagingException {
+    public ResponseEntity<Void> sendEmail(@RequestBody @Valid EmailDTO email) {
         service.sendEmail(email);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Grava na fila de envio um email para cada destinatário da lista, ou para cada user ativo com alguma das roles
+     * informadas.
+     *
+     * @param lote Objeto contendo os destinatários ou as roles dos users destinatários
+     * @return ResponseEntity<EmailProgressoDTO> status 202 ACCEPTED com o ID do envio e a quantidade de destinatários.
+     */
+    @PostMapping("/send-bulk")
+    public ResponseEntity<EmailProgressoDTO> sendBulk(@RequestBody @Valid EmailLoteDTO lote) {
+        return ResponseEntity.accepted().body(service.sendBulk(lote));
+    }
+
+    /**
+     * Consulta o progresso de um envio.
+     *
+     * @param id ID do envio
+     * @return ResponseEntity<EmailProgressoDTO> status 200 OK com a quantidade de emails em cada situação.
+     */
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<EmailProgressoDTO> progress(@PathVariable Long id) {
+        return ResponseEntity.ok(service.progresso(id));
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,12 @@
 package com.template.core.controller;
 
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.LoteDTO;
 import com.template.core.dto.PageRequestDTO;
+import com.template.core.dto.PermissaoPatchDTO;
+import com.template.core.dto.RegistrosAfetadosDTO;
 import com.template.core.entity.Permissao;
 import com.template.core.service.PermissaoService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -11,6 +17,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controlador para lidar com as solicitações relacionadas a permissões.
  */
@@ -25,11 +33,12 @@ public class PermissaoController {
      * Obtém uma permissão pelo seu ID.
      *
      * @param id O ID da permissão a ser encontrada.
+     * @param apenasAtivos Se apenas um registro ativo deve ser retornado.
      * @return A permissão correspondente ao ID fornecido.
      */
     @GetMapping("/get/{id}")
-    public ResponseEntity<Permissao> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<Permissao> findById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean apenasAtivos) {
+        return ResponseEntity.ok(service.findById(id, apenasAtivos));
     }
 
     /**
@@ -40,7 +49,18 @@ public class PermissaoController {
      */
     @PostMapping("/find")
     public ResponseEntity<Page<Permissao>> findAll(@Valid @RequestBody PageRequestDTO pageRequestDTO) {
-        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size())));
+        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size()), pageRequestDTO.apenasAtivos()));
+    }
+
+    /**
+     * Obtém uma página de permissões por cursor, sem contagem de registros.
+     *
+     * @param cursorRequestDTO Objeto contendo o cursor retornado pela página anterior e o tamanho da página
+     * @return Uma página de permissões com o token da próxima página.
+     */
+    @PostMapping("/find/cursor")
+    public ResponseEntity<CursorPageDTO<Permissao>> findAllByCursor(@Valid @RequestBody CursorRequestDTO cursorRequestDTO) {
+        return ResponseEntity.ok(service.findAll(cursorRequestDTO));
     }
 
     /**
@@ -54,6 +74,17 @@ public class PermissaoController {
         return ResponseEntity.ok(service.save(permissao));
     }
 
+    /**
+     * Salva uma lista de permissões.
+     *
+     * @param loteDTO As permissões a serem salvas.
+     * @return As permissões salvas.
+     */
+    @PostMapping("/save-all")
+    public ResponseEntity<List<Permissao>> saveAll(@Valid @RequestBody LoteDTO<Permissao> loteDTO) {
+        return ResponseEntity.ok(service.saveAll(loteDTO.registros()));
+    }
+
     /**
      * Atualiza uma permissão.
      *
@@ -65,6 +96,19 @@ public class PermissaoController {
         return ResponseEntity.ok(service.update(permissao));
     }
 
+    /**
+     * Atualiza parcialmente uma permissão, alterando apenas os campos informados.
+     *
+     * @param id                O ID da permissão a ser atualizada.
+     * @param permissaoPatchDTO Os campos a serem alterados.
+     * @return ResponseEntity<Void> status 204 NO CONTENT.
+     */
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<Void> patch(@PathVariable Long id, @Valid @RequestBody PermissaoPatchDTO permissaoPatchDTO) {
+        service.patch(id, permissaoPatchDTO);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Exclui uma permissão pelo seu ID.
      *
@@ -77,4 +121,26 @@ public class PermissaoController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Exclui as permissões informadas pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros excluídos.
+     */
+    @DeleteMapping("/delete")
+    public ResponseEntity<RegistrosAfetadosDTO> deleteAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, false)));
+    }
+
+    /**
+     * Reativa as permissões informadas pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros reativados.
+     */
+    @PatchMapping("/reactivate")
+    public ResponseEntity<RegistrosAfetadosDTO> reactivateAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, true)));
+    }
+
 }
\ No newline at end of file
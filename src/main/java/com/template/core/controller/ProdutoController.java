@@ -1,16 +1,28 @@
 package com.template.core.controller;
 
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.BuscaRequestDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.ExportacaoDTO;
+import com.template.core.dto.LoteDTO;
 import com.template.core.dto.PageRequestDTO;
+import com.template.core.dto.ProdutoPatchDTO;
+import com.template.core.dto.RegistrosAfetadosDTO;
 import com.template.core.entity.Produto;
 import com.template.core.service.ProdutoService;
+import com.template.core.util.exportacao.EscritorExportacao;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controlador para lidar com as solicitações relacionadas a produtos.
  */
@@ -25,11 +37,12 @@ public class ProdutoController {
      * Obtém um produto pelo seu ID.
      *
      * @param id O ID do produto a ser encontrado.
+     * @param apenasAtivos Se apenas um registro ativo deve ser retornado.
      * @return O produto correspondente ao ID fornecido.
      */
     @GetMapping("/get/{id}")
-    public ResponseEntity<Produto> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<Produto> findById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean apenasAtivos) {
+        return ResponseEntity.ok(service.findById(id, apenasAtivos));
     }
 
     /**
@@ -40,7 +53,43 @@ public class ProdutoController {
      */
     @PostMapping("/find")
     public ResponseEntity<Page<Produto>> findAll(@Valid @RequestBody PageRequestDTO pageRequestDTO) {
-        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size())));
+        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size()), pageRequestDTO.apenasAtivos()));
+    }
+
+    /**
+     * Obtém uma página de produtos por cursor, sem contagem de registros.
+     *
+     * @param cursorRequestDTO Objeto contendo o cursor retornado pela página anterior e o tamanho da página
+     * @return Uma página de produtos com o token da próxima página.
+     */
+    @PostMapping("/find/cursor")
+    public ResponseEntity<CursorPageDTO<Produto>> findAllByCursor(@Valid @RequestBody CursorRequestDTO cursorRequestDTO) {
+        return ResponseEntity.ok(service.findAll(cursorRequestDTO));
+    }
+
+    /**
+     * Busca produtos pela descrição, por trecho ou por similaridade (tolerante a erros de digitação), ordenados pela
+     * relevância.
+     *
+     * @param buscaRequestDTO Objeto contendo o termo buscado e a quantidade máxima de registros
+     * @return Os produtos encontrados.
+     */
+    @PostMapping("/search")
+    public ResponseEntity<List<Produto>> search(@Valid @RequestBody BuscaRequestDTO buscaRequestDTO) {
+        return ResponseEntity.ok(service.search(buscaRequestDTO));
+    }
+
+    /**
+     * Exporta os produtos em NDJSON ou CSV, de acordo com o cabeçalho Accept, escrevendo-os na resposta à medida que são
+     * lidos do banco.
+     *
+     * @param accept       Formato da exportação: {@code application/x-ndjson} (padrão) ou {@code text/csv}.
+     * @param apenasAtivos Se apenas os registros ativos devem ser exportados.
+     * @return Os produtos exportados, ordenados pelo ID.
+     */
+    @GetMapping(value = "/export", produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ExportacaoDTO> export(@RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "application/x-ndjson") String accept, @RequestParam(defaultValue = "false") boolean apenasAtivos) {
+        return ResponseEntity.ok().contentType(EscritorExportacao.mediaType(accept)).body(new ExportacaoDTO(outputStream -> service.export(accept, apenasAtivos, outputStream)));
     }
 
     /**
@@ -54,6 +103,17 @@ public class ProdutoController {
         return ResponseEntity.ok(service.save(produto));
     }
 
+    /**
+     * Salva uma lista de produtos.
+     *
+     * @param loteDTO Os produtos a serem salvos.
+     * @return Os produtos salvos.
+     */
+    @PostMapping("/save-all")
+    public ResponseEntity<List<Produto>> saveAll(@Valid @RequestBody LoteDTO<Produto> loteDTO) {
+        return ResponseEntity.ok(service.saveAll(loteDTO.registros()));
+    }
+
     /**
      * Atualiza um produto.
      *
@@ -65,6 +125,19 @@ public class ProdutoController {
         return ResponseEntity.ok(service.update(produto));
     }
 
+    /**
+     * Atualiza parcialmente um produto, alterando apenas os campos informados.
+     *
+     * @param id              O ID do produto a ser atualizado.
+     * @param produtoPatchDTO Os campos a serem alterados.
+     * @return ResponseEntity<Void> status 204 NO CONTENT.
+     */
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<Void> patch(@PathVariable Long id, @Valid @RequestBody ProdutoPatchDTO produtoPatchDTO) {
+        service.patch(id, produtoPatchDTO);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Exclui um produto pelo seu ID.
      *
@@ -77,4 +150,26 @@ public class ProdutoController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Exclui os produtos informados pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros excluídos.
+     */
+    @DeleteMapping("/delete")
+    public ResponseEntity<RegistrosAfetadosDTO> deleteAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, false)));
+    }
+
+    /**
+     * Reativa os produtos informados pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros reativados.
+     */
+    @PatchMapping("/reactivate")
+    public ResponseEntity<RegistrosAfetadosDTO> reactivateAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, true)));
+    }
+
 }
\ No newline at end of file
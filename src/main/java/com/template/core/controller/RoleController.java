@@ -1,6 +1,12 @@
 package com.template.core.controller;
 
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.LoteDTO;
 import com.template.core.dto.PageRequestDTO;
+import com.template.core.dto.RegistrosAfetadosDTO;
+import com.template.core.dto.RolePatchDTO;
 import com.template.core.entity.Role;
 import com.template.core.service.RoleService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -11,6 +17,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controlador para lidar com as solicitações relacionadas a roles.
  */
@@ -25,11 +33,12 @@ public class RoleController {
      * Obtém uma role pelo seu ID.
      *
      * @param id O ID da role a ser encontrada.
+     * @param apenasAtivos Se apenas um registro ativo deve ser retornado.
      * @return A role correspondente ao ID fornecido.
      */
     @GetMapping("/get/{id}")
-    public ResponseEntity<Role> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<Role> findById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean apenasAtivos) {
+        return ResponseEntity.ok(service.findById(id, apenasAtivos));
     }
 
     /**
@@ -40,7 +49,18 @@ public class RoleController {
      */
     @PostMapping("/find")
     public ResponseEntity<Page<Role>> findAll(@Valid @RequestBody PageRequestDTO pageRequestDTO) {
-        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size())));
+        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size()), pageRequestDTO.apenasAtivos()));
+    }
+
+    /**
+     * Obtém uma página de roles por cursor, sem contagem de registros.
+     *
+     * @param cursorRequestDTO Objeto contendo o cursor retornado pela página anterior e o tamanho da página
+     * @return Uma página de roles com o token da próxima página.
+     */
+    @PostMapping("/find/cursor")
+    public ResponseEntity<CursorPageDTO<Role>> findAllByCursor(@Valid @RequestBody CursorRequestDTO cursorRequestDTO) {
+        return ResponseEntity.ok(service.findAll(cursorRequestDTO));
     }
 
     /**
@@ -54,6 +74,17 @@ public class RoleController {
         return ResponseEntity.ok(service.save(role));
     }
 
+    /**
+     * Salva uma lista de roles.
+     *
+     * @param loteDTO As roles a serem salvas.
+     * @return As roles salvas.
+     */
+    @PostMapping("/save-all")
+    public ResponseEntity<List<Role>> saveAll(@Valid @RequestBody LoteDTO<Role> loteDTO) {
+        return ResponseEntity.ok(service.saveAll(loteDTO.registros()));
+    }
+
     /**
      * Atualiza uma role.
      *
@@ -65,6 +96,19 @@ public class RoleController {
         return ResponseEntity.ok(service.update(role));
     }
 
+    /**
+     * Atualiza parcialmente uma role, alterando apenas os campos informados.
+     *
+     * @param id           O ID da role a ser atualizada.
+     * @param rolePatchDTO Os campos a serem alterados.
+     * @return ResponseEntity<Void> status 204 NO CONTENT.
+     */
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<Void> patch(@PathVariable Long id, @Valid @RequestBody RolePatchDTO rolePatchDTO) {
+        service.patch(id, rolePatchDTO);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Exclui uma role pelo seu ID.
      *
@@ -77,4 +121,26 @@ public class RoleController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Exclui as roles informadas pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros excluídos.
+     */
+    @DeleteMapping("/delete")
+    public ResponseEntity<RegistrosAfetadosDTO> deleteAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, false)));
+    }
+
+    /**
+     * Reativa as roles informadas pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros reativados.
+     */
+    @PatchMapping("/reactivate")
+    public ResponseEntity<RegistrosAfetadosDTO> reactivateAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, true)));
+    }
+
 }
\ No newline at end of file
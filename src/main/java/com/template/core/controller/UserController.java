@@ -1,16 +1,34 @@
 package com.template.core.controller;
 
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.CredenciaisDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.ExportacaoDTO;
+import com.template.core.dto.ImportacaoResultadoDTO;
+import com.template.core.dto.LoteDTO;
 import com.template.core.dto.PageRequestDTO;
+import com.template.core.dto.RegistrosAfetadosDTO;
+import com.template.core.dto.UserPatchDTO;
+import com.template.core.dto.UsuarioAutenticadoDTO;
 import com.template.core.entity.User;
+import com.template.core.service.UserImportService;
 import com.template.core.service.UserService;
+import com.template.core.util.exportacao.EscritorExportacao;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controlador para lidar com as solicitações relacionadas a users.
  */
@@ -20,16 +38,18 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "bearer-key")
 public class UserController {
     private final UserService service;
+    private final UserImportService importService;
 
     /**
      * Obtém um user pelo seu ID.
      *
      * @param id O ID do user a ser encontrado.
+     * @param apenasAtivos Se apenas um registro ativo deve ser retornado.
      * @return O user correspondente ao ID fornecido.
      */
     @GetMapping("/get/{id}")
-    public ResponseEntity<User> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<User> findById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean apenasAtivos) {
+        return ResponseEntity.ok(service.findById(id, apenasAtivos));
     }
 
     /**
@@ -40,18 +60,78 @@ public class UserController {
      */
     @PostMapping("/find")
     public ResponseEntity<Page<User>> findAll(@Valid @RequestBody PageRequestDTO pageRequestDTO) {
-        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size())));
+        return ResponseEntity.ok(service.findAll(PageRequest.of(pageRequestDTO.page(), pageRequestDTO.size()), pageRequestDTO.apenasAtivos()));
+    }
+
+    /**
+     * Obtém uma página de users por cursor, sem contagem de registros.
+     *
+     * @param cursorRequestDTO Objeto contendo o cursor retornado pela página anterior e o tamanho da página
+     * @return Uma página de users com o token da próxima página.
+     */
+    @PostMapping("/find/cursor")
+    public ResponseEntity<CursorPageDTO<User>> findAllByCursor(@Valid @RequestBody CursorRequestDTO cursorRequestDTO) {
+        return ResponseEntity.ok(service.findAll(cursorRequestDTO));
+    }
+
+    /**
+     * Exporta os users em NDJSON ou CSV, de acordo com o cabeçalho Accept, escrevendo-os na resposta à medida que são
+     * lidos do banco.
+     *
+     * @param accept       Formato da exportação: {@code application/x-ndjson} (padrão) ou {@code text/csv}.
+     * @param apenasAtivos Se apenas os registros ativos devem ser exportados.
+     * @return Os users exportados, ordenados pelo ID.
+     */
+    @GetMapping(value = "/export", produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ExportacaoDTO> export(@RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "application/x-ndjson") String accept, @RequestParam(defaultValue = "false") boolean apenasAtivos) {
+        return ResponseEntity.ok().contentType(EscritorExportacao.mediaType(accept)).body(new ExportacaoDTO(outputStream -> service.export(accept, apenasAtivos, outputStream)));
     }
 
     /**
      * Salva um user.
      *
      * @param user O user a ser salvo.
-     * @return O user salvo.
+     * @return O user salvo, respondido após o hash da senha sem reter a thread da requisição.
      */
     @PostMapping("/save")
-    public ResponseEntity<User> save(@Valid @RequestBody User user) {
-        return ResponseEntity.ok(service.save(user));
+    public CompletableFuture<ResponseEntity<User>> save(@Valid @RequestBody User user) {
+        return service.save(user).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Salva uma lista de users.
+     *
+     * @param loteDTO Os users a serem salvos.
+     * @return Os users salvos.
+     */
+    @PostMapping("/save-all")
+    public ResponseEntity<List<User>> saveAll(@Valid @RequestBody LoteDTO<User> loteDTO) {
+        return ResponseEntity.ok(service.saveAll(loteDTO.registros()));
+    }
+
+    /**
+     * Importa users em massa a partir de um arquivo NDJSON ou CSV enviado no corpo da requisição.
+     *
+     * @param contentType {@code application/x-ndjson} ou {@code text/csv}.
+     * @param inputStream O conteúdo do arquivo.
+     * @return O resultado da importação, com os erros por linha.
+     * @throws IOException Se ocorrer um erro na leitura do arquivo.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportacaoResultadoDTO> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream inputStream) throws IOException {
+        return ResponseEntity.ok(importService.importUsers(contentType, inputStream));
+    }
+
+    /**
+     * Verifica as credenciais de um user.
+     *
+     * @param credenciaisDTO Username e senha do user.
+     * @return O user autenticado ou 401 UNAUTHORIZED se as credenciais forem inválidas, respondido após a verificação
+     * do hash sem reter a thread da requisição.
+     */
+    @PostMapping("/verify-credentials")
+    public CompletableFuture<ResponseEntity<UsuarioAutenticadoDTO>> verifyCredentials(@Valid @RequestBody CredenciaisDTO credenciaisDTO) {
+        return service.verifyCredentials(credenciaisDTO.username(), credenciaisDTO.password()).thenApply(user -> ResponseEntity.ok(UsuarioAutenticadoDTO.of(user)));
     }
 
     /**
@@ -65,6 +145,19 @@ public class UserController {
         return ResponseEntity.ok(service.update(user));
     }
 
+    /**
+     * Atualiza parcialmente um user, alterando apenas os campos informados.
+     *
+     * @param id           O ID do user a ser atualizado.
+     * @param userPatchDTO Os campos a serem alterados.
+     * @return ResponseEntity<Void> status 204 NO CONTENT, respondido após o hash da nova senha sem reter a thread da
+     * requisição.
+     */
+    @PatchMapping("/update/{id}")
+    public CompletableFuture<ResponseEntity<Void>> patch(@PathVariable Long id, @Valid @RequestBody UserPatchDTO userPatchDTO) {
+        return service.patch(id, userPatchDTO).thenApply(_ -> ResponseEntity.noContent().build());
+    }
+
     /**
      * Exclui um user pelo seu ID.
      *
@@ -77,4 +170,26 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Exclui os users informados pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros excluídos.
+     */
+    @DeleteMapping("/delete")
+    public ResponseEntity<RegistrosAfetadosDTO> deleteAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, false)));
+    }
+
+    /**
+     * Reativa os users informados pelos IDs ou por um intervalo de IDs.
+     *
+     * @param alteracaoEmLoteDTO Os IDs ou o intervalo de IDs.
+     * @return A quantidade de registros reativados.
+     */
+    @PatchMapping("/reactivate")
+    public ResponseEntity<RegistrosAfetadosDTO> reactivateAll(@Valid @RequestBody AlteracaoEmLoteDTO alteracaoEmLoteDTO) {
+        return ResponseEntity.ok(new RegistrosAfetadosDTO(service.setAtivo(alteracaoEmLoteDTO, true)));
+    }
+
 }
\ No newline at end of file
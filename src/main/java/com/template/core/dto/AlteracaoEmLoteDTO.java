@@ -0,0 +1,32 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Record que representa os registros de uma alteração em lote, selecionados pelos IDs ou por um intervalo de IDs.
+ *
+ * @param ids       IDs dos registros.
+ * @param idInicial Início do intervalo de IDs, inclusivo.
+ * @param idFinal   Fim do intervalo de IDs, inclusivo.
+ */
+public record AlteracaoEmLoteDTO(@Size(max = 100000) List<@NotNull Long> ids, @Min(1) Long idInicial, @Min(1) Long idFinal) {
+
+    /**
+     * Verifica se os registros foram selecionados por exatamente um dos critérios.
+     *
+     * @return {@code true} se apenas os IDs ou apenas um intervalo válido foi informado
+     */
+    @AssertTrue(message = "Informe os IDs ou o intervalo de IDs.")
+    public boolean isCriterioValido() {
+        if (ids != null) {
+            return idInicial == null && idFinal == null;
+        }
+        return idInicial != null && idFinal != null && idInicial <= idFinal;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Record que representa um BuscaRequestDTO, utilizado na busca textual.
+ *
+ * @param termo        Termo buscado, com pelo menos 3 caracteres (tamanho de um trigrama).
+ * @param size         Quantidade máxima de registros retornados.
+ * @param apenasAtivos Se apenas os registros ativos devem ser retornados.
+ */
+public record BuscaRequestDTO(@NotBlank @Size(min = 3, max = 100) String termo, @NotNull @Min(1) @Max(100) Integer size, boolean apenasAtivos) {
+
+    /**
+     * Termo para o padrão do LIKE, com os caracteres especiais ({@code %}, {@code _} e {@code \}) escapados.
+     *
+     * @return o termo escapado
+     */
+    public String termoLike() {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
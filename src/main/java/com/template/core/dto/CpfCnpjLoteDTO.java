@@ -0,0 +1,15 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Record que representa um lote de CPFs/CNPJs a serem validados.
+ *
+ * @param documentos CPFs ou CNPJs, com ou sem pontuação.
+ */
+public record CpfCnpjLoteDTO(@NotEmpty @Size(max = 100000) List<String> documentos) {
+
+}
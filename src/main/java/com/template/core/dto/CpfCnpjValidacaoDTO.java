@@ -0,0 +1,13 @@
+package com.template.core.dto;
+
+import java.util.List;
+
+/**
+ * Record que representa o resultado da validação de um lote de CPFs/CNPJs.
+ *
+ * @param normalizados Documentos sem pontuação, na ordem do lote, com {@code null} nas posições dos inválidos.
+ * @param invalidos    Quantidade de documentos inválidos.
+ */
+public record CpfCnpjValidacaoDTO(List<String> normalizados, long invalidos) {
+
+}
@@ -0,0 +1,13 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Record que representa um CredenciaisDTO.
+ *
+ * @param username Username do usuário.
+ * @param password Senha do usuário em texto puro.
+ */
+public record CredenciaisDTO(@NotBlank String username, @NotBlank String password) {
+
+}
@@ -0,0 +1,34 @@
+package com.template.core.dto;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Record que representa um CursorPageDTO, página da paginação por cursor (keyset).
+ *
+ * @param content Registros da página, ordenados pelo ID.
+ * @param next    Token de continuação para a próxima página ou {@code null} se esta for a última.
+ * @param <T>     Tipo dos registros.
+ */
+public record CursorPageDTO<T>(List<T> content, String next) {
+
+    /**
+     * Cria a página a partir dos registros buscados com um registro excedente, cuja presença indica que há uma próxima
+     * página sem a necessidade de uma consulta de contagem.
+     *
+     * @param rows registros buscados, no máximo {@code size + 1}
+     * @param size tamanho da página
+     * @param id   função que extrai o ID do registro
+     * @param <T>  tipo dos registros
+     * @return a página
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, ToLongFunction<T> id) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, size);
+        return new CursorPageDTO<>(content, CursorRequestDTO.encode(id.applyAsLong(content.getLast())));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Record que representa um CursorRequestDTO, utilizado na paginação por cursor (keyset).
+ *
+ * @param cursor       Token de continuação retornado em {@link CursorPageDTO#next()}, ausente na primeira página.
+ * @param size         Quantidade máxima de registros da página.
+ * @param apenasAtivos Se apenas os registros ativos devem ser retornados.
+ */
+public record CursorRequestDTO(@Pattern(regexp = "[A-Za-z0-9_-]{11}") String cursor, @NotNull @Min(1) @Max(1000) Integer size, boolean apenasAtivos) {
+
+    /**
+     * Codifica o ID do último registro de uma página no token de continuação.
+     *
+     * @param id ID do último registro da página
+     * @return o token opaco, em Base64 URL-safe sem padding
+     */
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    /**
+     * ID a partir do qual a página deve ser buscada.
+     *
+     * @return o ID do último registro da página anterior ou 0 na primeira página
+     */
+    public long afterId() {
+        return cursor == null ? 0 : ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor)).getLong();
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Record que representa um DadosPessoaisPatchDTO, com os campos a serem alterados dos dados pessoais; campos nulos não
+ * são alterados.
+ *
+ * @param nome    Nome da pessoa.
+ * @param cpfCnpj CPF/CNPJ da pessoa.
+ * @param ativo   Identificador para verificar se os dados pessoais estão ativos.
+ */
+public record DadosPessoaisPatchDTO(@Pattern(regexp = ".*\\S.*") String nome, @Pattern(regexp = ".*\\S.*") String cpfCnpj, Boolean ativo) {
+
+}
@@ -0,0 +1,13 @@
+package com.template.core.dto;
+
+/**
+ * Record que representa um DadosPessoaisResumoDTO, utilizado nas sugestões da busca por prefixo.
+ *
+ * @param id      ID dos dados pessoais.
+ * @param nome    Nome da pessoa.
+ * @param cpfCnpj CPF ou CNPJ da pessoa.
+ * @param ativo   Se o registro está ativo.
+ */
+public record DadosPessoaisResumoDTO(Long id, String nome, String cpfCnpj, boolean ativo) {
+
+}
@@ -1,12 +1,19 @@
 package com.template.core.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Record que representa um EmailDTO.
  *
- * @param email Email do destinatário.
+ * @param email     Email do destinatário.
+ * @param template  Nome do template do email; se não for informado, é usado o template padrão.
+ * @param variaveis Valores das variáveis do template.
+ * @param anexos    Caminhos dos arquivos anexados, relativos ao diretório de anexos.
  */
-public record EmailDTO(@NotBlank String email) {
+public record EmailDTO(@NotBlank String email, String template, Map<String, String> variaveis, @Size(max = 10) List<@NotBlank String> anexos) {
 
 }
@@ -0,0 +1,21 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record que representa um envio de email em massa. Deve ser informada a lista de destinatários ou as roles dos users
+ * destinatários, mas não ambas.
+ *
+ * @param destinatarios Emails dos destinatários.
+ * @param roles         Nomes das roles: o email é enviado a todos os users ativos com alguma delas.
+ * @param template      Nome do template do email; se não for informado, é usado o template padrão.
+ * @param variaveis     Valores das variáveis do template, comuns a todos os destinatários.
+ * @param anexos        Caminhos dos arquivos anexados, relativos ao diretório de anexos.
+ */
+public record EmailLoteDTO(@Size(max = 100000) List<@NotBlank String> destinatarios, @Size(max = 100) List<@NotBlank String> roles, String template, Map<String, String> variaveis, @Size(max = 10) List<@NotBlank String> anexos) {
+
+}
@@ -0,0 +1,14 @@
+package com.template.core.dto;
+
+/**
+ * Record que representa o progresso de um envio de email.
+ *
+ * @param id        ID da mensagem enviada.
+ * @param total     Quantidade de destinatários.
+ * @param pendentes Quantidade de emails aguardando o envio ou uma nova tentativa.
+ * @param enviados  Quantidade de emails enviados.
+ * @param falhas    Quantidade de emails descartados após esgotar as tentativas.
+ */
+public record EmailProgressoDTO(Long id, long total, long pendentes, long enviados, long falhas) {
+
+}
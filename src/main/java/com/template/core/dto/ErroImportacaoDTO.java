@@ -0,0 +1,11 @@
+package com.template.core.dto;
+
+/**
+ * Record que representa um ErroImportacaoDTO.
+ *
+ * @param linha    Número da linha do arquivo que originou o erro.
+ * @param mensagem Descrição do erro.
+ */
+public record ErroImportacaoDTO(long linha, String mensagem) {
+
+}
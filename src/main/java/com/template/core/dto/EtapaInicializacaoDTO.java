@@ -0,0 +1,18 @@
+package com.template.core.dto;
+
+import java.util.List;
+
+/**
+ * Record que representa a execução de uma etapa da carga inicial.
+ *
+ * @param nome          Nome da etapa.
+ * @param dependencias  Etapas que precisam ser concluídas antes desta.
+ * @param situacao      CONCLUIDA, FALHA ou CANCELADA (quando uma dependência falhou).
+ * @param inicioMillis  Início da etapa, em milissegundos desde o início da carga inicial.
+ * @param duracaoMillis Duração da etapa, em milissegundos.
+ * @param thread        Thread que executou a etapa.
+ * @param erro          Mensagem do erro, se a etapa falhou.
+ */
+public record EtapaInicializacaoDTO(String nome, List<String> dependencias, String situacao, long inicioMillis, long duracaoMillis, String thread, String erro) {
+
+}
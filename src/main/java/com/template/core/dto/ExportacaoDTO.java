@@ -0,0 +1,21 @@
+package com.template.core.dto;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Record que representa um ExportacaoDTO, corpo de uma resposta de exportação. É escrito diretamente no OutputStream
+ * da resposta, em uma thread assíncrona, em vez de ser serializado.
+ *
+ * @param conteudo Escrita do conteúdo exportado.
+ */
+public record ExportacaoDTO(StreamingResponseBody conteudo) implements StreamingResponseBody {
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        conteudo.writeTo(outputStream);
+    }
+
+}
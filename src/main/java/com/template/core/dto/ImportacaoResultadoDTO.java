@@ -0,0 +1,15 @@
+package com.template.core.dto;
+
+import java.util.List;
+
+/**
+ * Record que representa um ImportacaoResultadoDTO.
+ *
+ * @param total      Quantidade de linhas de dados lidas.
+ * @param importados Quantidade de registros importados.
+ * @param falhas     Quantidade de linhas recusadas.
+ * @param erros      Erros das linhas recusadas, limitados à quantidade máxima configurada.
+ */
+public record ImportacaoResultadoDTO(long total, long importados, long falhas, List<ErroImportacaoDTO> erros) {
+
+}
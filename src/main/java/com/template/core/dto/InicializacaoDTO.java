@@ -0,0 +1,17 @@
+package com.template.core.dto;
+
+import java.util.List;
+
+/**
+ * Record que representa a linha do tempo da inicialização da aplicação.
+ *
+ * @param situacao             EM_ANDAMENTO, CONCLUIDA ou FALHA.
+ * @param contextoMillis       Tempo até o contexto do Spring estar iniciado, desde o início da JVM.
+ * @param cargaMillis          Duração da carga inicial, ou {@code null} se ainda estiver em andamento.
+ * @param tempoAteProntoMillis Tempo até a aplicação aceitar tráfego, desde o início da JVM, ou {@code null} se ainda
+ *                             não estiver pronta.
+ * @param etapas               Etapas da carga inicial, na ordem de término.
+ */
+public record InicializacaoDTO(String situacao, long contextoMillis, Long cargaMillis, Long tempoAteProntoMillis, List<EtapaInicializacaoDTO> etapas) {
+
+}
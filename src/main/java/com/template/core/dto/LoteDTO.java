@@ -0,0 +1,18 @@
+package com.template.core.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Record que representa um lote de registros salvos em uma única requisição.
+ *
+ * @param registros Registros do lote.
+ * @param <T>       Tipo dos registros.
+ */
+public record LoteDTO<T>(@NotEmpty @Size(max = 1000) List<@NotNull @Valid T> registros) {
+
+}
@@ -5,9 +5,10 @@ import jakarta.validation.constraints.NotNull;
 /**
  * Record que representa um PageRequestDTO.
  *
- * @param page Page do PageRequestDTO.
- * @param size Size do PageRequestDTO.
+ * @param page         Page do PageRequestDTO.
+ * @param size         Size do PageRequestDTO.
+ * @param apenasAtivos Se apenas os registros ativos devem ser retornados.
  */
-public record PageRequestDTO(@NotNull Integer page, @NotNull Integer size) {
+public record PageRequestDTO(@NotNull Integer page, @NotNull Integer size, boolean apenasAtivos) {
 
 }
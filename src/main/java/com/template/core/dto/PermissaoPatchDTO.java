@@ -0,0 +1,14 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Record que representa um PermissaoPatchDTO, com os campos a serem alterados de uma permissão; campos nulos não são
+ * alterados.
+ *
+ * @param endpoint Endpoint da permissão.
+ * @param ativo    Identificador para verificar se a permissão está ativa.
+ */
+public record PermissaoPatchDTO(@Pattern(regexp = ".*\\S.*") String endpoint, Boolean ativo) {
+
+}
@@ -0,0 +1,18 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Record que representa um PrefixoRequestDTO, utilizado na busca por prefixo (typeahead).
+ *
+ * @param termo        Texto digitado até o momento: o início do nome, de palavras do nome ou do CPF/CNPJ.
+ * @param size         Quantidade máxima de registros retornados.
+ * @param apenasAtivos Se apenas os registros ativos devem ser retornados.
+ */
+public record PrefixoRequestDTO(@NotBlank @Size(max = 100) String termo, @NotNull @Min(1) @Max(50) Integer size, boolean apenasAtivos) {
+
+}
@@ -0,0 +1,14 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Record que representa um ProdutoPatchDTO, com os campos a serem alterados de um produto; campos nulos não são
+ * alterados.
+ *
+ * @param descricao Descrição do produto.
+ * @param ativo     Identificador para verificar se o produto está ativo.
+ */
+public record ProdutoPatchDTO(@Pattern(regexp = ".*\\S.*") String descricao, Boolean ativo) {
+
+}
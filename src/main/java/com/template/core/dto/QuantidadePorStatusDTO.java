@@ -0,0 +1,13 @@
+package com.template.core.dto;
+
+import com.template.core.enums.StatusEmail;
+
+/**
+ * Record que representa a quantidade de emails de um envio em uma situação.
+ *
+ * @param status     Situação dos emails.
+ * @param quantidade Quantidade de emails na situação.
+ */
+public record QuantidadePorStatusDTO(StatusEmail status, Long quantidade) {
+
+}
@@ -0,0 +1,10 @@
+package com.template.core.dto;
+
+/**
+ * Record que representa o resultado de uma alteração em lote.
+ *
+ * @param registrosAfetados Quantidade de registros alterados.
+ */
+public record RegistrosAfetadosDTO(long registrosAfetados) {
+
+}
@@ -0,0 +1,13 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Record que representa um RolePatchDTO, com os campos a serem alterados de uma role; campos nulos não são alterados.
+ *
+ * @param nome  Nome da role.
+ * @param ativo Identificador para verificar se a role está ativa.
+ */
+public record RolePatchDTO(@Pattern(regexp = ".*\\S.*") String nome, Boolean ativo) {
+
+}
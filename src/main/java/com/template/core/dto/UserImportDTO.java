@@ -0,0 +1,16 @@
+package com.template.core.dto;
+
+import java.util.List;
+
+/**
+ * Record que representa um UserImportDTO, uma linha da importação de users.
+ *
+ * @param username Username do usuário.
+ * @param password Senha do usuário em texto puro.
+ * @param email    Email do usuário.
+ * @param cpfCnpj  CPF/CNPJ dos dados pessoais já cadastrados do usuário.
+ * @param roles    Nomes das roles do usuário.
+ */
+public record UserImportDTO(String username, String password, String email, String cpfCnpj, List<String> roles) {
+
+}
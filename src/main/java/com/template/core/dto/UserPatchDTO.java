@@ -0,0 +1,16 @@
+package com.template.core.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Record que representa um UserPatchDTO, com os campos a serem alterados de um user; campos nulos não são alterados.
+ *
+ * @param username      Username do usuário.
+ * @param password      Nova senha do usuário em texto puro.
+ * @param email         Email do usuário.
+ * @param ativo         Identificador para verificar se o usuário está ativo.
+ * @param primeiroLogin Identificador para verificar se é o primeiro login do usuário.
+ */
+public record UserPatchDTO(@Pattern(regexp = ".*\\S.*") String username, @Pattern(regexp = ".*\\S.*") String password, @Pattern(regexp = ".*\\S.*") String email, Boolean ativo, Boolean primeiroLogin) {
+
+}
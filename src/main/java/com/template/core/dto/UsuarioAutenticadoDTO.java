@@ -0,0 +1,29 @@
+package com.template.core.dto;
+
+import com.template.core.entity.Role;
+import com.template.core.entity.User;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Record que representa um UsuarioAutenticadoDTO.
+ *
+ * @param id            ID do usuário.
+ * @param username      Username do usuário.
+ * @param primeiroLogin Identificador para verificar se é o primeiro login do usuário.
+ * @param roles         Nomes das roles do usuário.
+ */
+public record UsuarioAutenticadoDTO(Long id, String username, boolean primeiroLogin, Set<String> roles) {
+
+    /**
+     * Cria o UsuarioAutenticadoDTO a partir do user.
+     *
+     * @param user o user autenticado
+     * @return o UsuarioAutenticadoDTO
+     */
+    public static UsuarioAutenticadoDTO of(User user) {
+        return new UsuarioAutenticadoDTO(user.getId(), user.getUsername(), user.isPrimeiroLogin(), user.getRoles().stream().map(Role::getNome).collect(Collectors.toUnmodifiableSet()));
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.template.core.entity;
 
+import com.template.core.util.jpa.FiltroAtivo;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.Filter;
 
 /**
  * Entidade que representa os dados pessoais de um usuário.
@@ -14,6 +16,7 @@ import org.hibernate.annotations.ColumnTransformer;
 @AllArgsConstructor
 @Data
 @Entity
+@Filter(name = FiltroAtivo.NOME)
 @NoArgsConstructor
 @Table(name = "dados_pessoais")
 public class DadosPessoais {
@@ -21,8 +24,9 @@ public class DadosPessoais {
     /**
      * Identificador único dos dados pessoais de um usuário.
      */
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dados_pessoais_seq")
     @Id
+    @SequenceGenerator(name = "dados_pessoais_seq", sequenceName = "dados_pessoais_seq", allocationSize = 50)
     private Long id;
 
     /**
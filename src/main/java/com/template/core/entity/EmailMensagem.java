@@ -0,0 +1,78 @@
+package com.template.core.entity;
+
+import com.template.core.util.jpa.FiltroAtivo;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entidade que representa o conteúdo de um email, compartilhado por todos os destinatários de um envio.
+ * <p>
+ * Um envio em massa grava uma única mensagem, com o nome do template e as variáveis comuns a todos os destinatários,
+ * e uma linha de {@link EmailOutbox} por destinatário. O assunto e o corpo são renderizados no envio de cada email,
+ * com a variável {@value com.template.core.util.email.TemplatesEmail#DESTINATARIO} preenchida com o destinatário.
+ */
+@AllArgsConstructor
+@Data
+@Entity
+@Filter(name = FiltroAtivo.NOME)
+@NoArgsConstructor
+@Table(name = "email_mensagens")
+public class EmailMensagem {
+
+    /**
+     * Identificador único da mensagem.
+     */
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_mensagens_seq")
+    @Id
+    @SequenceGenerator(name = "email_mensagens_seq", sequenceName = "email_mensagens_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Nome do template do email, em {@code templates/email}.
+     */
+    @Column(name = "tx_template")
+    @NotBlank
+    private String template;
+
+    /**
+     * Valores das variáveis do template comuns a todos os destinatários.
+     */
+    @Column(name = "tx_variaveis")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @NotNull
+    private Map<String, String> variaveis;
+
+    /**
+     * Caminhos dos arquivos anexados, relativos ao diretório {@code template.email.attachments.dir}.
+     */
+    @Column(name = "tx_anexos")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @NotNull
+    private List<String> anexos;
+
+    /**
+     * Momento em que a mensagem foi gravada.
+     */
+    @Column(name = "dt_criacao")
+    @NotNull
+    private Instant dataCriacao;
+
+    /**
+     * Identificador para verificar se a mensagem está ativa.
+     */
+    @Column(name = "bl_ativo")
+    @NotNull
+    private boolean ativo;
+
+}
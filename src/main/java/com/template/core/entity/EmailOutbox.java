@@ -0,0 +1,104 @@
+package com.template.core.entity;
+
+import com.template.core.enums.StatusEmail;
+import com.template.core.util.jpa.FiltroAtivo;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Filter;
+
+import java.time.Instant;
+
+/**
+ * Entidade que representa um destinatário de email na fila de envio (outbox).
+ * <p>
+ * O email é gravado na mesma transação da requisição e enviado em segundo plano. Enquanto está sendo enviado, o email
+ * permanece {@link StatusEmail#PENDENTE} com a próxima tentativa adiada pelo tempo de reserva, de modo que, se a
+ * instância parar durante o envio, outra o reenvia quando a reserva expirar.
+ */
+@AllArgsConstructor
+@Data
+@Entity
+@Filter(name = FiltroAtivo.NOME)
+@NoArgsConstructor
+@Table(name = "email_outbox")
+public class EmailOutbox {
+
+    /**
+     * Identificador único do email.
+     */
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @Id
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Email do destinatário.
+     */
+    @Column(name = "tx_destinatario")
+    @NotBlank
+    private String destinatario;
+
+    /**
+     * Conteúdo do email, compartilhado pelos destinatários do mesmo envio.
+     */
+    @JoinColumn(name = "mensagem_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @NotNull
+    @ToString.Exclude
+    private EmailMensagem mensagem;
+
+    /**
+     * Situação do email na fila.
+     */
+    @Column(name = "tp_status")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private StatusEmail status;
+
+    /**
+     * Quantidade de tentativas de envio já iniciadas.
+     */
+    @Column(name = "nu_tentativas")
+    @NotNull
+    private int tentativas;
+
+    /**
+     * Momento a partir do qual o email pode ser reservado para envio.
+     */
+    @Column(name = "dt_proxima_tentativa")
+    @NotNull
+    private Instant proximaTentativa;
+
+    /**
+     * Momento em que o email foi gravado na fila.
+     */
+    @Column(name = "dt_criacao")
+    @NotNull
+    private Instant dataCriacao;
+
+    /**
+     * Momento em que o email foi enviado.
+     */
+    @Column(name = "dt_envio")
+    private Instant dataEnvio;
+
+    /**
+     * Mensagem do último erro de envio.
+     */
+    @Column(name = "tx_ultimo_erro", length = 1000)
+    private String ultimoErro;
+
+    /**
+     * Identificador para verificar se o email está ativo. Emails inativos não são reservados para envio, o que permite
+     * cancelar um email pendente.
+     */
+    @Column(name = "bl_ativo")
+    @NotNull
+    private boolean ativo;
+
+}
@@ -1,14 +1,18 @@
 package com.template.core.entity;
 
 import com.template.core.enums.Acesso;
+import com.template.core.util.jpa.FiltroAtivo;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Filter;
 
-import java.util.List;
+import java.util.Set;
 
 /**
  * Entidade que representa um grupo de acesso.
@@ -16,6 +20,7 @@ import java.util.List;
 @AllArgsConstructor
 @Data
 @Entity
+@Filter(name = FiltroAtivo.NOME)
 @NoArgsConstructor
 @Table(name = "grupos_acesso")
 public class GrupoAcesso {
@@ -23,24 +28,29 @@ public class GrupoAcesso {
     /**
      * Identificador único do grupo de acesso.
      */
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grupos_acesso_seq")
     @Id
+    @SequenceGenerator(name = "grupos_acesso_seq", sequenceName = "grupos_acesso_seq", allocationSize = 50)
     private Long id;
 
     /**
      * Rota do grupo de acesso.
      */
-    @OneToOne
+    @EqualsAndHashCode.Exclude
     @NotNull
+    @OneToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     private Rota rota;
 
     /**
-     * Lista de acessos do grupo de acesso.
+     * Conjunto de acessos do grupo de acesso.
      */
-    @ElementCollection(targetClass = Acesso.class, fetch = FetchType.EAGER)
+    @ElementCollection(targetClass = Acesso.class, fetch = FetchType.LAZY)
     @Enumerated(EnumType.STRING)
+    @EqualsAndHashCode.Exclude
     @NotEmpty
-    private List<Acesso> acessos;
+    @ToString.Exclude
+    private Set<Acesso> acessos;
 
     /**
      * Identificador para verificar se o grupo de acesso está ativo.
@@ -1,11 +1,13 @@
 package com.template.core.entity;
 
+import com.template.core.util.jpa.FiltroAtivo;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
 
 /**
  * Entidade que representa uma permissão.
@@ -13,6 +15,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Data
 @Entity
+@Filter(name = FiltroAtivo.NOME)
 @NoArgsConstructor
 @Table(name = "permissoes")
 public class Permissao {
@@ -20,8 +23,9 @@ public class Permissao {
     /**
      * Identificador único da permissão.
      */
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "permissoes_seq")
     @Id
+    @SequenceGenerator(name = "permissoes_seq", sequenceName = "permissoes_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -1,5 +1,6 @@
 package com.template.core.entity;
 
+import com.template.core.util.jpa.FiltroAtivo;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.Filter;
 
 /**
  * Entidade que representa um produto.
@@ -14,6 +16,7 @@ import org.hibernate.annotations.ColumnTransformer;
 @AllArgsConstructor
 @Data
 @Entity
+@Filter(name = FiltroAtivo.NOME)
 @NoArgsConstructor
 @Table(name = "produtos")
 public class Produto {
@@ -21,8 +24,9 @@ public class Produto {
     /**
      * Identificador único do produto.
      */
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
     @Id
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -1,12 +1,16 @@
 package com.template.core.entity;
 
+import com.template.core.util.jpa.FiltroAtivo;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.Filter;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.util.Set;
@@ -17,6 +21,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Data
 @Entity
+@Filter(name = FiltroAtivo.NOME)
 @NoArgsConstructor
 @Table(name = "roles")
 public class Role implements GrantedAuthority {
@@ -24,8 +29,9 @@ public class Role implements GrantedAuthority {
     /**
      * Identificador único da role.
      */
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
     @Id
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -39,7 +45,10 @@ public class Role implements GrantedAuthority {
     /**
      * Lista dos grupos de acesso da role.
      */
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @EqualsAndHashCode.Exclude
+    @Filter(name = FiltroAtivo.NOME)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ToString.Exclude
     private Set<GrupoAcesso> grupoAcesso;
 
     /**
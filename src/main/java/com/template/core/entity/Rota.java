@@ -1,12 +1,16 @@
 package com.template.core.entity;
 
+import com.template.core.util.jpa.FiltroAtivo;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Filter;
 
 import java.util.Set;
 
@@ -16,6 +20,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Data
 @Entity
+@Filter(name = FiltroAtivo.NOME)
 @NoArgsConstructor
 @Table(name = "rotas")
 public class Rota {
@@ -23,8 +28,9 @@ public class Rota {
     /**
      * Identificador único da rota.
      */
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rotas_seq")
     @Id
+    @SequenceGenerator(name = "rotas_seq", sequenceName = "rotas_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -44,8 +50,11 @@ public class Rota {
     /**
      * Lista de permissões da rota.
      */
-    @ManyToMany(fetch = FetchType.EAGER)
+    @EqualsAndHashCode.Exclude
+    @Filter(name = FiltroAtivo.NOME)
+    @ManyToMany(fetch = FetchType.LAZY)
     @NotEmpty
+    @ToString.Exclude
     private Set<Permissao> permissoes;
 
     /**
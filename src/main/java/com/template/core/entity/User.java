@@ -1,13 +1,17 @@
 package com.template.core.entity;
 
+import com.template.core.util.jpa.FiltroAtivo;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.Filter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -21,6 +25,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Data
 @Entity
+@Filter(name = FiltroAtivo.NOME)
 @NoArgsConstructor
 @Table(name = "users")
 public class User implements UserDetails {
@@ -28,8 +33,9 @@ public class User implements UserDetails {
     /**
      * Identificador único do user.
      */
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
     @Id
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -78,14 +84,19 @@ public class User implements UserDetails {
     /**
      * Dados pessoais do usuário.
      */
-    @OneToOne
+    @EqualsAndHashCode.Exclude
+    @OneToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     private DadosPessoais dadosPessoais;
 
     /**
      * Lista de roles do usuário.
      */
-    @ManyToMany(fetch = FetchType.EAGER)
+    @EqualsAndHashCode.Exclude
+    @Filter(name = FiltroAtivo.NOME)
+    @ManyToMany(fetch = FetchType.LAZY)
     @NotEmpty
+    @ToString.Exclude
     private Set<Role> roles;
 
     /**
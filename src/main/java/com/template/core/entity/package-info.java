@@ -0,0 +1,17 @@
+/**
+ * Entidades da aplicação.
+ * <p>
+ * O filtro {@value com.template.core.util.jpa.FiltroAtivo#NOME} restringe consultas e coleções às linhas com
+ * {@code bl_ativo = true}. Ele fica desabilitado por padrão e é habilitado por consulta com
+ * {@link com.template.core.util.jpa.FiltroAtivo#aplicar}.
+ * <p>
+ * Os IDs são gerados por sequências {@code <tabela>_seq} com incremento 50 e otimizador {@code pooled-lo}: cada
+ * {@code nextval} reserva um bloco de 50 IDs a partir do valor retornado. Os IDs são conhecidos antes do INSERT, o que
+ * permite ao Hibernate agrupar as inserções em lotes JDBC. Inserções fora do Hibernate devem usar
+ * {@code nextval('<tabela>_seq')} como ID.
+ */
+@FilterDef(name = FiltroAtivo.NOME, defaultCondition = "bl_ativo = true")
+package com.template.core.entity;
+
+import com.template.core.util.jpa.FiltroAtivo;
+import org.hibernate.annotations.FilterDef;
@@ -28,4 +28,20 @@ public enum Acesso {
      * Usuários com este acesso podem remover informações do sistema.
      */
     DELETE;
+
+    /**
+     * Converte o método HTTP da requisição no acesso correspondente.
+     *
+     * @param method método HTTP (GET, POST, PUT, PATCH, DELETE...)
+     * @return o acesso correspondente ou {@code null} se o método não for mapeado
+     */
+    public static Acesso fromHttpMethod(String method) {
+        return switch (method) {
+            case "GET", "HEAD", "OPTIONS" -> READ;
+            case "POST" -> WRITE;
+            case "PUT", "PATCH" -> UPDATE;
+            case "DELETE" -> DELETE;
+            default -> null;
+        };
+    }
 }
\ No newline at end of file
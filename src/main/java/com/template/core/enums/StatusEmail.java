@@ -0,0 +1,23 @@
+package com.template.core.enums;
+
+/**
+ * Representa as situações de um email na fila de envio (outbox).
+ */
+public enum StatusEmail {
+
+    /**
+     * Aguardando o envio ou uma nova tentativa.
+     */
+    PENDENTE,
+
+    /**
+     * Enviado ao servidor SMTP.
+     */
+    ENVIADO,
+
+    /**
+     * Descartado após esgotar as tentativas de envio (dead-letter).
+     * Permanece na tabela com o último erro para análise e reenvio manual.
+     */
+    FALHA
+}
@@ -0,0 +1,36 @@
+package com.template.core.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evento publicado quando dados pessoais são incluídos, alterados ou excluídos.
+ *
+ * @param ids       IDs dos registros alterados, ou {@code null} quando a alteração é por intervalo.
+ * @param idInicial Primeiro ID do intervalo alterado.
+ * @param idFinal   Último ID do intervalo alterado.
+ */
+public record DadosPessoaisAlteradosEvent(Collection<Long> ids, Long idInicial, Long idFinal) {
+
+    /**
+     * Cria o evento para os registros informados.
+     *
+     * @param ids IDs dos registros alterados
+     * @return o evento
+     */
+    public static DadosPessoaisAlteradosEvent of(Collection<Long> ids) {
+        return new DadosPessoaisAlteradosEvent(List.copyOf(ids), null, null);
+    }
+
+    /**
+     * Cria o evento para um intervalo de IDs.
+     *
+     * @param idInicial primeiro ID do intervalo
+     * @param idFinal   último ID do intervalo
+     * @return o evento
+     */
+    public static DadosPessoaisAlteradosEvent of(Long idInicial, Long idFinal) {
+        return new DadosPessoaisAlteradosEvent(null, idInicial, idFinal);
+    }
+
+}
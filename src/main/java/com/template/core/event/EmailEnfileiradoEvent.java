@@ -0,0 +1,12 @@
+package com.template.core.event;
+
+/**
+ * Evento publicado quando uma mensagem e os seus destinatários são gravados na fila de envio. Após a confirmação da
+ * transação, acorda o {@link com.template.core.config.EmailOutboxWorker} para que o envio não aguarde a próxima
+ * verificação periódica.
+ *
+ * @param id ID da mensagem.
+ */
+public record EmailEnfileiradoEvent(Long id) {
+
+}
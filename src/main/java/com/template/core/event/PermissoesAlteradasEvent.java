@@ -0,0 +1,10 @@
+package com.template.core.event;
+
+/**
+ * Evento publicado quando roles, rotas, grupos de acesso ou permissões são alterados.
+ *
+ * @param origem Descrição da operação que originou a alteração.
+ */
+public record PermissoesAlteradasEvent(String origem) {
+
+}
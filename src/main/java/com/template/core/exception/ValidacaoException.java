@@ -0,0 +1,20 @@
+package com.template.core.exception;
+
+/**
+ * Exceção lançada quando um valor informado na requisição é inválido (ex.: CPF/CNPJ, template ou anexo de email).
+ * <p>
+ * É a única {@link IllegalArgumentException} respondida com 400 pelo {@code AdviceExceptionController}; as demais
+ * indicam erros internos e são respondidas com 500.
+ */
+public class ValidacaoException extends IllegalArgumentException {
+
+    /**
+     * Cria a exceção.
+     *
+     * @param message descrição do valor inválido
+     */
+    public ValidacaoException(String message) {
+        super(message);
+    }
+
+}
@@ -1,14 +1,23 @@
 package com.template.core.repository;
 
+import com.template.core.dto.DadosPessoaisResumoDTO;
 import com.template.core.entity.DadosPessoais;
+import com.template.core.util.exportacao.Exportacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para entidade DadosPessoais.
@@ -16,8 +25,46 @@ import java.util.Optional;
 @Repository
 public interface DadosPessoaisRepository extends JpaRepository<DadosPessoais, Long> {
 
+    /**
+     * Carga inicial: indica se há algum registro, com uma consulta limitada a uma linha em vez da contagem da tabela.
+     */
+    boolean existsByIdNotNull();
+
+    /**
+     * Listagem por cursor: dados pessoais com ID maior que o informado, ordenados pelo ID e sem consulta de contagem.
+     */
+    List<DadosPessoais> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Exportação: todos os dados pessoais, ordenados pelo ID, lidos pelo cursor em blocos de
+     * {@link Exportacao#FETCH_SIZE} linhas.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Exportacao.FETCH_SIZE))
+    Stream<DadosPessoais> streamAllByOrderByIdAsc();
+
+    /**
+     * Carga do índice de busca por prefixo: todos os dados pessoais, apenas com os campos indexados, lidos pelo cursor em
+     * blocos de {@link Exportacao#FETCH_SIZE} linhas.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Exportacao.FETCH_SIZE))
+    @Query(value = "SELECT                                                                                           " +
+            "           new com.template.core.dto.DadosPessoaisResumoDTO(dp.id, dp.nome, dp.cpfCnpj, dp.ativo)    " +
+            "       FROM                                                                                          " +
+            "           DadosPessoais dp                                                                          ")
+    Stream<DadosPessoaisResumoDTO> streamResumos();
+
+    @Query(value = "SELECT                                                                                           " +
+            "           new com.template.core.dto.DadosPessoaisResumoDTO(dp.id, dp.nome, dp.cpfCnpj, dp.ativo)    " +
+            "       FROM                                                                                          " +
+            "           DadosPessoais dp                                                                          " +
+            "       WHERE                                                                                         " +
+            "           dp.id IN :ids                                                                             ")
+    List<DadosPessoaisResumoDTO> findResumosByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<DadosPessoais> findByCpfCnpj(String cpfCnpj);
 
+    List<DadosPessoais> findAllByCpfCnpjInAndAtivoTrue(Collection<String> cpfCnpjs);
+
     @Modifying
     @Transactional
     @Query(value = "UPDATE                  " +
@@ -28,4 +75,26 @@ public interface DadosPessoaisRepository extends JpaRepository<DadosPessoais, Lo
             "           dp.id = :id         ")
     void setInativo(@Param("id") Long id);
 
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                        " +
+            "           DadosPessoais dp          " +
+            "       SET                           " +
+            "           dp.ativo = :ativo         " +
+            "       WHERE                         " +
+            "           dp.id IN :ids             " +
+            "           AND dp.ativo <> :ativo    ")
+    int setAtivoByIdIn(@Param("ids") Collection<Long> ids, @Param("ativo") boolean ativo);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                                       " +
+            "           DadosPessoais dp                         " +
+            "       SET                                          " +
+            "           dp.ativo = :ativo                        " +
+            "       WHERE                                        " +
+            "           dp.id BETWEEN :idInicial AND :idFinal    " +
+            "           AND dp.ativo <> :ativo                   ")
+    int setAtivoByIdBetween(@Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal, @Param("ativo") boolean ativo);
+
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.template.core.repository;
+
+import com.template.core.entity.EmailMensagem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository para entidade EmailMensagem.
+ */
+@Repository
+public interface EmailMensagemRepository extends JpaRepository<EmailMensagem, Long> {
+}
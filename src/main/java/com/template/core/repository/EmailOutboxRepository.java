@@ -0,0 +1,108 @@
+package com.template.core.repository;
+
+import com.template.core.dto.QuantidadePorStatusDTO;
+import com.template.core.entity.EmailOutbox;
+import com.template.core.enums.StatusEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository para entidade EmailOutbox.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Reserva de envio: emails ativos na situação informada cuja próxima tentativa já venceu, pela ordem da próxima
+     * tentativa. As linhas são bloqueadas com {@code FOR UPDATE SKIP LOCKED} (timeout de lock -2 no Hibernate): as
+     * linhas já bloqueadas por outra instância são ignoradas em vez de aguardadas. Usa o índice parcial
+     * {@code ix_email_outbox_pendentes}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    List<EmailOutbox> findByStatusAndAtivoTrueAndProximaTentativaLessThanEqualOrderByProximaTentativaAsc(StatusEmail status, Instant agora, Limit limit);
+
+    /**
+     * Envio em massa: grava um email pendente para cada destinatário distinto da lista, em uma única instrução. Os IDs
+     * são obtidos com {@code nextval}, como as inserções fora do Hibernate devem fazer.
+     *
+     * @return a quantidade de emails gravados
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO                                                                                                 " +
+            "           email_outbox (id, tx_destinatario, tp_status, nu_tentativas, dt_proxima_tentativa, dt_criacao,          " +
+            "                         bl_ativo, mensagem_id)                                                                    " +
+            "       SELECT                                                                                                      " +
+            "           nextval('email_outbox_seq'), d.email, 'PENDENTE', 0, :agora, :agora, true, :mensagemId                  " +
+            "       FROM                                                                                                        " +
+            "           (SELECT DISTINCT LOWER(TRIM(email)) AS email FROM unnest(CAST(:destinatarios AS text[])) AS email) d    " +
+            "       WHERE                                                                                                       " +
+            "           d.email <> ''                                                                                           ", nativeQuery = true)
+    int insertDestinatarios(@Param("mensagemId") Long mensagemId, @Param("destinatarios") String[] destinatarios, @Param("agora") Instant agora);
+
+    /**
+     * Envio em massa: grava um email pendente para cada user ativo com alguma das roles ativas informadas, em uma única
+     * instrução.
+     *
+     * @return a quantidade de emails gravados
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO                                                                                           " +
+            "           email_outbox (id, tx_destinatario, tp_status, nu_tentativas, dt_proxima_tentativa, dt_criacao,    " +
+            "                         bl_ativo, mensagem_id)                                                              " +
+            "       SELECT                                                                                                " +
+            "           nextval('email_outbox_seq'), u.tx_email, 'PENDENTE', 0, :agora, :agora, true, :mensagemId         " +
+            "       FROM                                                                                                  " +
+            "           users u                                                                                           " +
+            "       WHERE                                                                                                 " +
+            "           u.bl_ativo                                                                                        " +
+            "           AND EXISTS (SELECT 1 FROM users_roles ur JOIN roles r ON r.id = ur.roles_id                       " +
+            "                       WHERE ur.user_id = u.id AND r.bl_ativo AND r.tx_nome IN (:roles))                     ", nativeQuery = true)
+    int insertUsersByRoles(@Param("mensagemId") Long mensagemId, @Param("roles") Collection<String> roles, @Param("agora") Instant agora);
+
+    /**
+     * Registro dos envios concluídos, agrupados em uma única instrução.
+     *
+     * @return a quantidade de emails atualizados
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                                                         " +
+            "           EmailOutbox e                                              " +
+            "       SET                                                            " +
+            "           e.status = com.template.core.enums.StatusEmail.ENVIADO,    " +
+            "           e.dataEnvio = :dataEnvio,                                  " +
+            "           e.ultimoErro = null                                        " +
+            "       WHERE                                                          " +
+            "           e.id IN :ids                                               ")
+    int updateEnviadosByIdIn(@Param("ids") Collection<Long> ids, @Param("dataEnvio") Instant dataEnvio);
+
+    /**
+     * Progresso de um envio: quantidade de emails da mensagem em cada situação. Usa o índice
+     * {@code ix_email_outbox_mensagem}.
+     */
+    @Query(value = "SELECT                                                                      " +
+            "           new com.template.core.dto.QuantidadePorStatusDTO(e.status, COUNT(e))    " +
+            "       FROM                                                                        " +
+            "           EmailOutbox e                                                           " +
+            "       WHERE                                                                       " +
+            "           e.mensagem.id = :mensagemId                                             " +
+            "       GROUP BY                                                                    " +
+            "           e.status                                                                ")
+    List<QuantidadePorStatusDTO> countByMensagemGroupByStatus(@Param("mensagemId") Long mensagemId);
+
+}
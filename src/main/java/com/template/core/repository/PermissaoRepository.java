@@ -1,6 +1,7 @@
 package com.template.core.repository;
 
 import com.template.core.entity.Permissao;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,7 +9,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository para entidade Permissao.
@@ -16,8 +20,25 @@ import java.util.Optional;
 @Repository
 public interface PermissaoRepository extends JpaRepository<Permissao, Long> {
 
+    /**
+     * Listagem por cursor: permissões com ID maior que o informado, ordenadas pelo ID e sem consulta de contagem.
+     */
+    List<Permissao> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     Optional<Permissao> findByEndpoint(String endpoint);
 
+    /**
+     * Endpoints de todas as permissões, ativas ou não, para a sincronização com os endpoints dos controllers na
+     * inicialização.
+     */
+    @Query(value = "SELECT             " +
+            "           p.endpoint     " +
+            "       FROM               " +
+            "           Permissao p    ")
+    Set<String> findAllEndpoints();
+
+    List<Permissao> findAllByAtivoTrue();
+
     @Modifying
     @Transactional
     @Query(value = "UPDATE              " +
@@ -28,4 +49,26 @@ public interface PermissaoRepository extends JpaRepository<Permissao, Long> {
             "           p.id = :id      ")
     void setInativo(@Param("id") Long id);
 
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                       " +
+            "           Permissao p              " +
+            "       SET                          " +
+            "           p.ativo = :ativo         " +
+            "       WHERE                        " +
+            "           p.id IN :ids             " +
+            "           AND p.ativo <> :ativo    ")
+    int setAtivoByIdIn(@Param("ids") Collection<Long> ids, @Param("ativo") boolean ativo);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                                      " +
+            "           Permissao p                             " +
+            "       SET                                         " +
+            "           p.ativo = :ativo                        " +
+            "       WHERE                                       " +
+            "           p.id BETWEEN :idInicial AND :idFinal    " +
+            "           AND p.ativo <> :ativo                   ")
+    int setAtivoByIdBetween(@Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal, @Param("ativo") boolean ativo);
+
 }
\ No newline at end of file
@@ -1,19 +1,76 @@
 package com.template.core.repository;
 
 import com.template.core.entity.Produto;
+import com.template.core.util.exportacao.Exportacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Repository para entidade Produto.
  */
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
+    /**
+     * Listagem por cursor: produtos com ID maior que o informado, ordenados pelo ID e sem consulta de contagem.
+     */
+    List<Produto> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Exportação: todos os produtos, ordenados pelo ID, lidos pelo cursor em blocos de
+     * {@link Exportacao#FETCH_SIZE} linhas.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Exportacao.FETCH_SIZE))
+    Stream<Produto> streamAllByOrderByIdAsc();
+
+    /**
+     * Busca por trecho e por similaridade da descrição, exclusiva do PostgreSQL (pg_trgm). Retorna primeiro os produtos
+     * cuja descrição contém o termo e em seguida os de descrição semelhante (operador {@code <%}, tolerante a erros de
+     * digitação). As duas partes são ordenadas pela relevância: a descrição que começa com o termo, a similaridade do
+     * termo com a palavra mais próxima ({@code word_similarity}) e a similaridade com a descrição inteira, que favorece
+     * as descrições mais curtas. A segunda parte só é executada se a primeira não preencher o limite, e ambas usam o
+     * índice de trigramas {@code ix_produtos_descricao_trgm}.
+     */
+    @Query(value = "(SELECT                                                            " +
+            "           p.id, p.tx_descricao, p.bl_ativo                               " +
+            "       FROM                                                               " +
+            "           produtos p                                                     " +
+            "       WHERE                                                              " +
+            "           p.tx_descricao LIKE '%' || UPPER(:termoLike) || '%'            " +
+            "           AND (p.bl_ativo OR NOT :apenasAtivos)                          " +
+            "       ORDER BY                                                           " +
+            "           p.tx_descricao LIKE UPPER(:termoLike) || '%' DESC,             " +
+            "           word_similarity(UPPER(:termo), p.tx_descricao) DESC,           " +
+            "           similarity(UPPER(:termo), p.tx_descricao) DESC, p.id           " +
+            "       LIMIT :size)                                                       " +
+            "       UNION ALL                                                          " +
+            "       (SELECT                                                            " +
+            "           p.id, p.tx_descricao, p.bl_ativo                               " +
+            "       FROM                                                               " +
+            "           produtos p                                                     " +
+            "       WHERE                                                              " +
+            "           UPPER(:termo) <% p.tx_descricao                                " +
+            "           AND p.tx_descricao NOT LIKE '%' || UPPER(:termoLike) || '%'    " +
+            "           AND (p.bl_ativo OR NOT :apenasAtivos)                          " +
+            "       ORDER BY                                                           " +
+            "           word_similarity(UPPER(:termo), p.tx_descricao) DESC,           " +
+            "           similarity(UPPER(:termo), p.tx_descricao) DESC, p.id           " +
+            "       LIMIT :size)                                                       " +
+            "       LIMIT :size                                                        ", nativeQuery = true)
+    List<Produto> search(@Param("termo") String termo, @Param("termoLike") String termoLike, @Param("apenasAtivos") boolean apenasAtivos, @Param("size") int size);
+
     @Modifying
     @Transactional
     @Query(value = "UPDATE              " +
@@ -24,4 +81,26 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
             "           p.id = :id      ")
     void setInativo(@Param("id") Long id);
 
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                       " +
+            "           Produto p                " +
+            "       SET                          " +
+            "           p.ativo = :ativo         " +
+            "       WHERE                        " +
+            "           p.id IN :ids             " +
+            "           AND p.ativo <> :ativo    ")
+    int setAtivoByIdIn(@Param("ids") Collection<Long> ids, @Param("ativo") boolean ativo);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                                      " +
+            "           Produto p                               " +
+            "       SET                                         " +
+            "           p.ativo = :ativo                        " +
+            "       WHERE                                       " +
+            "           p.id BETWEEN :idInicial AND :idFinal    " +
+            "           AND p.ativo <> :ativo                   ")
+    int setAtivoByIdBetween(@Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal, @Param("ativo") boolean ativo);
+
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.template.core.repository;
 
 import com.template.core.entity.Role;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +10,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,6 +22,37 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
 
     Optional<Role> findByNome(String nome);
 
+    /**
+     * Carga inicial: indica se há algum registro, com uma consulta limitada a uma linha em vez da contagem da tabela.
+     */
+    boolean existsByIdNotNull();
+
+    List<Role> findAllByAtivoTrue();
+
+    /**
+     * Roles ativas com o grafo de autorização completo, utilizado na compilação das permissões.
+     */
+    @EntityGraph(attributePaths = {"grupoAcesso.rota.permissoes", "grupoAcesso.acessos"})
+    List<Role> findAllAcessosByAtivoTrue();
+
+    /**
+     * Listagem por cursor: roles com ID maior que o informado, sem consulta de contagem; o grafo de autorização é
+     * carregado por {@link #findAllByIdIn}.
+     */
+    List<Role> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Grafo de autorização das roles de uma página da listagem, em uma única consulta.
+     */
+    @EntityGraph(attributePaths = {"grupoAcesso.rota.permissoes", "grupoAcesso.acessos"})
+    List<Role> findAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Detalhe: role com o grafo de autorização completo.
+     */
+    @EntityGraph(attributePaths = {"grupoAcesso.rota.permissoes", "grupoAcesso.acessos"})
+    Optional<Role> findDetalheById(Long id);
+
     @Modifying
     @Transactional
     @Query(value = "UPDATE              " +
@@ -28,4 +63,26 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
             "           r.id = :id      ")
     void setInativo(@Param("id") Long id);
 
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                       " +
+            "           Role r                   " +
+            "       SET                          " +
+            "           r.ativo = :ativo         " +
+            "       WHERE                        " +
+            "           r.id IN :ids             " +
+            "           AND r.ativo <> :ativo    ")
+    int setAtivoByIdIn(@Param("ids") Collection<Long> ids, @Param("ativo") boolean ativo);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                                      " +
+            "           Role r                                  " +
+            "       SET                                         " +
+            "           r.ativo = :ativo                        " +
+            "       WHERE                                       " +
+            "           r.id BETWEEN :idInicial AND :idFinal    " +
+            "           AND r.ativo <> :ativo                   ")
+    int setAtivoByIdBetween(@Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal, @Param("ativo") boolean ativo);
+
 }
\ No newline at end of file
@@ -1,19 +1,71 @@
 package com.template.core.repository;
 
 import com.template.core.entity.User;
+import com.template.core.util.exportacao.Exportacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
 /**
  * Repository para entidade User.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Carga inicial: indica se há algum registro, com uma consulta limitada a uma linha em vez da contagem da tabela.
+     */
+    boolean existsByIdNotNull();
+
+    /**
+     * Listagem: users com os dados pessoais; as roles da página são carregadas por {@link #findAllByIdIn}.
+     */
+    @EntityGraph(attributePaths = "dadosPessoais")
+    @Override
+    Page<User> findAll(Pageable pageable);
+
+    /**
+     * Listagem por cursor: users com ID maior que o informado e os dados pessoais, sem consulta de contagem; as roles
+     * são carregadas por {@link #findAllByIdIn}.
+     */
+    @EntityGraph(attributePaths = "dadosPessoais")
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Exportação: todos os users, ordenados pelo ID, lidos pelo cursor em blocos de {@link Exportacao#FETCH_SIZE} linhas,
+     * sem carregar as roles e os dados pessoais.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Exportacao.FETCH_SIZE))
+    Stream<User> streamAllByOrderByIdAsc();
+
+    /**
+     * Roles dos users de uma página da listagem, em uma única consulta.
+     */
+    @EntityGraph(attributePaths = "roles")
+    List<User> findAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Detalhe: user com os dados pessoais e o grafo de autorização completo das roles.
+     */
+    @EntityGraph(attributePaths = {"dadosPessoais", "roles.grupoAcesso.rota.permissoes", "roles.grupoAcesso.acessos"})
+    Optional<User> findDetalheById(Long id);
+
     @Modifying
     @Transactional
     @Query(value = "UPDATE              " +
@@ -24,4 +76,66 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "           u.id = :id      ")
     void setInativo(@Param("id") Long id);
 
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                       " +
+            "           User u                   " +
+            "       SET                          " +
+            "           u.ativo = :ativo         " +
+            "       WHERE                        " +
+            "           u.id IN :ids             " +
+            "           AND u.ativo <> :ativo    ")
+    int setAtivoByIdIn(@Param("ids") Collection<Long> ids, @Param("ativo") boolean ativo);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                                      " +
+            "           User u                                  " +
+            "       SET                                         " +
+            "           u.ativo = :ativo                        " +
+            "       WHERE                                       " +
+            "           u.id BETWEEN :idInicial AND :idFinal    " +
+            "           AND u.ativo <> :ativo                   ")
+    int setAtivoByIdBetween(@Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal, @Param("ativo") boolean ativo);
+
+    /**
+     * Autorização: user ativo com as roles.
+     */
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findByUsernameAndAtivoTrue(String username);
+
+    @Query(value = "SELECT                          " +
+            "           u.username                  " +
+            "       FROM                            " +
+            "           User u                      " +
+            "       WHERE                           " +
+            "           u.username IN :usernames    ")
+    Set<String> findUsernamesIn(@Param("usernames") Collection<String> usernames);
+
+    @Query(value = "SELECT                          " +
+            "           u.email                     " +
+            "       FROM                            " +
+            "           User u                      " +
+            "       WHERE                           " +
+            "           u.email IN :emails          ")
+    Set<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+    @Query(value = "SELECT                                  " +
+            "           u.dadosPessoais.cpfCnpj             " +
+            "       FROM                                    " +
+            "           User u                              " +
+            "       WHERE                                   " +
+            "           u.dadosPessoais.cpfCnpj IN :cpfCnpjs ")
+    Set<String> findCpfCnpjsVinculadosIn(@Param("cpfCnpjs") Collection<String> cpfCnpjs);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE                          " +
+            "           User u                      " +
+            "       SET                             " +
+            "           u.password = :password      " +
+            "       WHERE                           " +
+            "           u.id = :id                  ")
+    void updatePassword(@Param("id") Long id, @Param("password") String password);
+
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.template.core.service;
+
+import com.template.core.config.CacheConfig;
+import com.template.core.entity.GrupoAcesso;
+import com.template.core.entity.Permissao;
+import com.template.core.entity.Role;
+import com.template.core.event.PermissoesAlteradasEvent;
+import com.template.core.repository.PermissaoRepository;
+import com.template.core.repository.RoleRepository;
+import com.template.core.util.cache.CacheInvalidationBus;
+import com.template.core.util.jpa.FiltroAtivo;
+import com.template.core.util.security.RoutePermissionMatcher;
+import com.template.core.util.security.RoutePermissionRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Serviço de autorização em memória baseado no grafo Role → GrupoAcesso → Rota → Permissao.
+ * <p>
+ * As permissões ativas são compiladas em um {@link RoutePermissionMatcher}, recompilado e publicado no
+ * {@link RoutePermissionRegistry} sempre que roles ou permissões são alteradas, evitando consultas ao banco a cada
+ * requisição. As alterações feitas em outra instância chegam pelo {@link CacheInvalidationBus} com o nome
+ * {@link #PERMISSOES}.
+ */
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class AutorizacaoService {
+    public static final String PERMISSOES = "permissoes-rotas";
+
+    private final RoleRepository roleRepository;
+    private final PermissaoRepository permissaoRepository;
+    private final RoutePermissionRegistry registry;
+    private final EntityManager entityManager;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Registra a recompilação das permissões pelas alterações feitas nas demais instâncias. Os caches de roles e users
+     * dessas instâncias já são limpos pela invalidação dos próprios caches.
+     */
+    @PostConstruct
+    public void registrarInvalidacao() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        cacheInvalidationBus.register(PERMISSOES, _ -> transactionTemplate.executeWithoutResult(_ -> rebuild()));
+    }
+
+    /**
+     * Compila as permissões quando a aplicação estiver pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Recompila as permissões após a confirmação da transação que as alterou. Os caches de roles e users são
+     * esvaziados, pois ambos guardam o grafo de autorização.
+     *
+     * @param event evento de alteração das permissões
+     */
+    @CacheEvict(cacheNames = {CacheConfig.ROLES, CacheConfig.USERS}, allEntries = true)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPermissoesAlteradas(PermissoesAlteradasEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Compila as permissões e roles ativas e substitui o matcher publicado no registry. O {@link FiltroAtivo} descarta
+     * no SQL os grupos de acesso e as permissões inativas do grafo carregado.
+     */
+    private synchronized void rebuild() {
+        RoutePermissionMatcher.Builder builder = new RoutePermissionMatcher.Builder();
+        permissaoRepository.findAllByAtivoTrue().forEach(permissao -> builder.route(permissao.getEndpoint()));
+        FiltroAtivo.aplicar(entityManager, roleRepository::findAllAcessosByAtivoTrue).forEach(role -> grant(builder, role));
+        registry.replace(builder.build());
+    }
+
+    /**
+     * Concede à role os acessos dos seus grupos de acesso. A rota é uma associação to-one e não é restringida pelo
+     * filtro, por isso a sua situação é verificada aqui.
+     */
+    private void grant(RoutePermissionMatcher.Builder builder, Role role) {
+        for (GrupoAcesso grupo : Objects.requireNonNullElse(role.getGrupoAcesso(), Set.<GrupoAcesso>of())) {
+            if (grupo.getRota().isAtivo()) {
+                for (Permissao permissao : grupo.getRota().getPermissoes()) {
+                    grupo.getAcessos().forEach(acesso -> builder.grant(permissao.getEndpoint(), role.getNome(), acesso));
+                }
+            }
+        }
+    }
+
+}
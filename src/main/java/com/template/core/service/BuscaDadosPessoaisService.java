@@ -0,0 +1,174 @@
+package com.template.core.service;
+
+import com.template.core.dto.DadosPessoaisResumoDTO;
+import com.template.core.dto.PrefixoRequestDTO;
+import com.template.core.event.DadosPessoaisAlteradosEvent;
+import com.template.core.repository.DadosPessoaisRepository;
+import com.template.core.util.busca.IndiceDadosPessoais;
+import com.template.core.util.cache.CacheInvalidation;
+import com.template.core.util.cache.CacheInvalidationBus;
+import com.template.core.util.jpa.AtualizacaoEmLote;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de busca por prefixo (typeahead) dos dados pessoais pelo nome e pelo CPF/CNPJ.
+ * <p>
+ * As consultas são respondidas pelo {@link IndiceDadosPessoais}, carregado quando a aplicação estiver pronta e atualizado
+ * pelos registros alterados após a confirmação de cada transação do {@link DadosPessoaisService}. As alterações são
+ * publicadas no {@link CacheInvalidationBus} para que as demais instâncias atualizem os seus índices. As recargas, pedidas
+ * pelas alterações por intervalo ou pelas demais instâncias, e as reconstruções do índice são executadas em uma thread
+ * dedicada, sem ocupar a thread da requisição nem a do barramento.
+ */
+@RequiredArgsConstructor
+@Service
+@Slf4j
+@Transactional
+public class BuscaDadosPessoaisService {
+    public static final String INDICE = "indice-dados-pessoais";
+
+    private final DadosPessoaisRepository repository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(threadFactory());
+    private final IndiceDadosPessoais indice = new IndiceDadosPessoais(executor);
+    private final AtomicBoolean recargaPendente = new AtomicBoolean();
+    private TransactionTemplate leitura;
+
+    /**
+     * Registra a atualização do índice pelas alterações feitas nas demais instâncias: o registro alterado é relido do
+     * banco e, para alterações por intervalo ou após a reconexão do transporte, o índice é recarregado na thread
+     * dedicada.
+     */
+    @PostConstruct
+    public void registrarInvalidacao() {
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        cacheInvalidationBus.register(INDICE, invalidation -> {
+            if (invalidation.isAll()) {
+                agendarRecarga();
+            } else {
+                leitura.executeWithoutResult(_ -> atualizar(List.of(invalidation.id())));
+            }
+        });
+    }
+
+    /**
+     * Encerra a thread de recarga e reconstrução do índice.
+     */
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Carrega o índice quando a aplicação estiver pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        carregar();
+    }
+
+    /**
+     * Atualiza o índice com os registros alterados após a confirmação da transação que os alterou, e publica a alteração
+     * para as demais instâncias: por ID, ou como recarga completa para intervalos e listas com mais de
+     * {@link AtualizacaoEmLote#TAMANHO_BLOCO} IDs. Os intervalos não são lidos na thread da requisição: o índice é
+     * recarregado na thread dedicada.
+     *
+     * @param event os IDs ou o intervalo de IDs alterados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onDadosPessoaisAlterados(DadosPessoaisAlteradosEvent event) {
+        if (event.ids() != null) {
+            atualizar(event.ids());
+            if (event.ids().size() <= AtualizacaoEmLote.TAMANHO_BLOCO) {
+                event.ids().forEach(id -> cacheInvalidationBus.publish(new CacheInvalidation(INDICE, id)));
+                return;
+            }
+        } else {
+            agendarRecarga();
+        }
+        cacheInvalidationBus.publish(new CacheInvalidation(INDICE, null));
+    }
+
+    /**
+     * Busca os dados pessoais pelo início do nome, de uma palavra do nome ou do CPF/CNPJ, sem acessar o banco.
+     *
+     * @param prefixoRequestDTO o texto digitado e a quantidade máxima de registros
+     * @return os dados pessoais encontrados, ordenados pela chave encontrada
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<DadosPessoaisResumoDTO> typeahead(PrefixoRequestDTO prefixoRequestDTO) {
+        return indice.buscar(prefixoRequestDTO.termo(), prefixoRequestDTO.size(), prefixoRequestDTO.apenasAtivos());
+    }
+
+    /**
+     * Recarrega todos os registros do índice.
+     */
+    public void carregar() {
+        long inicio = System.nanoTime();
+        try (Stream<DadosPessoaisResumoDTO> resumos = repository.streamResumos()) {
+            indice.carregar(resumos);
+        }
+        log.info("Índice de busca dos dados pessoais carregado: {} registros em {} ms.", indice.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Relê do banco os registros informados, em blocos de {@link AtualizacaoEmLote#TAMANHO_BLOCO} IDs, e os atualiza no
+     * índice; os que não existem mais são removidos.
+     *
+     * @param ids IDs dos registros alterados
+     */
+    public void atualizar(Collection<Long> ids) {
+        Set<Long> removidos = new HashSet<>(ids);
+        AtualizacaoEmLote.executar(ids, bloco -> {
+            List<DadosPessoaisResumoDTO> resumos = repository.findResumosByIdIn(bloco);
+            resumos.forEach(resumo -> removidos.remove(resumo.id()));
+            resumos.forEach(indice::atualizar);
+            return resumos.size();
+        });
+        removidos.forEach(indice::remover);
+    }
+
+    /**
+     * Agenda a recarga do índice na thread dedicada. Pedidos recebidos enquanto outra recarga ainda não começou são
+     * atendidos por ela, que lê o banco depois de todos eles.
+     */
+    private void agendarRecarga() {
+        if (recargaPendente.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                recargaPendente.set(false);
+                leitura.executeWithoutResult(_ -> carregar());
+            });
+        }
+    }
+
+    private static CustomizableThreadFactory threadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("indice-dados-pessoais-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+}
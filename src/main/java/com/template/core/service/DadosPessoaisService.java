@@ -1,15 +1,43 @@
 package com.template.core.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.core.config.CacheConfig;
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.CpfCnpjValidacaoDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.DadosPessoaisPatchDTO;
 import com.template.core.entity.DadosPessoais;
+import com.template.core.event.DadosPessoaisAlteradosEvent;
+import com.template.core.exception.ValidacaoException;
 import com.template.core.repository.DadosPessoaisRepository;
+import com.template.core.util.documento.CpfCnpj;
+import com.template.core.util.exportacao.ColunaExportacao;
+import com.template.core.util.exportacao.EscritorExportacao;
+import com.template.core.util.exportacao.Exportacao;
+import com.template.core.util.jpa.AtualizacaoEmLote;
+import com.template.core.util.jpa.FiltroAtivo;
+import com.template.core.util.jpa.PartialUpdate;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.MessageFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Serviço para manipulação de dados pessoais.
@@ -18,39 +46,117 @@ import java.text.MessageFormat;
 @Service
 @Transactional
 public class DadosPessoaisService {
+    /**
+     * CPF fictício, porém válido, dos dados pessoais do ADMIN.
+     */
+    public static final String CPF_CNPJ_ADMIN = "52998224725";
+
+    private static final List<ColunaExportacao<DadosPessoais>> COLUNAS_EXPORTACAO = List.of(
+            new ColunaExportacao<>("id", DadosPessoais::getId),
+            new ColunaExportacao<>("nome", DadosPessoais::getNome),
+            new ColunaExportacao<>("cpfCnpj", DadosPessoais::getCpfCnpj),
+            new ColunaExportacao<>("ativo", DadosPessoais::isAtivo)
+    );
+
     private final DadosPessoaisRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher publisher;
 
     /**
      * Busca os dados pessoais pelo ID.
      *
      * @param id o ID dos dados pessoais a ser buscado
+     * @param apenasAtivos se apenas um registro ativo deve ser retornado
      * @return os dados pessoais encontrados
      * @throws EntityNotFoundException se os dados pessoais não forem encontrados
      */
-    public DadosPessoais findById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Dados pessoais não encontrados"));
+    @Cacheable(cacheNames = CacheConfig.DADOS_PESSOAIS, key = "#id", condition = "!#apenasAtivos")
+    public DadosPessoais findById(Long id, boolean apenasAtivos) {
+        return repository.findById(id).filter(dadosPessoais -> !apenasAtivos || dadosPessoais.isAtivo()).orElseThrow(() -> new EntityNotFoundException("Dados pessoais não encontrados"));
     }
 
     /**
      * Retorna uma página de dados pessoais.
      *
      * @param pageable informações de paginação
+     * @param apenasAtivos se apenas os registros ativos devem ser retornados
      * @return a página de dados pessoais
      */
-    public Page<DadosPessoais> findAll(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<DadosPessoais> findAll(Pageable pageable, boolean apenasAtivos) {
+        return FiltroAtivo.aplicar(entityManager, apenasAtivos, () -> repository.findAll(pageable));
+    }
+
+    /**
+     * Retorna uma página de dados pessoais por cursor (keyset), buscando pelo índice do ID a partir do último registro da página
+     * anterior, sem OFFSET e sem consulta de contagem.
+     *
+     * @param cursorRequestDTO cursor e tamanho da página
+     * @return a página de dados pessoais com o token da próxima página
+     */
+    public CursorPageDTO<DadosPessoais> findAll(CursorRequestDTO cursorRequestDTO) {
+        return FiltroAtivo.aplicar(entityManager, cursorRequestDTO.apenasAtivos(), () -> CursorPageDTO.of(repository.findByIdGreaterThanOrderByIdAsc(cursorRequestDTO.afterId(), Limit.of(cursorRequestDTO.size() + 1)), cursorRequestDTO.size(), DadosPessoais::getId));
+    }
+
+    /**
+     * Exporta os dados pessoais em NDJSON ou CSV, escrevendo-os na resposta à medida que são lidos do banco, ordenados pelo ID,
+     * sem paginação e sem consulta de contagem.
+     *
+     * @param formato      cabeçalho Accept da requisição, {@code text/csv} ou NDJSON
+     * @param apenasAtivos se apenas os registros ativos devem ser exportados
+     * @param outputStream corpo da resposta
+     * @return a quantidade de dados pessoais exportados
+     * @throws IOException se ocorrer um erro na escrita, inclusive pelo encerramento da conexão pelo cliente
+     */
+    @Transactional(readOnly = true)
+    public long export(String formato, boolean apenasAtivos, OutputStream outputStream) throws IOException {
+        EscritorExportacao<DadosPessoais> escritor = EscritorExportacao.of(formato, outputStream, objectMapper, COLUNAS_EXPORTACAO);
+        try (Stream<DadosPessoais> dadosPessoais = FiltroAtivo.aplicar(entityManager, apenasAtivos, repository::streamAllByOrderByIdAsc)) {
+            return Exportacao.executar(entityManager, dadosPessoais, escritor);
+        }
+    }
+
+    /**
+     * Valida e normaliza um lote de CPFs/CNPJs, sem acessar o banco.
+     *
+     * @param documentos CPFs ou CNPJs, com ou sem pontuação
+     * @return os documentos normalizados, na ordem do lote, e a quantidade de inválidos
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CpfCnpjValidacaoDTO validaCpfCnpj(List<String> documentos) {
+        List<String> normalizados = CpfCnpj.normalizar(documentos);
+        return new CpfCnpjValidacaoDTO(normalizados, normalizados.stream().filter(Objects::isNull).count());
     }
 
     /**
      * Salva os dados pessoais.
      *
      * @param dadosPessoais os dados pessoais a serem salvos
-     * @return os dados pessoais salvos
+     * @return os dados pessoais salvos, com o CPF/CNPJ normalizado
      * @throws IllegalStateException se os dados pessoais já possui um ID atribuído
+     * @throws ValidacaoException se o CPF/CNPJ for inválido
      */
     public DadosPessoais save(DadosPessoais dadosPessoais) {
         if (dadosPessoais.getId() == null) {
-            return repository.save(dadosPessoais);
+            return publicaAlteracao(repository.save(normalizaCpfCnpj(dadosPessoais)));
+        }
+
+        throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
+    }
+
+    /**
+     * Salva uma lista de dados pessoais em uma única transação, com os INSERTs enviados em lotes JDBC.
+     *
+     * @param dadosPessoais os dados pessoais a serem salvos
+     * @return os dados pessoais salvos, com os CPFs/CNPJs normalizados
+     * @throws IllegalStateException se algum registro já possui um ID atribuído
+     * @throws ValidacaoException se algum CPF/CNPJ for inválido
+     */
+    public List<DadosPessoais> saveAll(List<DadosPessoais> dadosPessoais) {
+        if (dadosPessoais.stream().allMatch(dados -> dados.getId() == null)) {
+            List<DadosPessoais> salvos = repository.saveAll(dadosPessoais.stream().map(this::normalizaCpfCnpj).toList());
+            publisher.publishEvent(DadosPessoaisAlteradosEvent.of(salvos.stream().map(DadosPessoais::getId).toList()));
+            return salvos;
         }
 
         throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
@@ -60,33 +166,101 @@ public class DadosPessoaisService {
      * Atualiza os dados pessoais.
      *
      * @param dadosPessoais os dados pessoais a serem atualizados
-     * @return os dados pessoais atualizados
+     * @return os dados pessoais atualizados, com o CPF/CNPJ normalizado
      * @throws EntityNotFoundException se os dados pessoais não forem encontrado
+     * @throws ValidacaoException se o CPF/CNPJ for inválido
      */
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.DADOS_PESSOAIS, key = "#dadosPessoais.id"), @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)})
     public DadosPessoais update(DadosPessoais dadosPessoais) {
         if (repository.findById(dadosPessoais.getId()).isPresent()) {
-            return repository.save(dadosPessoais);
+            return publicaAlteracao(repository.save(normalizaCpfCnpj(dadosPessoais)));
         }
 
         throw new EntityNotFoundException(MessageFormat.format("Dados pessoais com ID {0} não encontrado.", dadosPessoais.getId()));
     }
 
+    /**
+     * Atualiza parcialmente os dados pessoais com um único UPDATE contendo apenas os campos informados.
+     *
+     * @param id    o ID dos dados pessoais a serem atualizados
+     * @param patch os campos a serem alterados
+     * @throws EntityNotFoundException se os dados pessoais não forem encontrados
+     * @throws ValidacaoException se o CPF/CNPJ informado for inválido
+     */
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.DADOS_PESSOAIS, key = "#id"), @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)})
+    public void patch(Long id, DadosPessoaisPatchDTO patch) {
+        int updated = PartialUpdate.of(entityManager, DadosPessoais.class)
+                .setUpper("nome", patch.nome())
+                .set("cpfCnpj", patch.cpfCnpj() == null ? null : cpfCnpj(patch.cpfCnpj()))
+                .set("ativo", patch.ativo())
+                .execute(id);
+
+        if (updated == 0) {
+            throw new EntityNotFoundException(MessageFormat.format("Dados pessoais com ID {0} não encontrado.", id));
+        }
+        publisher.publishEvent(DadosPessoaisAlteradosEvent.of(List.of(id)));
+    }
+
     /**
      * Exclui os dados pessoais pelo ID.
      *
      * @param id o ID dos dados pessoais a serem excluídos
      */
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.DADOS_PESSOAIS, key = "#id"), @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)})
     public void deleteById(Long id) {
         repository.setInativo(id);
+        publisher.publishEvent(DadosPessoaisAlteradosEvent.of(List.of(id)));
+    }
+
+    /**
+     * Altera a situação dos dados pessoais informados pelos IDs ou por um intervalo de IDs, com UPDATEs em lote que não carregam
+     * as entidades. Apenas os registros cuja situação muda são alterados.
+     *
+     * @param alteracaoEmLoteDTO os IDs ou o intervalo de IDs
+     * @param ativo              a nova situação
+     * @return a quantidade de registros alterados
+     */
+    @CacheEvict(cacheNames = {CacheConfig.DADOS_PESSOAIS, CacheConfig.USERS}, allEntries = true)
+    public long setAtivo(AlteracaoEmLoteDTO alteracaoEmLoteDTO, boolean ativo) {
+        if (alteracaoEmLoteDTO.ids() != null) {
+            publisher.publishEvent(DadosPessoaisAlteradosEvent.of(alteracaoEmLoteDTO.ids()));
+            return AtualizacaoEmLote.executar(alteracaoEmLoteDTO.ids(), ids -> repository.setAtivoByIdIn(ids, ativo));
+        }
+        publisher.publishEvent(DadosPessoaisAlteradosEvent.of(alteracaoEmLoteDTO.idInicial(), alteracaoEmLoteDTO.idFinal()));
+        return repository.setAtivoByIdBetween(alteracaoEmLoteDTO.idInicial(), alteracaoEmLoteDTO.idFinal(), ativo);
     }
 
     /**
      * Adiciona os dados pessoais do ADMIN no sistema.
      */
     public void addDadosPessoaisAdmin() {
-        if (repository.count() == 0) {
-            repository.save(new DadosPessoais(null, "NOME DO ADMIN", "00000000000", true));
+        if (!repository.existsByIdNotNull()) {
+            publicaAlteracao(repository.save(new DadosPessoais(null, "NOME DO ADMIN", CPF_CNPJ_ADMIN, true)));
         }
     }
 
+    /**
+     * Substitui o CPF/CNPJ dos dados pessoais pelo normalizado, sem pontuação.
+     */
+    private DadosPessoais normalizaCpfCnpj(DadosPessoais dadosPessoais) {
+        dadosPessoais.setCpfCnpj(cpfCnpj(dadosPessoais.getCpfCnpj()));
+        return dadosPessoais;
+    }
+
+    private static String cpfCnpj(String cpfCnpj) {
+        String normalizado = CpfCnpj.normalizar(cpfCnpj);
+        if (normalizado == null) {
+            throw new ValidacaoException(MessageFormat.format("CPF/CNPJ {0} inválido.", cpfCnpj));
+        }
+        return normalizado;
+    }
+
+    /**
+     * Publica a alteração dos dados pessoais, aplicada no índice de busca por prefixo após a confirmação da transação.
+     */
+    private DadosPessoais publicaAlteracao(DadosPessoais dadosPessoais) {
+        publisher.publishEvent(DadosPessoaisAlteradosEvent.of(List.of(dadosPessoais.getId())));
+        return dadosPessoais;
+    }
+
 }
\ No newline at end of file
@@ -1,105 +1,214 @@
 package com.template.core.service;
 
 import com.template.core.dto.EmailDTO;
-import jakarta.mail.*;
-import jakarta.mail.internet.InternetAddress;
-import jakarta.mail.internet.MimeMessage;
+import com.template.core.dto.EmailLoteDTO;
+import com.template.core.dto.EmailProgressoDTO;
+import com.template.core.entity.EmailMensagem;
+import com.template.core.entity.EmailOutbox;
+import com.template.core.enums.StatusEmail;
+import com.template.core.event.EmailEnfileiradoEvent;
+import com.template.core.exception.ValidacaoException;
+import com.template.core.repository.EmailMensagemRepository;
+import com.template.core.repository.EmailOutboxRepository;
+import com.template.core.util.email.AnexosEmail;
+import com.template.core.util.email.TemplatesEmail;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Properties;
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Serviço para manipulação de emails.
+ * <p>
+ * Os emails são gravados na fila de envio ({@link EmailOutbox}), um por destinatário e com o template e as variáveis
+ * compartilhados em uma {@link EmailMensagem}, e enviados em segundo plano pelo
+ * {@link com.template.core.config.EmailOutboxWorker}, com novas tentativas em intervalos crescentes até
+ * {@code template.email.outbox.max-attempts} tentativas, quando o email é descartado como {@link StatusEmail#FALHA}.
  */
 @RequiredArgsConstructor
 @Service
+@Slf4j
 @Transactional
 public class EmailService {
+    /**
+     * Template usado quando o envio não informa um.
+     */
+    public static final String TEMPLATE_PADRAO = "exemplo";
+    private static final int TAMANHO_ERRO = 1000;
+
+    private final EmailOutboxRepository repository;
+    private final EmailMensagemRepository mensagemRepository;
+    private final ApplicationEventPublisher publisher;
+    private final TemplatesEmail templates;
+    private final AnexosEmail anexos;
+
+    /**
+     * Quantidade máxima de tentativas de envio de um email.
+     */
+    @Value("${template.email.outbox.max-attempts:8}")
+    private int maxTentativas;
+
+    /**
+     * Intervalo antes da segunda tentativa, dobrado a cada nova falha.
+     */
+    @Value("${template.email.outbox.backoff-millis:30000}")
+    private long backoffMillis;
 
     /**
-     * Get sender do properties.
+     * Intervalo máximo entre duas tentativas.
      */
-    @Value("${template.email.sender}")
-    private String sender;
+    @Value("${template.email.outbox.max-backoff-millis:3600000}")
+    private long maxBackoffMillis;
 
     /**
-     * Get senderPassword do properties.
+     * Tempo pelo qual um email reservado fica indisponível para as demais instâncias.
      */
-    @Value("${template.email.senderPassword}")
-    private String senderPassword;
+    @Value("${template.email.outbox.lease-millis:300000}")
+    private long reservaMillis;
 
     /**
-     * Configura Properties para enviar email via gmail.
+     * Grava um email na fila de envio.
      *
-     * @return o Properties da configuração do gmail
+     * @param email Objeto contendo o email do destinatário, o template, as variáveis e os anexos
+     * @return o email gravado na fila
+     * @throws ValidacaoException se o template não existir, faltar alguma variável ou algum anexo não existir
      */
-    private Properties getProps() {
-        Properties props = new Properties();
-        props.put("mail.smtp.host", "smtp.gmail.com");
-        props.put("mail.smtp.port", 587);
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-
-        return props;
+    public EmailOutbox sendEmail(EmailDTO email) {
+        Instant agora = Instant.now();
+        EmailMensagem mensagem = mensagemRepository.save(mensagem(email.template(), email.variaveis(), email.anexos(), agora));
+        EmailOutbox emailOutbox = repository.save(new EmailOutbox(null, email.email(), mensagem, StatusEmail.PENDENTE, 0, agora, agora, null, null, true));
+        publisher.publishEvent(new EmailEnfileiradoEvent(mensagem.getId()));
+        return emailOutbox;
     }
 
     /**
-     * Configura Session do email.
+     * Grava na fila de envio um email para cada destinatário da lista, ou para cada user ativo com alguma das roles
+     * informadas. O template e as variáveis são gravados uma única vez, e os destinatários são gravados em uma única
+     * instrução.
      *
-     * @return o Session do email
+     * @param lote os destinatários ou as roles dos users destinatários, o template, as variáveis e os anexos
+     * @return o progresso inicial do envio
+     * @throws ValidacaoException se não forem informados os destinatários ou as roles, se forem informados ambos,
+     *                            se o template não existir, faltar alguma variável ou algum anexo não existir
      */
-    private Session getSession() {
-        return Session.getInstance(getProps(), new Authenticator() {
-            @Override
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(sender, senderPassword);
-            }
-        });
+    public EmailProgressoDTO sendBulk(EmailLoteDTO lote) {
+        boolean porDestinatarios = lote.destinatarios() != null && !lote.destinatarios().isEmpty();
+        if (porDestinatarios == (lote.roles() != null && !lote.roles().isEmpty())) {
+            throw new ValidacaoException("Informe os destinatários ou as roles dos users destinatários.");
+        }
+
+        Instant agora = Instant.now();
+        Long mensagemId = mensagemRepository.save(mensagem(lote.template(), lote.variaveis(), lote.anexos(), agora)).getId();
+        int total = porDestinatarios
+                ? repository.insertDestinatarios(mensagemId, lote.destinatarios().toArray(String[]::new), agora)
+                : repository.insertUsersByRoles(mensagemId, lote.roles().stream().map(role -> role.trim().toUpperCase(Locale.ROOT)).toList(), agora);
+        publisher.publishEvent(new EmailEnfileiradoEvent(mensagemId));
+        return new EmailProgressoDTO(mensagemId, total, total, 0, 0);
     }
 
     /**
-     * Configura Message do email.
+     * Consulta o progresso de um envio.
      *
-     * @return o Message do email
-     * @throws MessagingException caso ocorra algum erro na configuração
+     * @param mensagemId ID da mensagem enviada
+     * @return a quantidade de emails da mensagem em cada situação
+     * @throws EntityNotFoundException se a mensagem não for encontrada
      */
-    private Message getMessage(String email) throws MessagingException {
-        Session session = getSession();
+    @Transactional(readOnly = true)
+    public EmailProgressoDTO progresso(Long mensagemId) {
+        if (!mensagemRepository.existsById(mensagemId)) {
+            throw new EntityNotFoundException(MessageFormat.format("Mensagem com ID {0} não encontrada.", mensagemId));
+        }
 
-        Message message = new MimeMessage(session);
-        message.setFrom(new InternetAddress(sender));
-        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(email));
-        return message;
+        Map<StatusEmail, Long> quantidades = new EnumMap<>(StatusEmail.class);
+        repository.countByMensagemGroupByStatus(mensagemId).forEach(quantidade -> quantidades.put(quantidade.status(), quantidade.quantidade()));
+        long pendentes = quantidades.getOrDefault(StatusEmail.PENDENTE, 0L);
+        long enviados = quantidades.getOrDefault(StatusEmail.ENVIADO, 0L);
+        long falhas = quantidades.getOrDefault(StatusEmail.FALHA, 0L);
+        return new EmailProgressoDTO(mensagemId, pendentes + enviados + falhas, pendentes, enviados, falhas);
     }
 
     /**
-     * Envia um email.
+     * Reserva para envio os emails pendentes e ativos cuja próxima tentativa já venceu, ignorando os bloqueados por
+     * outras instâncias. Cada email reservado conta uma tentativa e tem a próxima tentativa adiada pela reserva. A
+     * mensagem de cada email é carregada, uma vez por mensagem, para o envio fora da transação.
      *
-     * @param email Objeto contendo o email do destinatário
-     * @throws MessagingException se o email não for enviado com sucesso
+     * @param quantidade quantidade máxima de emails
+     * @return os emails reservados
+     */
+    public List<EmailOutbox> reservar(int quantidade) {
+        Instant agora = Instant.now();
+        List<EmailOutbox> emails = repository.findByStatusAndAtivoTrueAndProximaTentativaLessThanEqualOrderByProximaTentativaAsc(StatusEmail.PENDENTE, agora, Limit.of(quantidade));
+        emails.forEach(email -> {
+            email.setTentativas(email.getTentativas() + 1);
+            email.setProximaTentativa(agora.plusMillis(reservaMillis));
+            Hibernate.initialize(email.getMensagem());
+        });
+        return emails;
+    }
+
+    /**
+     * Registra o envio de emails reservados, em uma única instrução.
+     *
+     * @param ids IDs dos emails
+     */
+    public void registrarEnvios(Collection<Long> ids) {
+        repository.updateEnviadosByIdIn(ids, Instant.now());
+    }
+
+    /**
+     * Registra a falha no envio de um email reservado: agenda uma nova tentativa ou, esgotadas as tentativas, descarta
+     * o email como {@link StatusEmail#FALHA}.
+     *
+     * @param id   ID do email
+     * @param erro mensagem do erro
+     */
+    public void registrarFalha(Long id, String erro) {
+        repository.findById(id).ifPresent(email -> {
+            email.setUltimoErro(erro == null || erro.length() <= TAMANHO_ERRO ? erro : erro.substring(0, TAMANHO_ERRO));
+            if (email.getTentativas() >= maxTentativas) {
+                email.setStatus(StatusEmail.FALHA);
+                log.warn("Email {} para {} descartado após {} tentativas: {}", email.getId(), email.getDestinatario(), email.getTentativas(), erro);
+            } else {
+                email.setProximaTentativa(Instant.now().plusMillis(backoff(email.getTentativas())));
+            }
+        });
+    }
+
+    /**
+     * Cria a mensagem com o template informado, ou o padrão, após verificar se todas as variáveis foram informadas e se
+     * os anexos existem.
+     */
+    private EmailMensagem mensagem(String template, Map<String, String> variaveis, List<String> arquivos, Instant agora) {
+        String nome = template == null || template.isBlank() ? TEMPLATE_PADRAO : template;
+        Map<String, String> valores = variaveis == null ? Map.of() : variaveis;
+        List<String> nomesAnexos = arquivos == null ? List.of() : arquivos;
+        templates.validar(nome, valores.keySet());
+        anexos.resolver(nomesAnexos);
+        return new EmailMensagem(null, nome, valores, nomesAnexos, agora, true);
+    }
+
+    /**
+     * Intervalo até a próxima tentativa, após a tentativa informada: {@code backoff-millis} dobrado a cada falha, até
+     * {@code max-backoff-millis}, dos quais a metade é sorteada para que emails que falharam juntos não sejam
+     * reenviados juntos.
      */
-    public void sendEmail(EmailDTO email) throws MessagingException {
-        Message message = getMessage(email.email());
-        message.setSubject("Assunto do email");
-        String corpoEmail = "<html>                                                                             " +
-                "               <head>                                                                          " +
-                "                   <style>                                                                     " +
-                "                       body { font-family: Arial, sans-serif; background-color: #f2f2f2; }     " +
-                "                       h1 { color: #007bff; }                                                  " +
-                "                       p { color: #333; }                                                      " +
-                "                   </style>                                                                    " +
-                "               </head>                                                                         " +
-                "               <body>                                                                          " +
-                "                   <h1>Este é um email enviado via JavaMail API!</h1>                          " +
-                "                   <p>Olá, <br><br> Este é um exemplo de email com CSS inline.</p>             " +
-                "               </body>                                                                         " +
-                "           </html>                                                                             ";
-
-        message.setContent(corpoEmail, "text/html");
-        Transport.send(message);
+    private long backoff(int tentativas) {
+        long intervalo = Math.min(maxBackoffMillis, backoffMillis << Math.min(tentativas - 1, 30));
+        return intervalo / 2 + ThreadLocalRandom.current().nextLong(intervalo / 2 + 1);
     }
 
-}
\ No newline at end of file
+}
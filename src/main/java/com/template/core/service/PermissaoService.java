@@ -1,21 +1,40 @@
 package com.template.core.service;
 
+import com.template.core.config.CacheConfig;
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.PermissaoPatchDTO;
 import com.template.core.entity.Permissao;
+import com.template.core.event.PermissoesAlteradasEvent;
 import com.template.core.repository.PermissaoRepository;
+import com.template.core.util.cache.CacheInvalidation;
+import com.template.core.util.cache.CacheInvalidationBus;
+import com.template.core.util.jpa.AtualizacaoEmLote;
+import com.template.core.util.jpa.FiltroAtivo;
+import com.template.core.util.jpa.PartialUpdate;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.lang.reflect.Method;
 import java.text.MessageFormat;
-import java.util.Optional;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Serviço para manipulação de roles.
@@ -26,26 +45,43 @@ import java.util.Optional;
 public class PermissaoService {
     private final PermissaoRepository repository;
     private final ApplicationContext applicationContext;
+    private final ApplicationEventPublisher publisher;
+    private final EntityManager entityManager;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Busca uma permissão pelo ID.
      *
      * @param id o ID da permissão a ser buscada
+     * @param apenasAtivos se apenas um registro ativo deve ser retornado
      * @return a permissão encontrada
      * @throws EntityNotFoundException se a permissão não for encontrada
      */
-    public Permissao findById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Permissao não encontrado"));
+    @Cacheable(cacheNames = CacheConfig.PERMISSOES, key = "#id", condition = "!#apenasAtivos")
+    public Permissao findById(Long id, boolean apenasAtivos) {
+        return repository.findById(id).filter(permissao -> !apenasAtivos || permissao.isAtivo()).orElseThrow(() -> new EntityNotFoundException("Permissao não encontrado"));
     }
 
     /**
      * Retorna uma página de permissões.
      *
      * @param pageable informações de paginação
+     * @param apenasAtivos se apenas os registros ativos devem ser retornados
      * @return a página de permissões
      */
-    public Page<Permissao> findAll(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<Permissao> findAll(Pageable pageable, boolean apenasAtivos) {
+        return FiltroAtivo.aplicar(entityManager, apenasAtivos, () -> repository.findAll(pageable));
+    }
+
+    /**
+     * Retorna uma página de permissões por cursor (keyset), buscando pelo índice do ID a partir do último registro da página
+     * anterior, sem OFFSET e sem consulta de contagem.
+     *
+     * @param cursorRequestDTO cursor e tamanho da página
+     * @return a página de permissões com o token da próxima página
+     */
+    public CursorPageDTO<Permissao> findAll(CursorRequestDTO cursorRequestDTO) {
+        return FiltroAtivo.aplicar(entityManager, cursorRequestDTO.apenasAtivos(), () -> CursorPageDTO.of(repository.findByIdGreaterThanOrderByIdAsc(cursorRequestDTO.afterId(), Limit.of(cursorRequestDTO.size() + 1)), cursorRequestDTO.size(), Permissao::getId));
     }
 
     /**
@@ -57,7 +93,22 @@ public class PermissaoService {
      */
     public Permissao save(Permissao permissao) {
         if (permissao.getId() == null) {
-            return repository.save(permissao);
+            return publicaAlteracao(repository.save(permissao));
+        }
+
+        throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
+    }
+
+    /**
+     * Salva uma lista de permissões em uma única transação, com os INSERTs enviados em lotes JDBC.
+     *
+     * @param permissoes as permissões a serem salvas
+     * @return as permissões salvas
+     * @throws IllegalStateException se alguma permissão já possui um ID atribuído
+     */
+    public List<Permissao> saveAll(List<Permissao> permissoes) {
+        if (permissoes.stream().allMatch(permissao -> permissao.getId() == null)) {
+            return publicaAlteracao(repository.saveAll(permissoes));
         }
 
         throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
@@ -70,60 +121,126 @@ public class PermissaoService {
      * @return a permissão atualizada
      * @throws EntityNotFoundException se a permissão não for encontrada
      */
+    @CacheEvict(cacheNames = CacheConfig.PERMISSOES, key = "#permissao.id")
     public Permissao update(Permissao permissao) {
         if (repository.findById(permissao.getId()).isPresent()) {
-            return repository.save(permissao);
+            return publicaAlteracao(repository.save(permissao));
         }
 
         throw new EntityNotFoundException(MessageFormat.format("Permissão com ID {0} não encontrada.", permissao.getId()));
     }
 
+    /**
+     * Atualiza parcialmente uma permissão com um único UPDATE contendo apenas os campos informados.
+     *
+     * @param id    o ID da permissão a ser atualizada
+     * @param patch os campos a serem alterados
+     * @throws EntityNotFoundException se a permissão não for encontrada
+     */
+    @CacheEvict(cacheNames = CacheConfig.PERMISSOES, key = "#id")
+    public void patch(Long id, PermissaoPatchDTO patch) {
+        int updated = PartialUpdate.of(entityManager, Permissao.class)
+                .set("endpoint", patch.endpoint())
+                .set("ativo", patch.ativo())
+                .execute(id);
+
+        if (updated == 0) {
+            throw new EntityNotFoundException(MessageFormat.format("Permissão com ID {0} não encontrada.", id));
+        }
+        publicaAlteracao(id);
+    }
+
     /**
      * Exclui uma permissão pelo ID.
      *
      * @param id o ID da permissão a ser excluída
      */
+    @CacheEvict(cacheNames = CacheConfig.PERMISSOES, key = "#id")
     public void deleteById(Long id) {
         repository.setInativo(id);
+        publicaAlteracao(id);
     }
 
     /**
-     * Salva permissões para os endpoints combinados entre classe e método.
+     * Altera a situação das permissões informadas pelos IDs ou por um intervalo de IDs, com UPDATEs em lote que não carregam
+     * as entidades. Apenas os registros cuja situação muda são alterados.
+     *
+     * @param alteracaoEmLoteDTO os IDs ou o intervalo de IDs
+     * @param ativo              a nova situação
+     * @return a quantidade de registros alterados
+     */
+    @CacheEvict(cacheNames = CacheConfig.PERMISSOES, allEntries = true)
+    public long setAtivo(AlteracaoEmLoteDTO alteracaoEmLoteDTO, boolean ativo) {
+        long afetados = alteracaoEmLoteDTO.ids() != null
+                ? AtualizacaoEmLote.executar(alteracaoEmLoteDTO.ids(), ids -> repository.setAtivoByIdIn(ids, ativo))
+                : repository.setAtivoByIdBetween(alteracaoEmLoteDTO.idInicial(), alteracaoEmLoteDTO.idFinal(), ativo);
+        return publicaAlteracao(afetados);
+    }
+
+    /**
+     * Adiciona os endpoints combinados entre classe e método ao conjunto de endpoints.
      *
      * @param classPaths  Paths da classe do controller.
      * @param methodPaths Paths do método do controller.
+     * @param endpoints   Conjunto de endpoints encontrados.
      */
-    private void savePermissions(String[] classPaths, String[] methodPaths) {
+    private void addEndpoints(String[] classPaths, String[] methodPaths, Set<String> endpoints) {
         for (String classPath : classPaths) {
             for (String methodPath : methodPaths) {
                 String fullPath = classPath + methodPath;
                 if (!fullPath.startsWith("${springdoc.api-docs.path")) {
-                    Optional<Permissao> permissao = repository.findByEndpoint(fullPath);
-                    if (permissao.isEmpty()) {
-                        repository.save(new Permissao(null, fullPath, true));
-                    }
+                    endpoints.add(fullPath);
                 }
             }
         }
     }
 
+    /**
+     * Adiciona os endpoints de um controller ao conjunto de endpoints.
+     *
+     * @param controllerClass Classe do controller.
+     * @param endpoints       Conjunto de endpoints encontrados.
+     */
+    private void addEndpoints(Class<?> controllerClass, Set<String> endpoints) {
+        RequestMapping classRequestMapping = AnnotatedElementUtils.findMergedAnnotation(controllerClass, RequestMapping.class);
+        String[] classPaths = (classRequestMapping != null) ? classRequestMapping.value() : new String[]{""};
+
+        for (Method method : controllerClass.getDeclaredMethods()) {
+            RequestMapping methodRequestMapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+            if (methodRequestMapping != null) {
+                addEndpoints(classPaths, methodRequestMapping.value(), endpoints);
+            }
+        }
+    }
+
     /**
      * Método principal para adicionar permissões extraídas das controllers anotados com @RestController.
+     * <p>
+     * Os controllers são percorridos uma única vez para montar o conjunto de endpoints, que é comparado com os
+     * endpoints já cadastrados em uma única consulta; apenas os novos são inseridos, em lotes JDBC.
      */
     public void adicionaPermissoes() {
         String[] beanNames = applicationContext.getBeanNamesForAnnotation(RestController.class);
+        Set<String> endpoints = new LinkedHashSet<>();
         for (String beanName : beanNames) {
-            Class<?> controllerClass = applicationContext.getBean(beanName).getClass();
-            RequestMapping classRequestMapping = AnnotatedElementUtils.findMergedAnnotation(controllerClass, RequestMapping.class);
-            String[] classPaths = (classRequestMapping != null) ? classRequestMapping.value() : new String[]{""};
-
-            for (Method method : controllerClass.getDeclaredMethods()) {
-                RequestMapping methodRequestMapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
-                if (methodRequestMapping != null) {
-                    this.savePermissions(classPaths, methodRequestMapping.value());
-                }
-            }
+            addEndpoints(ClassUtils.getUserClass(applicationContext.getType(beanName)), endpoints);
         }
+        endpoints.removeAll(repository.findAllEndpoints());
+        repository.saveAll(endpoints.stream().map(endpoint -> new Permissao(null, endpoint, true)).toList());
+        publicaAlteracao(beanNames);
+    }
+
+    /**
+     * Publica o evento de alteração das permissões, recompilado após a confirmação da transação nesta instância e, pelo
+     * {@link CacheInvalidationBus}, nas demais.
+     *
+     * @param entidade a entidade alterada
+     * @return a própria entidade
+     */
+    private <T> T publicaAlteracao(T entidade) {
+        publisher.publishEvent(new PermissoesAlteradasEvent("permissao"));
+        cacheInvalidationBus.publishAfterCommit(new CacheInvalidation(AutorizacaoService.PERMISSOES, null));
+        return entidade;
     }
 
 }
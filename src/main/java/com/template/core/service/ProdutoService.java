@@ -1,15 +1,36 @@
 package com.template.core.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.core.config.CacheConfig;
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.BuscaRequestDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.ProdutoPatchDTO;
 import com.template.core.entity.Produto;
 import com.template.core.repository.ProdutoRepository;
+import com.template.core.util.exportacao.ColunaExportacao;
+import com.template.core.util.exportacao.EscritorExportacao;
+import com.template.core.util.exportacao.Exportacao;
+import com.template.core.util.jpa.AtualizacaoEmLote;
+import com.template.core.util.jpa.FiltroAtivo;
+import com.template.core.util.jpa.PartialUpdate;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.MessageFormat;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Serviço para manipulação de produtos.
@@ -18,27 +39,79 @@ import java.text.MessageFormat;
 @Service
 @Transactional
 public class ProdutoService {
+    private static final List<ColunaExportacao<Produto>> COLUNAS_EXPORTACAO = List.of(
+            new ColunaExportacao<>("id", Produto::getId),
+            new ColunaExportacao<>("descricao", Produto::getDescricao),
+            new ColunaExportacao<>("ativo", Produto::isAtivo)
+    );
+
     private final ProdutoRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     /**
      * Busca um produto pelo ID.
      *
      * @param id o ID do produto a ser buscado
+     * @param apenasAtivos se apenas um registro ativo deve ser retornado
      * @return o produto encontrado
      * @throws EntityNotFoundException se o produto não for encontrado
      */
-    public Produto findById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS, key = "#id", condition = "!#apenasAtivos")
+    public Produto findById(Long id, boolean apenasAtivos) {
+        return repository.findById(id).filter(produto -> !apenasAtivos || produto.isAtivo()).orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
     }
 
     /**
      * Retorna uma página de produtos.
      *
      * @param pageable informações de paginação
+     * @param apenasAtivos se apenas os registros ativos devem ser retornados
      * @return a página de produtos
      */
-    public Page<Produto> findAll(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<Produto> findAll(Pageable pageable, boolean apenasAtivos) {
+        return FiltroAtivo.aplicar(entityManager, apenasAtivos, () -> repository.findAll(pageable));
+    }
+
+    /**
+     * Retorna uma página de produtos por cursor (keyset), buscando pelo índice do ID a partir do último registro da página
+     * anterior, sem OFFSET e sem consulta de contagem.
+     *
+     * @param cursorRequestDTO cursor e tamanho da página
+     * @return a página de produtos com o token da próxima página
+     */
+    public CursorPageDTO<Produto> findAll(CursorRequestDTO cursorRequestDTO) {
+        return FiltroAtivo.aplicar(entityManager, cursorRequestDTO.apenasAtivos(), () -> CursorPageDTO.of(repository.findByIdGreaterThanOrderByIdAsc(cursorRequestDTO.afterId(), Limit.of(cursorRequestDTO.size() + 1)), cursorRequestDTO.size(), Produto::getId));
+    }
+
+    /**
+     * Busca os produtos pela descrição, por trecho ou por similaridade, ordenados pela relevância, sem consulta de
+     * contagem.
+     *
+     * @param buscaRequestDTO termo, quantidade máxima de registros e se apenas os ativos devem ser retornados
+     * @return os produtos encontrados
+     */
+    @Transactional(readOnly = true)
+    public List<Produto> search(BuscaRequestDTO buscaRequestDTO) {
+        return repository.search(buscaRequestDTO.termo(), buscaRequestDTO.termoLike(), buscaRequestDTO.apenasAtivos(), buscaRequestDTO.size());
+    }
+
+    /**
+     * Exporta os produtos em NDJSON ou CSV, escrevendo-os na resposta à medida que são lidos do banco, ordenados pelo ID,
+     * sem paginação e sem consulta de contagem.
+     *
+     * @param formato      cabeçalho Accept da requisição, {@code text/csv} ou NDJSON
+     * @param apenasAtivos se apenas os registros ativos devem ser exportados
+     * @param outputStream corpo da resposta
+     * @return a quantidade de produtos exportados
+     * @throws IOException se ocorrer um erro na escrita, inclusive pelo encerramento da conexão pelo cliente
+     */
+    @Transactional(readOnly = true)
+    public long export(String formato, boolean apenasAtivos, OutputStream outputStream) throws IOException {
+        EscritorExportacao<Produto> escritor = EscritorExportacao.of(formato, outputStream, objectMapper, COLUNAS_EXPORTACAO);
+        try (Stream<Produto> produtos = FiltroAtivo.aplicar(entityManager, apenasAtivos, repository::streamAllByOrderByIdAsc)) {
+            return Exportacao.executar(entityManager, produtos, escritor);
+        }
     }
 
     /**
@@ -56,6 +129,21 @@ public class ProdutoService {
         throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
     }
 
+    /**
+     * Salva uma lista de produtos em uma única transação, com os INSERTs enviados em lotes JDBC.
+     *
+     * @param produtos os produtos a serem salvos
+     * @return os produtos salvos
+     * @throws IllegalStateException se algum produto já possui um ID atribuído
+     */
+    public List<Produto> saveAll(List<Produto> produtos) {
+        if (produtos.stream().allMatch(produto -> produto.getId() == null)) {
+            return repository.saveAll(produtos);
+        }
+
+        throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
+    }
+
     /**
      * Atualiza um produto.
      *
@@ -63,6 +151,7 @@ public class ProdutoService {
      * @return o produto atualizado
      * @throws EntityNotFoundException se o produto não for encontrado
      */
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#produto.id")
     public Produto update(Produto produto) {
         if (repository.findById(produto.getId()).isPresent()) {
             return repository.save(produto);
@@ -71,13 +160,49 @@ public class ProdutoService {
         throw new EntityNotFoundException(MessageFormat.format("Produto com ID {0} não encontrado.", produto.getId()));
     }
 
+    /**
+     * Atualiza parcialmente um produto com um único UPDATE contendo apenas os campos informados.
+     *
+     * @param id    o ID do produto a ser atualizado
+     * @param patch os campos a serem alterados
+     * @throws EntityNotFoundException se o produto não for encontrado
+     */
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#id")
+    public void patch(Long id, ProdutoPatchDTO patch) {
+        int updated = PartialUpdate.of(entityManager, Produto.class)
+                .setUpper("descricao", patch.descricao())
+                .set("ativo", patch.ativo())
+                .execute(id);
+
+        if (updated == 0) {
+            throw new EntityNotFoundException(MessageFormat.format("Produto com ID {0} não encontrado.", id));
+        }
+    }
+
     /**
      * Exclui um produto pelo ID.
      *
      * @param id o ID do produto a ser excluído
      */
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS, key = "#id")
     public void deleteById(Long id) {
         repository.setInativo(id);
     }
 
+    /**
+     * Altera a situação dos produtos informados pelos IDs ou por um intervalo de IDs, com UPDATEs em lote que não carregam
+     * as entidades. Apenas os registros cuja situação muda são alterados.
+     *
+     * @param alteracaoEmLoteDTO os IDs ou o intervalo de IDs
+     * @param ativo              a nova situação
+     * @return a quantidade de registros alterados
+     */
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS, allEntries = true)
+    public long setAtivo(AlteracaoEmLoteDTO alteracaoEmLoteDTO, boolean ativo) {
+        if (alteracaoEmLoteDTO.ids() != null) {
+            return AtualizacaoEmLote.executar(alteracaoEmLoteDTO.ids(), ids -> repository.setAtivoByIdIn(ids, ativo));
+        }
+        return repository.setAtivoByIdBetween(alteracaoEmLoteDTO.idInicial(), alteracaoEmLoteDTO.idFinal(), ativo);
+    }
+
 }
\ No newline at end of file
@@ -1,15 +1,30 @@
 package com.template.core.service;
 
+import com.template.core.config.CacheConfig;
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.RolePatchDTO;
 import com.template.core.entity.GrupoAcesso;
 import com.template.core.entity.Permissao;
 import com.template.core.entity.Role;
 import com.template.core.entity.Rota;
 import com.template.core.enums.Acesso;
+import com.template.core.event.PermissoesAlteradasEvent;
 import com.template.core.repository.PermissaoRepository;
 import com.template.core.repository.RoleRepository;
 import com.template.core.repository.RotaRepository;
+import com.template.core.util.cache.CacheInvalidation;
+import com.template.core.util.cache.CacheInvalidationBus;
+import com.template.core.util.jpa.AtualizacaoEmLote;
+import com.template.core.util.jpa.FiltroAtivo;
+import com.template.core.util.jpa.PartialUpdate;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,26 +44,56 @@ public class RoleService {
     private final RoleRepository repository;
     private final PermissaoRepository permissaoRepository;
     private final RotaRepository rotaRepository;
+    private final ApplicationEventPublisher publisher;
+    private final EntityManager entityManager;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Busca uma role pelo ID.
      *
      * @param id o ID do role a ser buscada
+     * @param apenasAtivos se apenas um registro ativo deve ser retornado
      * @return a role encontrada
      * @throws EntityNotFoundException se a role não for encontrada
      */
-    public Role findById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Role não encontrada."));
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "#id", condition = "!#apenasAtivos")
+    public Role findById(Long id, boolean apenasAtivos) {
+        return FiltroAtivo.aplicar(entityManager, apenasAtivos, () -> repository.findDetalheById(id)).orElseThrow(() -> new EntityNotFoundException("Role não encontrada."));
     }
 
     /**
-     * Retorna uma página de roles.
+     * Retorna uma página de roles com o grafo de autorização, carregados por uma segunda consulta restrita aos IDs da página,
+     * de modo que a quantidade de consultas não depende do tamanho da página.
      *
      * @param pageable informações de paginação
+     * @param apenasAtivos se apenas os registros ativos devem ser retornados
      * @return a página de roles
      */
-    public Page<Role> findAll(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<Role> findAll(Pageable pageable, boolean apenasAtivos) {
+        return FiltroAtivo.aplicar(entityManager, apenasAtivos, () -> {
+            Page<Role> page = repository.findAll(pageable);
+            if (page.hasContent()) {
+                repository.findAllByIdIn(page.map(Role::getId).getContent());
+            }
+            return page;
+        });
+    }
+
+    /**
+     * Retorna uma página de roles por cursor (keyset), buscando pelo índice do ID a partir do último registro da página
+     * anterior, sem OFFSET e sem consulta de contagem. O grafo de autorização é carregado como na listagem paginada.
+     *
+     * @param cursorRequestDTO cursor e tamanho da página
+     * @return a página de roles com o token da próxima página
+     */
+    public CursorPageDTO<Role> findAll(CursorRequestDTO cursorRequestDTO) {
+        return FiltroAtivo.aplicar(entityManager, cursorRequestDTO.apenasAtivos(), () -> {
+            CursorPageDTO<Role> page = CursorPageDTO.of(repository.findByIdGreaterThanOrderByIdAsc(cursorRequestDTO.afterId(), Limit.of(cursorRequestDTO.size() + 1)), cursorRequestDTO.size(), Role::getId);
+            if (!page.content().isEmpty()) {
+                repository.findAllByIdIn(page.content().stream().map(Role::getId).toList());
+            }
+            return page;
+        });
     }
 
     /**
@@ -60,7 +105,22 @@ public class RoleService {
      */
     public Role save(Role role) {
         if (role.getId() == null) {
-            return repository.save(role);
+            return publicaAlteracao(repository.save(role));
+        }
+
+        throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
+    }
+
+    /**
+     * Salva uma lista de roles em uma única transação, com os INSERTs enviados em lotes JDBC.
+     *
+     * @param roles as roles a serem salvas
+     * @return as roles salvas
+     * @throws IllegalStateException se alguma role já possui um ID atribuído
+     */
+    public List<Role> saveAll(List<Role> roles) {
+        if (roles.stream().allMatch(role -> role.getId() == null)) {
+            return publicaAlteracao(repository.saveAll(roles));
         }
 
         throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
@@ -75,12 +135,31 @@ public class RoleService {
      */
     public Role update(Role role) {
         if (repository.findById(role.getId()).isPresent()) {
-            return repository.save(role);
+            return publicaAlteracao(repository.save(role));
         }
 
         throw new EntityNotFoundException(MessageFormat.format("Role com ID {0} não encontrada.", role.getId()));
     }
 
+    /**
+     * Atualiza parcialmente uma role com um único UPDATE contendo apenas os campos informados.
+     *
+     * @param id    o ID da role a ser atualizada
+     * @param patch os campos a serem alterados
+     * @throws EntityNotFoundException se a role não for encontrada
+     */
+    public void patch(Long id, RolePatchDTO patch) {
+        int updated = PartialUpdate.of(entityManager, Role.class)
+                .setUpper("nome", patch.nome())
+                .set("ativo", patch.ativo())
+                .execute(id);
+
+        if (updated == 0) {
+            throw new EntityNotFoundException(MessageFormat.format("Role com ID {0} não encontrada.", id));
+        }
+        publicaAlteracao(id);
+    }
+
     /**
      * Exclui uma role pelo ID.
      *
@@ -88,24 +167,61 @@ public class RoleService {
      */
     public void deleteById(Long id) {
         repository.setInativo(id);
+        publicaAlteracao(id);
+    }
+
+    /**
+     * Altera a situação das roles informadas pelos IDs ou por um intervalo de IDs, com UPDATEs em lote que não carregam
+     * as entidades. Apenas os registros cuja situação muda são alterados.
+     *
+     * @param alteracaoEmLoteDTO os IDs ou o intervalo de IDs
+     * @param ativo              a nova situação
+     * @return a quantidade de registros alterados
+     */
+    public long setAtivo(AlteracaoEmLoteDTO alteracaoEmLoteDTO, boolean ativo) {
+        long afetados = alteracaoEmLoteDTO.ids() != null
+                ? AtualizacaoEmLote.executar(alteracaoEmLoteDTO.ids(), ids -> repository.setAtivoByIdIn(ids, ativo))
+                : repository.setAtivoByIdBetween(alteracaoEmLoteDTO.idInicial(), alteracaoEmLoteDTO.idFinal(), ativo);
+        return publicaAlteracao(afetados);
     }
 
     /**
      * Adiciona role ADMIN no sistema.
      */
     public void addRoleAdmin() {
-        if (repository.count() == 0) {
-            Set<Permissao> permissoes = Set.of(
-                    permissaoRepository.save(new Permissao(null, "/api/user/find", true)),
-                    permissaoRepository.save(new Permissao(null, "/api/user/get/{id}", true)),
-                    permissaoRepository.save(new Permissao(null, "/api/user/save", true)),
-                    permissaoRepository.save(new Permissao(null, "/api/user/update", true)),
-                    permissaoRepository.save(new Permissao(null, "/api/user/delete/{id}", true))
-            );
+        if (!repository.existsByIdNotNull()) {
+            Set<Permissao> permissoes = Set.copyOf(permissaoRepository.saveAll(List.of(
+                    new Permissao(null, "/api/user/find", true),
+                    new Permissao(null, "/api/user/find/cursor", true),
+                    new Permissao(null, "/api/user/export", true),
+                    new Permissao(null, "/api/user/get/{id}", true),
+                    new Permissao(null, "/api/user/save", true),
+                    new Permissao(null, "/api/user/save-all", true),
+                    new Permissao(null, "/api/user/import", true),
+                    new Permissao(null, "/api/user/update", true),
+                    new Permissao(null, "/api/user/update/{id}", true),
+                    new Permissao(null, "/api/user/verify-credentials", true),
+                    new Permissao(null, "/api/user/delete/{id}", true),
+                    new Permissao(null, "/api/user/delete", true),
+                    new Permissao(null, "/api/user/reactivate", true)
+            )));
 
             Rota rota = rotaRepository.save(new Rota(null, "Gerencia usuários", "/dm/usuarios", permissoes, true));
-            repository.save(new Role(null, "ADMIN", Set.of(new GrupoAcesso(null, rota, List.of(Acesso.DELETE, Acesso.WRITE, Acesso.UPDATE, Acesso.READ), true)), true));
+            publicaAlteracao(repository.save(new Role(null, "ADMIN", Set.of(new GrupoAcesso(null, rota, Set.of(Acesso.DELETE, Acesso.WRITE, Acesso.UPDATE, Acesso.READ), true)), true)));
         }
     }
 
+    /**
+     * Publica o evento de alteração das permissões, recompilado após a confirmação da transação nesta instância e, pelo
+     * {@link CacheInvalidationBus}, nas demais.
+     *
+     * @param entidade a entidade alterada
+     * @return a própria entidade
+     */
+    private <T> T publicaAlteracao(T entidade) {
+        publisher.publishEvent(new PermissoesAlteradasEvent("role"));
+        cacheInvalidationBus.publishAfterCommit(new CacheInvalidation(AutorizacaoService.PERMISSOES, null));
+        return entidade;
+    }
+
 }
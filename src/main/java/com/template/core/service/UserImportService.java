@@ -0,0 +1,165 @@
+package com.template.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.core.dto.ImportacaoResultadoDTO;
+import com.template.core.entity.DadosPessoais;
+import com.template.core.entity.Role;
+import com.template.core.exception.ValidacaoException;
+import com.template.core.repository.DadosPessoaisRepository;
+import com.template.core.repository.RoleRepository;
+import com.template.core.repository.UserRepository;
+import com.template.core.util.importacao.LinhaImportacao;
+import com.template.core.util.importacao.LoteImportacao;
+import com.template.core.util.importacao.NovoUser;
+import com.template.core.util.importacao.NovoUserBatchSetter;
+import com.template.core.util.importacao.RelatorioImportacao;
+import com.template.core.util.importacao.UserImportParser;
+import com.template.core.util.security.PasswordHasher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço para importação de users em massa.
+ * <p>
+ * O arquivo é lido em streaming e processado em lotes: as referências (roles, dados pessoais) e os conflitos de
+ * username/email/dados pessoais são resolvidos com uma consulta por lote, as senhas são processadas em paralelo no executor de hashing
+ * e os registros são inseridos com JDBC em lote, cada lote em sua própria transação. Linhas inválidas são registradas
+ * no resultado sem interromper a importação.
+ */
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class UserImportService {
+    private static final String INSERT_USER = "INSERT INTO users (id, tx_username, tx_password, tx_email, bl_ativo, dt_data_cadastro, bl_primeiro_login, dados_pessoais_id) VALUES (?, ?, ?, ?, true, ?, true, ?)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO users_roles (user_id, roles_id) VALUES (?, ?)";
+    private static final String SELECT_IDS = "SELECT nextval('users_seq') FROM generate_series(1, ?)";
+
+    /**
+     * Quantidade de IDs reservados por {@code nextval}, igual ao incremento da sequência users_seq (pooled-lo).
+     */
+    private static final int BLOCO_IDS = 50;
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final DadosPessoaisRepository dadosPessoaisRepository;
+    private final PasswordHasher passwordHasher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Quantidade de users por lote.
+     */
+    @Value("${template.user-import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Quantidade máxima de erros retornados no resultado.
+     */
+    @Value("${template.user-import.max-errors:1000}")
+    private int maxErrors;
+
+    /**
+     * Importa users a partir de um arquivo NDJSON ou CSV.
+     *
+     * @param contentType Content-Type do arquivo ({@code application/x-ndjson} ou {@code text/csv})
+     * @param inputStream conteúdo do arquivo
+     * @return o resultado da importação
+     * @throws IOException         se ocorrer um erro na leitura do arquivo
+     * @throws ValidacaoException se o cabeçalho do CSV não possuir todas as colunas
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportacaoResultadoDTO importUsers(String contentType, InputStream inputStream) throws IOException {
+        RelatorioImportacao relatorio = new RelatorioImportacao(maxErrors);
+        LoteImportacao lote = new LoteImportacao(rolesAtivas(), relatorio);
+
+        try (UserImportParser parser = UserImportParser.of(contentType, inputStream, objectMapper)) {
+            for (LinhaImportacao linha = parser.next(); linha != null; linha = parser.next()) {
+                if (lote.adiciona(linha) == chunkSize) {
+                    processa(lote, relatorio);
+                }
+            }
+        }
+        processa(lote, relatorio);
+        return relatorio.toDTO();
+    }
+
+    private Map<String, Long> rolesAtivas() {
+        return roleRepository.findAllByAtivoTrue().stream().collect(Collectors.toMap(Role::getNome, Role::getId));
+    }
+
+    private void processa(LoteImportacao lote, RelatorioImportacao relatorio) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> dadosPessoais = dadosPessoaisRepository.findAllByCpfCnpjInAndAtivoTrue(lote.cpfCnpjs()).stream().collect(Collectors.toMap(DadosPessoais::getCpfCnpj, DadosPessoais::getId));
+        List<NovoUser> users = lote.resolve(userRepository.findUsernamesIn(lote.usernames()), userRepository.findEmailsIn(lote.emails()), userRepository.findCpfCnpjsVinculadosIn(lote.cpfCnpjs()), dadosPessoais);
+        insere(users, passwordHasher.encodeAll(users.stream().map(NovoUser::password).toList()), relatorio);
+        lote.clear();
+    }
+
+    /**
+     * Insere o lote em uma única transação; se o lote falhar, insere os users um a um para isolar as linhas com erro.
+     */
+    private void insere(List<NovoUser> users, List<String> hashes, RelatorioImportacao relatorio) {
+        try {
+            transactionTemplate.executeWithoutResult(_ -> insereLote(users, hashes));
+            relatorio.importados(users.size());
+        } catch (DataAccessException ex) {
+            for (int i = 0; i < users.size(); i++) {
+                insereIndividual(users.get(i), hashes.get(i), relatorio);
+            }
+        }
+    }
+
+    private void insereIndividual(NovoUser user, String hash, RelatorioImportacao relatorio) {
+        try {
+            transactionTemplate.executeWithoutResult(_ -> insereLote(List.of(user), List.of(hash)));
+            relatorio.importados(1);
+        } catch (DataAccessException ex) {
+            relatorio.falha(user.linha(), "Erro ao inserir: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        }
+    }
+
+    private void insereLote(List<NovoUser> users, List<String> hashes) {
+        List<Long> ids = reservaIds(users.size());
+        jdbcTemplate.batchUpdate(INSERT_USER, new NovoUserBatchSetter(users, hashes, ids));
+
+        List<Object[]> userRoles = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            Long userId = ids.get(i);
+            users.get(i).roleIds().forEach(roleId -> userRoles.add(new Object[]{userId, roleId}));
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+    }
+
+    /**
+     * Reserva os IDs dos users na sequência, um bloco de {@link #BLOCO_IDS} IDs a partir de cada valor retornado, como
+     * faz o Hibernate.
+     */
+    private List<Long> reservaIds(int quantidade) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (Long inicio : jdbcTemplate.queryForList(SELECT_IDS, Long.class, (quantidade + BLOCO_IDS - 1) / BLOCO_IDS)) {
+            for (long id = inicio; id < inicio + BLOCO_IDS && ids.size() < quantidade; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+}
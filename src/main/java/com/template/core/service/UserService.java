@@ -1,23 +1,48 @@
 package com.template.core.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.core.config.CacheConfig;
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.dto.UserPatchDTO;
 import com.template.core.entity.DadosPessoais;
 import com.template.core.entity.Role;
 import com.template.core.entity.User;
 import com.template.core.repository.DadosPessoaisRepository;
 import com.template.core.repository.RoleRepository;
 import com.template.core.repository.UserRepository;
+import com.template.core.util.exportacao.ColunaExportacao;
+import com.template.core.util.exportacao.EscritorExportacao;
+import com.template.core.util.exportacao.Exportacao;
+import com.template.core.util.jpa.AtualizacaoEmLote;
+import com.template.core.util.jpa.FiltroAtivo;
+import com.template.core.util.jpa.PartialUpdate;
+import com.template.core.util.security.PasswordHasher;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.MessageFormat;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 /**
  * Serviço para manipulação de users.
@@ -26,9 +51,23 @@ import java.util.Set;
 @Service
 @Transactional
 public class UserService {
+    private static final List<ColunaExportacao<User>> COLUNAS_EXPORTACAO = List.of(
+            new ColunaExportacao<>("id", User::getId),
+            new ColunaExportacao<>("username", User::getUsername),
+            new ColunaExportacao<>("email", User::getEmail),
+            new ColunaExportacao<>("ativo", User::isAtivo),
+            new ColunaExportacao<>("dataCadastro", User::getDataCadastro),
+            new ColunaExportacao<>("primeiroLogin", User::isPrimeiroLogin),
+            new ColunaExportacao<>("dadosPessoaisId", user -> user.getDadosPessoais() == null ? null : user.getDadosPessoais().getId())
+    );
+
     private final UserRepository repository;
     private final RoleRepository roleRepository;
     private final DadosPessoaisRepository dadosPessoaisRepository;
+    private final PasswordHasher passwordHasher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Senha padrão do admin.
@@ -36,47 +75,163 @@ public class UserService {
     @Value("${template.admin.password}")
     private String adminPassword;
 
-    private BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     /**
      * Busca um user pelo ID.
      *
      * @param id o ID do user a ser buscado
+     * @param apenasAtivos se apenas um registro ativo deve ser retornado
      * @return o user encontrado
      * @throws EntityNotFoundException se o user não for encontrado
      */
-    public User findById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("User não encontrado"));
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", condition = "!#apenasAtivos")
+    public User findById(Long id, boolean apenasAtivos) {
+        return FiltroAtivo.aplicar(entityManager, apenasAtivos, () -> repository.findDetalheById(id)).orElseThrow(() -> new EntityNotFoundException("User não encontrado"));
     }
 
     /**
-     * Retorna uma página de users.
+     * Retorna uma página de users com os dados pessoais e as roles, carregados por uma segunda consulta restrita aos IDs da página,
+     * de modo que a quantidade de consultas não depende do tamanho da página. O grafo de autorização das roles é carregado
+     * por {@link #carregaRoles(List)}, mantendo o JSON da listagem igual ao do detalhe.
      *
      * @param pageable informações de paginação
+     * @param apenasAtivos se apenas os registros ativos devem ser retornados
      * @return a página de users
      */
-    public Page<User> findAll(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<User> findAll(Pageable pageable, boolean apenasAtivos) {
+        return FiltroAtivo.aplicar(entityManager, apenasAtivos, () -> {
+            Page<User> page = repository.findAll(pageable);
+            carregaRoles(page.getContent());
+            return page;
+        });
+    }
+
+    /**
+     * Retorna uma página de users por cursor (keyset), buscando pelo índice do ID a partir do último registro da página
+     * anterior, sem OFFSET e sem consulta de contagem. Os dados pessoais e as roles são carregados como na listagem paginada.
+     *
+     * @param cursorRequestDTO cursor e tamanho da página
+     * @return a página de users com o token da próxima página
+     */
+    public CursorPageDTO<User> findAll(CursorRequestDTO cursorRequestDTO) {
+        return FiltroAtivo.aplicar(entityManager, cursorRequestDTO.apenasAtivos(), () -> {
+            CursorPageDTO<User> page = CursorPageDTO.of(repository.findByIdGreaterThanOrderByIdAsc(cursorRequestDTO.afterId(), Limit.of(cursorRequestDTO.size() + 1)), cursorRequestDTO.size(), User::getId);
+            carregaRoles(page.content());
+            return page;
+        });
+    }
+
+    /**
+     * Carrega as roles dos users de uma página e o grafo de autorização dessas roles, com uma consulta para cada um,
+     * independentemente da quantidade de users e de roles.
+     */
+    private void carregaRoles(List<User> users) {
+        if (!users.isEmpty()) {
+            List<User> comRoles = repository.findAllByIdIn(users.stream().map(User::getId).toList());
+            roleRepository.findAllByIdIn(comRoles.stream().flatMap(user -> user.getRoles().stream()).map(Role::getId).distinct().toList());
+        }
+    }
+
+    /**
+     * Exporta os users em NDJSON ou CSV, escrevendo-os na resposta à medida que são lidos do banco, ordenados pelo ID,
+     * sem paginação e sem consulta de contagem. A senha e as roles não são exportadas; os dados pessoais são
+     * exportados pelo ID, obtido do proxy sem consulta adicional.
+     *
+     * @param formato      cabeçalho Accept da requisição, {@code text/csv} ou NDJSON
+     * @param apenasAtivos se apenas os registros ativos devem ser exportados
+     * @param outputStream corpo da resposta
+     * @return a quantidade de users exportados
+     * @throws IOException se ocorrer um erro na escrita, inclusive pelo encerramento da conexão pelo cliente
+     */
+    @Transactional(readOnly = true)
+    public long export(String formato, boolean apenasAtivos, OutputStream outputStream) throws IOException {
+        EscritorExportacao<User> escritor = EscritorExportacao.of(formato, outputStream, objectMapper, COLUNAS_EXPORTACAO);
+        try (Stream<User> users = FiltroAtivo.aplicar(entityManager, apenasAtivos, repository::streamAllByOrderByIdAsc)) {
+            return Exportacao.executar(entityManager, users, escritor);
+        }
     }
 
     /**
      * Salva um user.
+     * <p>
+     * O hash da senha é gerado no executor de hashing, sem reter a thread da requisição nem uma conexão; a persistência
+     * ocorre na transação do repositório, na thread que concluiu o hash.
      *
      * @param user o user a ser salvo
-     * @return o user salvo
-     * @throws IllegalStateException se o user já possui um ID atribuído
+     * @return o user salvo, concluído após o hash da senha e a persistência
+     * @throws IllegalStateException      se o user já possui um ID atribuído
+     * @throws RejectedExecutionException se a fila de hashing de senhas estiver cheia
      */
-    public User save(User user) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<User> save(User user) {
         if (user.getId() == null) {
-            user.setPassword((bCryptPasswordEncoder().encode(user.getPassword())));
-            return repository.save(user);
+            return passwordHasher.encodeAsync(user.getPassword()).thenApply(hash -> {
+                user.setPassword(hash);
+                return repository.save(user);
+            });
+        }
+
+        throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
+    }
+
+    /**
+     * Salva uma lista de users em uma única transação, com os INSERTs enviados em lotes JDBC.
+     * <p>
+     * Executado fora de transação para que nenhuma conexão fique retida durante o hash das senhas, processadas em
+     * paralelo no executor de hashing.
+     *
+     * @param users os users a serem salvos
+     * @return os users salvos
+     * @throws IllegalStateException se algum user já possui um ID atribuído
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<User> saveAll(List<User> users) {
+        if (users.stream().allMatch(user -> user.getId() == null)) {
+            List<String> hashes = passwordHasher.encodeAll(users.stream().map(User::getPassword).toList());
+            for (int i = 0; i < users.size(); i++) {
+                users.get(i).setPassword(hashes.get(i));
+            }
+            return repository.saveAll(users);
         }
 
         throw new IllegalStateException("Entidade já possui um ID, utilizar a requisição de update.");
     }
 
+    /**
+     * Verifica as credenciais de um user ativo. Se o hash armazenado foi gerado com um custo do BCrypt menor que o
+     * calibrado, a senha é refeita com o custo atual e persistida. Usernames inexistentes também passam pelo BCrypt,
+     * para que o tempo da resposta não revele quais usernames existem.
+     * <p>
+     * A verificação e o novo hash ocorrem no executor de hashing, sem reter a thread da requisição nem uma conexão.
+     *
+     * @param username    o username do user
+     * @param rawPassword a senha em texto puro
+     * @return o user autenticado, ou concluído com {@link BadCredentialsException} se o user não existir, estiver
+     * inativo ou a senha não corresponder
+     * @throws RejectedExecutionException se a fila de hashing de senhas estiver cheia
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<User> verifyCredentials(String username, String rawPassword) {
+        User user = repository.findByUsernameAndAtivoTrue(username).orElse(null);
+        CompletableFuture<Boolean> matches = user == null ? passwordHasher.matchesDummyAsync(rawPassword) : passwordHasher.matchesAsync(rawPassword, user.getPassword());
+        return matches.thenCompose(match -> {
+            if (!match) {
+                throw new BadCredentialsException("Credenciais inválidas.");
+            }
+            return passwordHasher.needsRehash(user.getPassword()) ? rehash(user, rawPassword) : CompletableFuture.completedFuture(user);
+        });
+    }
+
+    /**
+     * Refaz o hash da senha com o custo atual e o persiste.
+     */
+    private CompletableFuture<User> rehash(User user, String rawPassword) {
+        return passwordHasher.encodeAsync(rawPassword).thenApply(hash -> {
+            repository.updatePassword(user.getId(), hash);
+            user.setPassword(hash);
+            return user;
+        });
+    }
+
     /**
      * Atualiza um user.
      *
@@ -84,6 +239,7 @@ public class UserService {
      * @return a authority atualizada
      * @throws EntityNotFoundException se o user não for encontrado
      */
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#user.id")
     public User update(User user) {
         if (repository.findById(user.getId()).isPresent()) {
             return repository.save(user);
@@ -92,23 +248,73 @@ public class UserService {
         throw new EntityNotFoundException(MessageFormat.format("User com ID {0} não encontrado.", user.getId()));
     }
 
+    /**
+     * Atualiza parcialmente um user com um único UPDATE contendo apenas os campos informados.
+     * <p>
+     * A nova senha, se informada, tem o hash gerado no executor de hashing antes do início da transação, sem reter a
+     * thread da requisição nem uma conexão; a transação ocorre na thread que concluiu o hash. O cache do user é limpo
+     * quando a alteração é concluída.
+     *
+     * @param id    o ID do user a ser atualizado
+     * @param patch os campos a serem alterados
+     * @return a alteração, concluída com {@link EntityNotFoundException} se o user não for encontrado
+     * @throws RejectedExecutionException se a fila de hashing de senhas estiver cheia
+     */
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Void> patch(Long id, UserPatchDTO patch) {
+        CompletableFuture<String> password = patch.password() == null ? CompletableFuture.completedFuture(null) : passwordHasher.encodeAsync(patch.password());
+        return password.thenAccept(hash -> aplicaPatch(id, patch, hash));
+    }
+
+    private void aplicaPatch(Long id, UserPatchDTO patch, String password) {
+        Integer updated = transactionTemplate.execute(_ -> PartialUpdate.of(entityManager, User.class)
+                .set("username", patch.username())
+                .set("password", password)
+                .setLower("email", patch.email())
+                .set("ativo", patch.ativo())
+                .set("primeiroLogin", patch.primeiroLogin())
+                .execute(id));
+
+        if (updated == null || updated == 0) {
+            throw new EntityNotFoundException(MessageFormat.format("User com ID {0} não encontrado.", id));
+        }
+    }
+
     /**
      * Exclui um user pelo ID.
      *
      * @param id o ID do user a ser excluído
      */
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteById(Long id) {
         repository.setInativo(id);
     }
 
+    /**
+     * Altera a situação dos users informados pelos IDs ou por um intervalo de IDs, com UPDATEs em lote que não carregam
+     * as entidades. Apenas os registros cuja situação muda são alterados.
+     *
+     * @param alteracaoEmLoteDTO os IDs ou o intervalo de IDs
+     * @param ativo              a nova situação
+     * @return a quantidade de registros alterados
+     */
+    @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)
+    public long setAtivo(AlteracaoEmLoteDTO alteracaoEmLoteDTO, boolean ativo) {
+        if (alteracaoEmLoteDTO.ids() != null) {
+            return AtualizacaoEmLote.executar(alteracaoEmLoteDTO.ids(), ids -> repository.setAtivoByIdIn(ids, ativo));
+        }
+        return repository.setAtivoByIdBetween(alteracaoEmLoteDTO.idInicial(), alteracaoEmLoteDTO.idFinal(), ativo);
+    }
+
     /**
      * Adiciona o ADMIN do sistema.
      */
     public void addAdmin() {
-        if (repository.count() == 0) {
-            DadosPessoais dadosPessoais = dadosPessoaisRepository.findByCpfCnpj("00000000000").orElseThrow(() -> new RuntimeException("Dados pessoais do ADMIN não encontrados"));
+        if (!repository.existsByIdNotNull()) {
+            DadosPessoais dadosPessoais = dadosPessoaisRepository.findByCpfCnpj(DadosPessoaisService.CPF_CNPJ_ADMIN).orElseThrow(() -> new RuntimeException("Dados pessoais do ADMIN não encontrados"));
             Role roleAdmin = roleRepository.findByNome("ADMIN").orElseThrow(() -> new RuntimeException("Role ADMIN não encontrada"));
-            repository.save(new User(null, "admin", bCryptPasswordEncoder().encode(adminPassword), "admin@admin.com", true, LocalDate.now(), true, dadosPessoais, Set.of(roleAdmin)));
+            repository.save(new User(null, "admin", passwordHasher.encode(adminPassword), "admin@admin.com", true, LocalDate.now(), true, dadosPessoais, Set.of(roleAdmin)));
         }
     }
 
@@ -0,0 +1,544 @@
+package com.template.core.util.busca;
+
+import com.template.core.dto.DadosPessoaisResumoDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória dos dados pessoais para a busca por prefixo do nome, de cada palavra do nome e do CPF/CNPJ.
+ * <p>
+ * As chaves são normalizadas (maiúsculas, sem acentos e sem pontuação) e ficam em um array ordenado, em que cada posição
+ * guarda, compactada em um {@code long}, a entrada e o início da palavra dentro do nome: a busca é uma pesquisa binária
+ * seguida da leitura sequencial das chaves com o prefixo, sem cópias dos nomes. As alterações são aplicadas em um índice
+ * incremental ordenado ({@link ConcurrentSkipListMap}) e intercaladas com o array nas consultas; quando acumulam, o array
+ * é reconstruído. As chaves de registros alterados ou removidos continuam no array até a reconstrução e são descartadas
+ * na consulta, pois não apontam para a entrada vigente do ID.
+ * <p>
+ * As consultas não bloqueiam e podem ocorrer durante as alterações, que são serializadas. A reconstrução do array e a
+ * carga completa montam um novo estado fora do bloqueio (a reconstrução, no executor informado) e o substituem ao final,
+ * reaplicando sobre ele os registros alterados enquanto era montado.
+ */
+public final class IndiceDadosPessoais {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^A-Z0-9]+");
+
+    private static final int ALTERACOES_MINIMAS = 4096;
+
+    private final Executor reconstrucao;
+
+    private volatile Estado estado = Estado.of(new ConcurrentHashMap<>());
+
+    private int alteracoes;
+
+    /**
+     * Geração do último estado em montagem; estados de gerações anteriores são descartados ao final da montagem.
+     */
+    private long geracao;
+
+    /**
+     * IDs alterados desde o início da montagem em andamento, ou {@code null} se nenhuma estiver em andamento.
+     */
+    private Set<Long> alteradosNaMontagem;
+
+    /**
+     * Cria o índice reconstruindo o array na thread que fez a alteração.
+     */
+    public IndiceDadosPessoais() {
+        this(Runnable::run);
+    }
+
+    /**
+     * Cria o índice.
+     *
+     * @param reconstrucao executor em que o array é reconstruído quando as alterações acumulam
+     */
+    public IndiceDadosPessoais(Executor reconstrucao) {
+        this.reconstrucao = reconstrucao;
+    }
+
+    /**
+     * Substitui o conteúdo do índice pelos registros informados. O novo estado é montado sem bloquear as alterações
+     * feitas durante a leitura dos registros, que são mantidas.
+     *
+     * @param registros todos os dados pessoais
+     */
+    public void carregar(Stream<DadosPessoaisResumoDTO> registros) {
+        long geracaoCarga = iniciarMontagem();
+        Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+        registros.forEach(registro -> entradas.put(registro.id(), Entrada.of(registro)));
+        concluirMontagem(geracaoCarga, Estado.of(entradas));
+    }
+
+    /**
+     * Inclui o registro no índice ou substitui a versão indexada.
+     *
+     * @param registro dados pessoais atuais
+     */
+    public synchronized void atualizar(DadosPessoaisResumoDTO registro) {
+        Estado atual = estado;
+        Entrada entrada = Entrada.of(registro);
+        Entrada anterior = atual.entradas().put(entrada.id(), entrada);
+        if (anterior != null) {
+            atual.nomes().removerIncremental(anterior);
+            atual.documentos().removerIncremental(anterior);
+        }
+        atual.nomes().incluirIncremental(entrada);
+        atual.documentos().incluirIncremental(entrada);
+        registrarAlteracao(entrada.id());
+        compactarSeNecessario();
+    }
+
+    /**
+     * Remove o registro do índice.
+     *
+     * @param id ID dos dados pessoais
+     */
+    public synchronized void remover(Long id) {
+        Estado atual = estado;
+        Entrada anterior = atual.entradas().remove(id);
+        registrarAlteracao(id);
+        if (anterior != null) {
+            atual.nomes().removerIncremental(anterior);
+            atual.documentos().removerIncremental(anterior);
+            compactarSeNecessario();
+        }
+    }
+
+    /**
+     * Busca os registros pelo prefixo. Um termo iniciado por dígito é buscado no CPF/CNPJ, ignorando a pontuação; os
+     * demais, no nome: primeiro os nomes em que o termo inteiro é o início de uma palavra (palavras consecutivas, na
+     * ordem digitada) e, se faltarem registros, os nomes em que cada palavra do termo é o início de uma palavra do nome,
+     * em qualquer ordem, percorrendo as chaves da palavra do termo com menos chaves no array. Em cada etapa, os registros são ordenados pela chave encontrada.
+     *
+     * @param termo        texto digitado
+     * @param size         quantidade máxima de registros
+     * @param apenasAtivos se apenas os registros ativos devem ser retornados
+     * @return os registros encontrados
+     */
+    public List<DadosPessoaisResumoDTO> buscar(String termo, int size, boolean apenasAtivos) {
+        Estado atual = estado;
+        String normalizado = normalizar(termo);
+        Resultado resultado = new Resultado(atual.entradas(), size);
+        if (normalizado.isEmpty()) {
+            return resultado.registros;
+        }
+
+        Predicate<Entrada> situacao = entrada -> !apenasAtivos || entrada.ativo();
+        if (Character.isDigit(normalizado.charAt(0))) {
+            atual.documentos().coletar(normalizado.replace(" ", ""), situacao, resultado);
+        } else {
+            atual.nomes().coletar(normalizado, situacao, resultado);
+            List<String> palavras = Arrays.asList(normalizado.split(" "));
+            if (palavras.size() > 1 && !resultado.completo()) {
+                String menosFrequente = palavras.stream().min(Comparator.comparingInt(atual.nomes()::contar)).orElseThrow();
+                List<String> demais = palavras.stream().filter(palavra -> palavra != menosFrequente).toList();
+                atual.nomes().coletar(menosFrequente, situacao.and(entrada -> demais.stream().allMatch(palavra -> temPalavra(entrada.chaveNome(), palavra))), resultado);
+            }
+        }
+        return resultado.registros;
+    }
+
+    /**
+     * Retorna a quantidade de registros indexados.
+     */
+    public int size() {
+        return estado.entradas().size();
+    }
+
+    /**
+     * Normaliza o texto para as chaves do índice: maiúsculas, sem acentos e com a pontuação e os espaços repetidos
+     * substituídos por um único espaço.
+     *
+     * @param texto texto original
+     * @return o texto normalizado
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        if (isNormalizado(texto)) {
+            return texto;
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toUpperCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    /**
+     * Indica se o texto já está normalizado, evitando as expressões regulares para a maior parte dos nomes, que são
+     * gravados em maiúsculas.
+     */
+    private static boolean isNormalizado(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            boolean espacoSimples = c == ' ' && i > 0 && i < texto.length() - 1 && texto.charAt(i - 1) != ' ';
+            if (!(c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || espacoSimples)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica se alguma palavra do nome começa com o prefixo.
+     */
+    private static boolean temPalavra(String nome, String prefixo) {
+        for (int i = nome.indexOf(prefixo); i >= 0; i = nome.indexOf(prefixo, i + 1)) {
+            if (i == 0 || nome.charAt(i - 1) == ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void registrarAlteracao(Long id) {
+        if (alteradosNaMontagem != null) {
+            alteradosNaMontagem.add(id);
+        }
+    }
+
+    /**
+     * Agenda a reconstrução do array quando as alterações acumulam, se nenhuma montagem estiver em andamento. O novo
+     * estado compartilha as entradas vigentes; se o executor recusar a tarefa, a reconstrução é tentada na próxima
+     * alteração.
+     */
+    private void compactarSeNecessario() {
+        Estado atual = estado;
+        if (++alteracoes > Math.max(ALTERACOES_MINIMAS, atual.entradas().size() / 4) && alteradosNaMontagem == null) {
+            long geracaoCompactacao = iniciarMontagem();
+            try {
+                reconstrucao.execute(() -> concluirMontagem(geracaoCompactacao, Estado.of(atual.entradas())));
+            } catch (RejectedExecutionException ex) {
+                alteradosNaMontagem = null;
+            }
+        }
+    }
+
+    private synchronized long iniciarMontagem() {
+        alteradosNaMontagem = new HashSet<>();
+        return ++geracao;
+    }
+
+    /**
+     * Substitui o estado vigente pelo estado montado, reaplicando os registros alterados durante a montagem como
+     * alterações incrementais. Um estado cuja montagem foi superada por outra é descartado.
+     */
+    private synchronized void concluirMontagem(long geracaoMontagem, Estado novo) {
+        if (geracaoMontagem != geracao) {
+            return;
+        }
+
+        Estado atual = estado;
+        for (Long id : alteradosNaMontagem) {
+            Entrada entrada = atual.entradas().get(id);
+            if (entrada == null) {
+                novo.entradas().remove(id);
+            } else {
+                novo.entradas().put(id, entrada);
+                novo.nomes().incluirIncremental(entrada);
+                novo.documentos().incluirIncremental(entrada);
+            }
+        }
+        estado = novo;
+        alteracoes = alteradosNaMontagem.size();
+        alteradosNaMontagem = null;
+    }
+
+    /**
+     * Compara {@code a[inicioA, fimA)} com {@code b[inicioB, fimB)} em ordem lexicográfica.
+     */
+    private static int comparar(String a, int inicioA, int fimA, String b, int inicioB, int fimB) {
+        int tamanho = Math.min(fimA - inicioA, fimB - inicioB);
+        for (int i = 0; i < tamanho; i++) {
+            int diferenca = a.charAt(inicioA + i) - b.charAt(inicioB + i);
+            if (diferenca != 0) {
+                return diferenca;
+            }
+        }
+        return (fimA - inicioA) - (fimB - inicioB);
+    }
+
+    /**
+     * Registro indexado, com as chaves normalizadas. Quando a chave é igual ao valor original, a mesma String é reutilizada.
+     */
+    private record Entrada(long id, String nome, String cpfCnpj, boolean ativo, String chaveNome, String chaveDocumento) {
+
+        static Entrada of(DadosPessoaisResumoDTO registro) {
+            String chaveNome = normalizar(registro.nome());
+            String chaveDocumento = normalizar(registro.cpfCnpj()).replace(" ", "");
+            return new Entrada(registro.id(), registro.nome(), registro.cpfCnpj(), registro.ativo(),
+                    chaveNome.equals(registro.nome()) ? registro.nome() : chaveNome,
+                    chaveDocumento.equals(registro.cpfCnpj()) ? registro.cpfCnpj() : chaveDocumento);
+        }
+
+        DadosPessoaisResumoDTO toDTO() {
+            return new DadosPessoaisResumoDTO(id, nome, cpfCnpj, ativo);
+        }
+
+    }
+
+    /**
+     * Entradas vigentes por ID e as chaves de nome e de documento construídas a partir delas.
+     */
+    private record Estado(Map<Long, Entrada> entradas, Chaves nomes, Chaves documentos) {
+
+        static Estado of(Map<Long, Entrada> entradas) {
+            return new Estado(entradas, Chaves.of(entradas.values(), Entrada::chaveNome, true), Chaves.of(entradas.values(), Entrada::chaveDocumento, false));
+        }
+
+    }
+
+    /**
+     * Chaves de um campo: o array ordenado, imutável, e o índice incremental das alterações posteriores, com as chaves no
+     * formato {@code sufixo + '\0' + id}.
+     */
+    private static final class Chaves {
+
+        private final Entrada[] entradas;
+
+        private final long[] posicoes;
+
+        private final Function<Entrada, String> chave;
+
+        private final boolean palavras;
+
+        private final ConcurrentSkipListMap<String, Entrada> incremental = new ConcurrentSkipListMap<>();
+
+        private Chaves(Collection<Entrada> entradas, Function<Entrada, String> chave, boolean palavras) {
+            this.entradas = entradas.toArray(Entrada[]::new);
+            this.chave = chave;
+            this.palavras = palavras;
+
+            this.posicoes = new long[Arrays.stream(this.entradas).mapToInt(entrada -> (int) inicios(chave.apply(entrada), palavras).count()).sum()];
+            int p = 0;
+            for (int i = 0; i < this.entradas.length; i++) {
+                for (int inicio : inicios(chave.apply(this.entradas[i]), palavras).toArray()) {
+                    posicoes[p++] = (long) i << 32 | inicio;
+                }
+            }
+            ordenar(posicoes);
+        }
+
+        static Chaves of(Collection<Entrada> entradas, Function<Entrada, String> chave, boolean palavras) {
+            return new Chaves(entradas, chave, palavras);
+        }
+
+        void incluirIncremental(Entrada entrada) {
+            String texto = chave.apply(entrada);
+            inicios(texto, palavras).forEach(inicio -> incremental.put(texto.substring(inicio) + '\0' + entrada.id(), entrada));
+        }
+
+        void removerIncremental(Entrada entrada) {
+            String texto = chave.apply(entrada);
+            inicios(texto, palavras).forEach(inicio -> incremental.remove(texto.substring(inicio) + '\0' + entrada.id(), entrada));
+        }
+
+        /**
+         * Intercala, em ordem, as chaves do array e do índice incremental que começam com o prefixo, até completar o resultado.
+         */
+        void coletar(String prefixo, Predicate<Entrada> filtro, Resultado resultado) {
+            int i = primeira(prefixo, false);
+            Iterator<Map.Entry<String, Entrada>> iterator = incremental.tailMap(prefixo).entrySet().iterator();
+            Map.Entry<String, Entrada> proxima = proxima(iterator, prefixo);
+            while (!resultado.completo()) {
+                boolean naBase = i < posicoes.length && texto(posicoes[i]).startsWith(prefixo, inicio(posicoes[i]));
+                if (!naBase && proxima == null) {
+                    return;
+                }
+                if (naBase && (proxima == null || compararComIncremental(posicoes[i], proxima.getKey()) <= 0)) {
+                    resultado.adicionar(entradas[entrada(posicoes[i++])], filtro);
+                } else {
+                    resultado.adicionar(proxima.getValue(), filtro);
+                    proxima = proxima(iterator, prefixo);
+                }
+            }
+        }
+
+        /**
+         * Quantidade de chaves do array que começam com o prefixo.
+         */
+        int contar(String prefixo) {
+            return primeira(prefixo, true) - primeira(prefixo, false);
+        }
+
+        /**
+         * Pesquisa binária da primeira chave maior ou igual ao prefixo ou, com {@code posterior}, da primeira chave
+         * posterior a todas as que começam com o prefixo.
+         */
+        private int primeira(String prefixo, boolean posterior) {
+            int inicio = 0;
+            int fim = posicoes.length;
+            while (inicio < fim) {
+                int meio = (inicio + fim) >>> 1;
+                long posicao = posicoes[meio];
+                String texto = texto(posicao);
+                int fimTexto = posterior ? Math.min(texto.length(), inicio(posicao) + prefixo.length()) : texto.length();
+                int comparacao = IndiceDadosPessoais.comparar(texto, inicio(posicao), fimTexto, prefixo, 0, prefixo.length());
+                if (comparacao < 0 || posterior && comparacao == 0) {
+                    inicio = meio + 1;
+                } else {
+                    fim = meio;
+                }
+            }
+            return inicio;
+        }
+
+        /**
+         * Ordena as posições pelas chaves, de 10 em 10 caracteres: em cada nível, os caracteres são codificados em um
+         * {@code long}, na mesma ordem, e as posições são ordenadas pelo código; as sequências com o mesmo código são
+         * ordenadas pelos 10 caracteres seguintes, e as chaves iguais, pelo ID. As comparações não acessam os nomes,
+         * espalhados pela memória, e cada chave é lida uma vez por nível.
+         */
+        private void ordenar(long[] array) {
+            long[] codigos = new long[array.length];
+            ordenar(array, codigos, new long[array.length], new long[array.length], 0, array.length, 0);
+        }
+
+        private void ordenar(long[] array, long[] codigos, long[] auxiliar, long[] codigosAuxiliar, int inicio, int fim, int nivel) {
+            for (int i = inicio; i < fim; i++) {
+                codigos[i] = nivel < 0 ? entradas[entrada(array[i])].id() : codigo(array[i], nivel * 10);
+            }
+            ordenarPorCodigo(array, codigos, auxiliar, codigosAuxiliar, inicio, fim);
+
+            for (int i = inicio, j; i < fim; i = j) {
+                for (j = i + 1; j < fim && codigos[j] == codigos[i]; j++) {
+                }
+                if (j - i > 1 && nivel >= 0) {
+                    ordenar(array, codigos, auxiliar, codigosAuxiliar, i, j, (codigos[i] & 63) == 0 ? -1 : nivel + 1);
+                }
+            }
+        }
+
+        /**
+         * Merge sort do intervalo pelos códigos, sem converter os {@code long} em objetos.
+         */
+        private static void ordenarPorCodigo(long[] array, long[] codigos, long[] auxiliar, long[] codigosAuxiliar, int inicio, int fim) {
+            long[] origem = array;
+            long[] destino = auxiliar;
+            long[] codigosOrigem = codigos;
+            long[] codigosDestino = codigosAuxiliar;
+            for (int largura = 1; largura < fim - inicio; largura *= 2) {
+                for (int esquerda = inicio; esquerda < fim; esquerda += 2 * largura) {
+                    int meio = Math.min(esquerda + largura, fim);
+                    int direita = Math.min(esquerda + 2 * largura, fim);
+                    for (int k = esquerda, i = esquerda, j = meio; k < direita; k++) {
+                        int m = j >= direita || i < meio && codigosOrigem[i] <= codigosOrigem[j] ? i++ : j++;
+                        destino[k] = origem[m];
+                        codigosDestino[k] = codigosOrigem[m];
+                    }
+                }
+                long[] ordenado = destino;
+                destino = origem;
+                origem = ordenado;
+                long[] codigosOrdenados = codigosDestino;
+                codigosDestino = codigosOrigem;
+                codigosOrigem = codigosOrdenados;
+            }
+            if (origem != array) {
+                System.arraycopy(origem, inicio, array, inicio, fim - inicio);
+                System.arraycopy(codigosOrigem, inicio, codigos, inicio, fim - inicio);
+            }
+        }
+
+        /**
+         * Codifica 10 caracteres da chave, a partir do deslocamento, em 6 bits cada, preservando a ordem: fim da chave,
+         * espaço, dígitos e letras, como nos caracteres das chaves normalizadas.
+         */
+        private long codigo(long posicao, int deslocamento) {
+            String texto = texto(posicao);
+            long codigo = 0;
+            for (int k = 0, i = inicio(posicao) + deslocamento; k < 10; k++, i++) {
+                char c = i < texto.length() ? texto.charAt(i) : '\0';
+                codigo = codigo << 6 | (c == '\0' ? 0 : c == ' ' ? 1 : c <= '9' ? 2 + c - '0' : 12 + c - 'A');
+            }
+            return codigo;
+        }
+
+        private int compararComIncremental(long posicao, String chaveIncremental) {
+            String texto = texto(posicao);
+            return IndiceDadosPessoais.comparar(texto, inicio(posicao), texto.length(), chaveIncremental, 0, chaveIncremental.indexOf('\0'));
+        }
+
+        private String texto(long posicao) {
+            return chave.apply(entradas[entrada(posicao)]);
+        }
+
+        private static Map.Entry<String, Entrada> proxima(Iterator<Map.Entry<String, Entrada>> iterator, String prefixo) {
+            if (iterator.hasNext()) {
+                Map.Entry<String, Entrada> proxima = iterator.next();
+                return proxima.getKey().startsWith(prefixo) ? proxima : null;
+            }
+            return null;
+        }
+
+        private static int entrada(long posicao) {
+            return (int) (posicao >>> 32);
+        }
+
+        private static int inicio(long posicao) {
+            return (int) posicao;
+        }
+
+        /**
+         * Posições em que começam as chaves do texto: o início do texto e, para os nomes, o início de cada palavra.
+         */
+        private static IntStream inicios(String texto, boolean palavras) {
+            if (texto.isEmpty()) {
+                return IntStream.empty();
+            }
+            return IntStream.range(0, texto.length()).filter(i -> i == 0 || palavras && texto.charAt(i - 1) == ' ');
+        }
+
+    }
+
+    /**
+     * Registros coletados, sem repetições, apenas com as entradas vigentes que atendem ao filtro.
+     */
+    private static final class Resultado {
+
+        private final Map<Long, Entrada> vigentes;
+
+        private final int size;
+
+        private final Set<Long> ids = new HashSet<>();
+
+        private final List<DadosPessoaisResumoDTO> registros = new ArrayList<>();
+
+        private Resultado(Map<Long, Entrada> vigentes, int size) {
+            this.vigentes = vigentes;
+            this.size = size;
+        }
+
+        void adicionar(Entrada entrada, Predicate<Entrada> filtro) {
+            if (filtro.test(entrada) && vigentes.get(entrada.id()) == entrada && ids.add(entrada.id())) {
+                registros.add(entrada.toDTO());
+            }
+        }
+
+        boolean completo() {
+            return registros.size() >= size;
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.template.core.util.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Cache Caffeine cujas remoções são publicadas no {@link CacheInvalidationBus} após serem aplicadas localmente.
+ * <p>
+ * As chaves são os IDs das entidades. Toda remoção é publicada, mesmo de chaves ausentes no cache local, pois outros
+ * nós podem possuí-las.
+ */
+public class BroadcastingCaffeineCache extends CaffeineCache {
+
+    private final CacheInvalidationBus bus;
+
+    /**
+     * Cria o cache.
+     *
+     * @param name            nome do cache
+     * @param cache           cache Caffeine
+     * @param allowNullValues se valores nulos podem ser armazenados
+     * @param bus             barramento de invalidação
+     */
+    public BroadcastingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues, CacheInvalidationBus bus) {
+        super(name, cache, allowNullValues);
+        this.bus = bus;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        bus.publish(new CacheInvalidation(getName(), (Long) key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = super.evictIfPresent(key);
+        bus.publish(new CacheInvalidation(getName(), (Long) key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        bus.publish(new CacheInvalidation(getName(), null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = super.invalidate();
+        bus.publish(new CacheInvalidation(getName(), null));
+        return invalidated;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.template.core.util.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * Gerenciador de caches Caffeine que cria {@link BroadcastingCaffeineCache}, cujas remoções são publicadas no
+ * barramento de invalidação.
+ */
+public class BroadcastingCaffeineCacheManager extends CaffeineCacheManager {
+
+    private final CacheInvalidationBus bus;
+
+    /**
+     * Cria o gerenciador.
+     *
+     * @param bus barramento de invalidação
+     */
+    public BroadcastingCaffeineCacheManager(CacheInvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new BroadcastingCaffeineCache(name, cache, isAllowNullValues(), bus);
+    }
+
+}
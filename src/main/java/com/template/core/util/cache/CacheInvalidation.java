@@ -0,0 +1,18 @@
+package com.template.core.util.cache;
+
+/**
+ * Invalidação de uma entrada de cache, ou de todas as entradas do cache quando o ID não é informado.
+ *
+ * @param cache nome do cache
+ * @param id    ID da entidade ou {@code null} para todas as entradas
+ */
+public record CacheInvalidation(String cache, Long id) {
+
+    /**
+     * Indica se a invalidação remove todas as entradas do cache.
+     */
+    public boolean isAll() {
+        return id == null;
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.template.core.util.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Barramento de invalidação dos caches locais entre as instâncias da aplicação.
+ * <p>
+ * As remoções feitas nos caches locais são acumuladas por uma pequena janela ({@code lingerMillis}) e publicadas em
+ * lotes pelo {@link InvalidationTransport}: uma rajada de escritas gera poucas mensagens, chaves repetidas são enviadas
+ * uma única vez e a limpeza de um cache substitui as remoções individuais do mesmo cache. Os lotes recebidos de outros
+ * nós são aplicados diretamente nos caches Caffeine, sem serem republicados.
+ * <p>
+ * Estruturas em memória que não são caches do {@link CacheManager} (ex.: índices de busca) recebem as invalidações do
+ * seu nome pelo handler registrado em {@link #register(String, Consumer)}.
+ */
+@Slf4j
+public final class CacheInvalidationBus implements InvalidationTransport.Listener, AutoCloseable {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final InvalidationTransport transport;
+
+    private final long lingerMillis;
+
+    private final int maxBatchSize;
+
+    private final ConcurrentLinkedQueue<CacheInvalidation> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService executor;
+
+    private final Map<String, Consumer<CacheInvalidation>> handlers = new ConcurrentHashMap<>();
+
+    private volatile CacheManager cacheManager;
+
+    /**
+     * Cria o barramento e o registra como listener do transporte.
+     *
+     * @param transport    transporte dos lotes
+     * @param lingerMillis tempo, em milissegundos, que uma invalidação aguarda por outras antes do envio do lote
+     * @param maxBatchSize quantidade máxima de invalidações por lote
+     */
+    public CacheInvalidationBus(InvalidationTransport transport, long lingerMillis, int maxBatchSize) {
+        this.transport = transport;
+        this.lingerMillis = lingerMillis;
+        this.maxBatchSize = maxBatchSize;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-invalidation-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        transport.subscribe(this);
+    }
+
+    /**
+     * Define o gerenciador dos caches locais em que os lotes recebidos são aplicados.
+     *
+     * @param cacheManager gerenciador dos caches Caffeine
+     */
+    public void bind(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Registra o handler das invalidações recebidas de outros nós para o nome informado. O handler é executado na thread
+     * do transporte e também recebe uma invalidação de todas as entradas quando o transporte é reconectado.
+     *
+     * @param name    nome usado nas invalidações publicadas
+     * @param handler aplicação da invalidação na estrutura local
+     */
+    public void register(String name, Consumer<CacheInvalidation> handler) {
+        handlers.put(name, handler);
+    }
+
+    /**
+     * Agenda a publicação da invalidação para os demais nós.
+     *
+     * @param invalidation invalidação aplicada no cache local
+     */
+    public void publish(CacheInvalidation invalidation) {
+        pending.add(invalidation);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Agenda a publicação da invalidação após a confirmação da transação corrente, para que os demais nós não releiam o
+     * banco antes de a alteração estar visível; sem transação ativa, a invalidação é agendada imediatamente.
+     *
+     * @param invalidation invalidação aplicada na estrutura local
+     */
+    public void publishAfterCommit(CacheInvalidation invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(invalidation);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(invalidation);
+            }
+        });
+    }
+
+    /**
+     * Publica imediatamente as invalidações pendentes, em lotes de no máximo {@code maxBatchSize}. Falhas do transporte
+     * são registradas e as invalidações do lote são descartadas; as entradas dos demais nós expiram pelo TTL.
+     */
+    public synchronized void flush() {
+        scheduled.set(false);
+        List<CacheInvalidation> invalidations = drain();
+
+        for (int i = 0; i < invalidations.size(); i += maxBatchSize) {
+            List<CacheInvalidation> batch = List.copyOf(invalidations.subList(i, Math.min(i + maxBatchSize, invalidations.size())));
+            try {
+                transport.publish(new InvalidationBatch(nodeId, batch));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao publicar {} invalidações de cache.", batch.size(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onBatch(InvalidationBatch batch) {
+        if (!nodeId.equals(batch.origin())) {
+            batch.invalidations().forEach(this::apply);
+        }
+    }
+
+    @Override
+    public void onResync() {
+        CacheManager manager = cacheManager;
+        if (manager != null) {
+            log.info("Transporte de invalidação reconectado, limpando os caches locais.");
+            manager.getCacheNames().forEach(name -> apply(new CacheInvalidation(name, null)));
+        }
+        handlers.keySet().forEach(name -> apply(new CacheInvalidation(name, null)));
+    }
+
+    @Override
+    public void close() {
+        flush();
+        executor.shutdown();
+    }
+
+    /**
+     * Retira as invalidações pendentes, sem repetições e sem as remoções individuais de caches que serão limpos.
+     */
+    private List<CacheInvalidation> drain() {
+        Set<CacheInvalidation> drained = new LinkedHashSet<>();
+        for (CacheInvalidation invalidation = pending.poll(); invalidation != null; invalidation = pending.poll()) {
+            drained.add(invalidation);
+        }
+
+        Set<String> cleared = drained.stream().filter(CacheInvalidation::isAll).map(CacheInvalidation::cache).collect(Collectors.toSet());
+        return drained.stream().filter(invalidation -> invalidation.isAll() || !cleared.contains(invalidation.cache())).toList();
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        Consumer<CacheInvalidation> handler = handlers.get(invalidation.cache());
+        if (handler != null) {
+            try {
+                handler.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao aplicar a invalidação {}.", invalidation, e);
+            }
+            return;
+        }
+
+        CacheManager manager = cacheManager;
+        Cache cache = manager == null ? null : manager.getCache(invalidation.cache());
+
+        if (cache instanceof CaffeineCache caffeineCache) {
+            if (invalidation.isAll()) {
+                caffeineCache.getNativeCache().invalidateAll();
+            } else {
+                caffeineCache.getNativeCache().invalidate(invalidation.id());
+            }
+        }
+    }
+
+}
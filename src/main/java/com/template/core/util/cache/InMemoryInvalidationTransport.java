@@ -0,0 +1,30 @@
+package com.template.core.util.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Transporte em memória que entrega os lotes de forma síncrona a todos os listeners da mesma instância.
+ * <p>
+ * Utilizado nos testes, com vários nós compartilhando o mesmo transporte, e em execuções com uma única instância.
+ */
+public final class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationBatch batch) {
+        listeners.forEach(listener -> listener.onBatch(batch));
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        listeners.clear();
+    }
+
+}
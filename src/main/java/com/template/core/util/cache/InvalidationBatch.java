@@ -0,0 +1,13 @@
+package com.template.core.util.cache;
+
+import java.util.List;
+
+/**
+ * Lote de invalidações publicado por um nó.
+ *
+ * @param origin        identificador do nó que publicou o lote
+ * @param invalidations invalidações do lote
+ */
+public record InvalidationBatch(String origin, List<CacheInvalidation> invalidations) {
+
+}
@@ -0,0 +1,47 @@
+package com.template.core.util.cache;
+
+/**
+ * Transporte dos lotes de invalidação de cache entre as instâncias da aplicação.
+ * <p>
+ * Todo lote publicado é entregue a todos os listeners, inclusive ao do próprio nó, que o descarta pela origem.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    /**
+     * Publica o lote para todos os nós.
+     *
+     * @param batch lote de invalidações
+     */
+    void publish(InvalidationBatch batch);
+
+    /**
+     * Registra o listener dos lotes recebidos.
+     *
+     * @param listener listener dos lotes
+     */
+    void subscribe(Listener listener);
+
+    @Override
+    void close();
+
+    /**
+     * Listener dos lotes recebidos pelo transporte.
+     */
+    interface Listener {
+
+        /**
+         * Lote recebido.
+         *
+         * @param batch lote de invalidações
+         */
+        void onBatch(InvalidationBatch batch);
+
+        /**
+         * O transporte pode ter perdido lotes (ex.: reconexão ao banco) e o estado dos caches locais não é mais
+         * confiável.
+         */
+        void onResync();
+
+    }
+
+}
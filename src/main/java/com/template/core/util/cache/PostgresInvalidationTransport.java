@@ -0,0 +1,165 @@
+package com.template.core.util.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Transporte dos lotes de invalidação pelo LISTEN/NOTIFY do Postgres.
+ * <p>
+ * Os lotes são publicados com {@code pg_notify} em uma conexão do pool e recebidos por uma thread dedicada que mantém
+ * uma conexão do pool em LISTEN no canal. Quando essa conexão cai, a thread reconecta e sinaliza
+ * {@link Listener#onResync()}, pois as notificações enviadas durante a queda foram perdidas.
+ * <p>
+ * Formato da mensagem: {@code <origem>\n<cache>:<id>,<cache>:*,...}, limitada a 8000 bytes pelo Postgres, o que
+ * comporta lotes de algumas centenas de invalidações.
+ */
+@Slf4j
+public final class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final int POLL_MILLIS = 500;
+
+    private static final long RETRY_MILLIS = 1000;
+
+    private final DataSource dataSource;
+
+    private final String channel;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Thread listenerThread;
+
+    private volatile boolean running = true;
+
+    /**
+     * Cria o transporte e inicia a thread de escuta do canal.
+     *
+     * @param dataSource DataSource do Postgres
+     * @param channel    nome do canal do LISTEN/NOTIFY
+     * @throws IllegalArgumentException se o nome do canal não for um identificador simples do Postgres
+     */
+    public PostgresInvalidationTransport(DataSource dataSource, String channel) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Canal de invalidação de cache inválido: " + channel);
+        }
+
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        this.listenerThread.setDaemon(true);
+        this.listenerThread.start();
+    }
+
+    @Override
+    public void publish(InvalidationBatch batch) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, encode(batch));
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao publicar o lote de invalidação de cache.", e);
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        listenerThread.interrupt();
+        try {
+            listenerThread.join(2L * POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Mantém a conexão em LISTEN e entrega as notificações recebidas, reconectando em caso de falha.
+     */
+    private void listen() {
+        boolean reconnecting = false;
+
+        while (running) {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                if (reconnecting) {
+                    listeners.forEach(Listener::onResync);
+                }
+                reconnecting = true;
+                receive(connection.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Conexão de escuta das invalidações de cache perdida, reconectando.", e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void receive(PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(POLL_MILLIS);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    deliver(notification.getParameter());
+                }
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        try {
+            InvalidationBatch batch = decode(payload);
+            listeners.forEach(listener -> listener.onBatch(batch));
+        } catch (RuntimeException e) {
+            log.warn("Lote de invalidação de cache inválido descartado: {}", payload, e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static String encode(InvalidationBatch batch) {
+        StringBuilder payload = new StringBuilder(batch.origin()).append('\n');
+        for (int i = 0; i < batch.invalidations().size(); i++) {
+            CacheInvalidation invalidation = batch.invalidations().get(i);
+            payload.append(i == 0 ? "" : ",").append(invalidation.cache()).append(':').append(invalidation.isAll() ? "*" : invalidation.id().toString());
+        }
+        return payload.toString();
+    }
+
+    static InvalidationBatch decode(String payload) {
+        int newLine = payload.indexOf('\n');
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+
+        for (String entry : payload.substring(newLine + 1).split(",")) {
+            int separator = entry.lastIndexOf(':');
+            String id = entry.substring(separator + 1);
+            invalidations.add(new CacheInvalidation(entry.substring(0, separator), id.equals("*") ? null : Long.valueOf(id)));
+        }
+        return new InvalidationBatch(payload.substring(0, newLine), invalidations);
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.template.core.util.documento;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Validação e normalização de CPF e CNPJ, inclusive do CNPJ alfanumérico.
+ * <p>
+ * A validação percorre os caracteres do documento sem alocar memória: a pontuação ({@code .}, {@code -}, {@code /} e
+ * espaços) é ignorada, os 11 ou 14 caracteres restantes são convertidos em valores ({@code caractere - '0'}, o que dá
+ * 0 a 9 para os dígitos e 17 a 42 para as letras do CNPJ alfanumérico) e os dígitos verificadores são calculados pelo
+ * módulo 11. Documentos com todos os dígitos iguais são recusados. A normalização aloca apenas a String resultante, e
+ * nenhuma quando o documento já está normalizado.
+ */
+public final class CpfCnpj {
+
+    /**
+     * Quantidade de caracteres do CPF normalizado.
+     */
+    public static final int TAMANHO_CPF = 11;
+
+    /**
+     * Quantidade de caracteres do CNPJ normalizado.
+     */
+    public static final int TAMANHO_CNPJ = 14;
+
+    private static final int[] PESOS_CNPJ = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private CpfCnpj() {
+    }
+
+    /**
+     * Indica se o documento é um CPF ou CNPJ válido, com ou sem pontuação.
+     *
+     * @param documento CPF ou CNPJ
+     * @return se o documento é válido
+     */
+    public static boolean isValido(CharSequence documento) {
+        int tamanho = documento == null ? -1 : tamanhoNormalizado(documento);
+        return (tamanho == TAMANHO_CPF || tamanho == TAMANHO_CNPJ) && verificadoresValidos(documento, tamanho);
+    }
+
+    /**
+     * Valida o documento e o retorna sem pontuação e com as letras em maiúsculas.
+     *
+     * @param documento CPF ou CNPJ
+     * @return o documento normalizado, ou {@code null} se for inválido
+     */
+    public static String normalizar(CharSequence documento) {
+        if (!isValido(documento)) {
+            return null;
+        }
+        if (documento instanceof String texto && texto.length() == tamanhoNormalizado(texto) && isMaiusculo(texto)) {
+            return texto;
+        }
+
+        char[] normalizado = new char[tamanhoNormalizado(documento)];
+        for (int i = 0, j = 0; i < documento.length(); i++) {
+            char c = documento.charAt(i);
+            if (!isSeparador(c)) {
+                normalizado[j++] = Character.toUpperCase(c);
+            }
+        }
+        return new String(normalizado);
+    }
+
+    /**
+     * Valida e normaliza uma lista de documentos.
+     *
+     * @param documentos CPFs ou CNPJs
+     * @return os documentos normalizados, na mesma ordem, com {@code null} nas posições dos inválidos
+     */
+    public static List<String> normalizar(List<? extends CharSequence> documentos) {
+        String[] normalizados = new String[documentos.size()];
+        for (int i = 0; i < normalizados.length; i++) {
+            normalizados[i] = normalizar(documentos.get(i));
+        }
+        return Arrays.asList(normalizados);
+    }
+
+    /**
+     * Quantidade de caracteres sem a pontuação, ou -1 se o documento possuir um caractere inválido ou mais de 14
+     * caracteres. Letras só são aceitas nas 12 primeiras posições, a raiz e a ordem do CNPJ alfanumérico.
+     */
+    private static int tamanhoNormalizado(CharSequence documento) {
+        int tamanho = 0;
+        for (int i = 0; i < documento.length(); i++) {
+            char c = documento.charAt(i);
+            if (isSeparador(c)) {
+                continue;
+            }
+            boolean digito = c >= '0' && c <= '9';
+            boolean letra = c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+            if (!digito && !(letra && tamanho < TAMANHO_CNPJ - 2) || ++tamanho > TAMANHO_CNPJ) {
+                return -1;
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Calcula os dois dígitos verificadores e os compara com os informados. Os pesos do CPF decrescem de 10 (ou 11) até
+     * 2; os do CNPJ seguem {@link #PESOS_CNPJ}, do segundo peso para o primeiro dígito e do primeiro para o segundo. O CPF
+     * não aceita letras.
+     */
+    private static boolean verificadoresValidos(CharSequence documento, int tamanho) {
+        boolean cpf = tamanho == TAMANHO_CPF;
+        int soma1 = 0;
+        int soma2 = 0;
+        int primeiro = -1;
+        boolean repetido = true;
+        int verificador1 = 0;
+        int verificador2 = 0;
+
+        for (int i = 0, posicao = 0; i < documento.length(); i++) {
+            char c = documento.charAt(i);
+            if (isSeparador(c)) {
+                continue;
+            }
+            int valor = Character.toUpperCase(c) - '0';
+            if (cpf && valor > 9) {
+                return false;
+            }
+            if (posicao < tamanho - 2) {
+                soma1 += valor * (cpf ? 10 - posicao : PESOS_CNPJ[posicao + 1]);
+                soma2 += valor * (cpf ? 11 - posicao : PESOS_CNPJ[posicao]);
+            } else if (posicao == tamanho - 2) {
+                verificador1 = valor;
+                soma2 += valor * 2;
+            } else {
+                verificador2 = valor;
+            }
+            repetido &= primeiro < 0 || valor == primeiro;
+            primeiro = posicao++ == 0 ? valor : primeiro;
+        }
+        return !repetido && verificador1 == digito(soma1) && verificador2 == digito(soma2);
+    }
+
+    private static int digito(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    private static boolean isSeparador(char c) {
+        return c == '.' || c == '-' || c == '/' || c == ' ';
+    }
+
+    private static boolean isMaiusculo(String documento) {
+        for (int i = 0; i < documento.length(); i++) {
+            if (documento.charAt(i) >= 'a') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.template.core.util.email;
+
+import com.template.core.exception.ValidacaoException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Diretório dos arquivos que podem ser anexados aos emails, como os relatórios gerados pela aplicação.
+ * <p>
+ * Os anexos são informados pelo caminho relativo ao diretório, e apenas arquivos regulares dentro dele são aceitos.
+ */
+public final class AnexosEmail {
+
+    private final Path diretorio;
+
+    /**
+     * @param diretorio diretório dos anexos
+     */
+    public AnexosEmail(Path diretorio) {
+        this.diretorio = diretorio.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Resolve os caminhos dos anexos.
+     *
+     * @param nomes caminhos dos anexos, relativos ao diretório
+     * @return os caminhos absolutos dos anexos, na mesma ordem
+     * @throws ValidacaoException se algum anexo estiver fora do diretório ou não for um arquivo existente
+     */
+    public List<Path> resolver(Collection<String> nomes) {
+        return nomes.stream().map(this::resolver).toList();
+    }
+
+    private Path resolver(String nome) {
+        Path arquivo = diretorio.resolve(nome).normalize();
+        try {
+            if (!arquivo.startsWith(diretorio) || !Files.isRegularFile(arquivo) || !arquivo.toRealPath().startsWith(diretorio.toRealPath())) {
+                throw new ValidacaoException(MessageFormat.format("Anexo {0} não encontrado.", nome));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return arquivo;
+    }
+
+}
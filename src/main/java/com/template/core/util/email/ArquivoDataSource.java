@@ -0,0 +1,59 @@
+package com.template.core.util.email;
+
+import jakarta.activation.DataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link DataSource} de um arquivo em disco, lido por um {@link FileChannel}.
+ * <p>
+ * Cada chamada de {@link #getInputStream()} abre um novo canal, de modo que a mensagem pode ser escrita novamente
+ * quando o envio é repetido, e o conteúdo é lido em blocos à medida que é codificado na saída MIME, sem ser carregado
+ * na memória.
+ */
+public final class ArquivoDataSource implements DataSource {
+
+    private static final String TIPO_PADRAO = "application/octet-stream";
+
+    private final Path arquivo;
+
+    private final String tipo;
+
+    /**
+     * @param arquivo caminho do arquivo
+     * @throws IOException se o tipo do arquivo não puder ser determinado
+     */
+    public ArquivoDataSource(Path arquivo) throws IOException {
+        this.arquivo = arquivo;
+        String tipo = Files.probeContentType(arquivo);
+        this.tipo = tipo == null ? TIPO_PADRAO : tipo;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Channels.newInputStream(FileChannel.open(arquivo, StandardOpenOption.READ));
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        throw new IOException("O anexo " + arquivo.getFileName() + " é somente leitura.");
+    }
+
+    @Override
+    public String getContentType() {
+        return tipo;
+    }
+
+    @Override
+    public String getName() {
+        return arquivo.getFileName().toString();
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.template.core.util.email;
+
+import jakarta.activation.DataHandler;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Envia emails HTML pelas conexões do {@link SmtpTransportPool}.
+ * <p>
+ * Os anexos são lidos do disco pelo {@link ArquivoDataSource} durante a escrita da mensagem na conexão, e codificados
+ * em base64 em blocos, de modo que nenhum anexo é carregado por inteiro na memória. A codificação é definida
+ * explicitamente para que o JavaMail não leia o arquivo inteiro antes do envio para escolhê-la.
+ */
+public class EmailSender {
+
+    private final InternetAddress sender;
+
+    private final SmtpTransportPool pool;
+
+    /**
+     * @param sender email do remetente
+     * @param pool   pool de conexões SMTP
+     * @throws MessagingException se o email do remetente for inválido
+     */
+    public EmailSender(String sender, SmtpTransportPool pool) throws MessagingException {
+        this.sender = new InternetAddress(sender);
+        this.pool = pool;
+    }
+
+    /**
+     * Envia um email HTML.
+     *
+     * @param destinatario email do destinatário
+     * @param assunto      assunto do email
+     * @param corpo        corpo do email, em HTML
+     * @throws MessagingException se o email não for enviado com sucesso
+     */
+    public void enviar(String destinatario, String assunto, String corpo) throws MessagingException {
+        enviar(destinatario, assunto, corpo, List.of());
+    }
+
+    /**
+     * Envia um email HTML com anexos.
+     *
+     * @param destinatario email do destinatário
+     * @param assunto      assunto do email
+     * @param corpo        corpo do email, em HTML
+     * @param anexos       arquivos anexados
+     * @throws MessagingException se o email não for enviado com sucesso ou um anexo não puder ser lido
+     */
+    public void enviar(String destinatario, String assunto, String corpo, List<Path> anexos) throws MessagingException {
+        Message message = new MimeMessage(pool.getSession());
+        message.setFrom(sender);
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(destinatario));
+        message.setSubject(assunto);
+        if (anexos.isEmpty()) {
+            message.setContent(corpo, "text/html");
+        } else {
+            MimeMultipart multipart = new MimeMultipart();
+            MimeBodyPart html = new MimeBodyPart();
+            html.setContent(corpo, "text/html");
+            multipart.addBodyPart(html);
+            for (Path anexo : anexos) {
+                multipart.addBodyPart(anexo(anexo));
+            }
+            message.setContent(multipart);
+        }
+        pool.enviar(message);
+    }
+
+    private static MimeBodyPart anexo(Path arquivo) throws MessagingException {
+        try {
+            MimeBodyPart anexo = new MimeBodyPart();
+            anexo.setDataHandler(new DataHandler(new ArquivoDataSource(arquivo)));
+            anexo.setFileName(arquivo.getFileName().toString());
+            anexo.setDisposition(MimeBodyPart.ATTACHMENT);
+            anexo.setHeader("Content-Transfer-Encoding", "base64");
+            return anexo;
+        } catch (IOException e) {
+            throw new MessagingException("Falha ao ler o anexo " + arquivo.getFileName() + ".", e);
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.template.core.util.email;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de conexões SMTP autenticadas e reutilizáveis.
+ * <p>
+ * Cada envio usa uma conexão ociosa do pool, e abre uma nova (TCP, STARTTLS e AUTH) apenas se não houver nenhuma. As
+ * conexões são reutilizadas da mais recente para a mais antiga, e as que ficam ociosas por mais de
+ * {@code maxOciosoMillis} são fechadas por uma verificação periódica. Uma conexão ociosa há mais de
+ * {@code validarAposMillis} é verificada com {@code NOOP} antes do uso. Uma conexão é fechada após
+ * {@code maxMensagens} envios, já que os servidores SMTP limitam as mensagens por conexão, e após qualquer erro que não
+ * seja a recusa dos destinatários.
+ */
+@Slf4j
+public final class SmtpTransportPool implements AutoCloseable {
+
+    private final Session session;
+
+    private final int maxMensagens;
+
+    private final long maxOciosoMillis;
+
+    private final long validarAposMillis;
+
+    private final Semaphore permissoes;
+
+    private final LinkedBlockingDeque<Conexao> ociosas = new LinkedBlockingDeque<>();
+
+    private final AtomicLong conexoesAbertas = new AtomicLong();
+
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * @param session           sessão do JavaMail, com o servidor e as credenciais
+     * @param tamanho           quantidade máxima de conexões
+     * @param maxMensagens      quantidade máxima de mensagens enviadas por conexão
+     * @param maxOciosoMillis   tempo máximo que uma conexão fica ociosa no pool
+     * @param validarAposMillis tempo ocioso a partir do qual a conexão é verificada antes do uso
+     */
+    public SmtpTransportPool(Session session, int tamanho, int maxMensagens, long maxOciosoMillis, long validarAposMillis) {
+        this.session = session;
+        this.maxMensagens = maxMensagens;
+        this.maxOciosoMillis = maxOciosoMillis;
+        this.validarAposMillis = validarAposMillis;
+        this.permissoes = new Semaphore(tamanho);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("smtp-pool-evictor-");
+        threadFactory.setDaemon(true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long intervalo = Math.max(1, maxOciosoMillis / 2);
+        evictor.scheduleWithFixedDelay(this::fecharOciosas, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Envia a mensagem por uma conexão do pool, aguardando uma conexão livre se todas estiverem em uso.
+     *
+     * @param message mensagem a ser enviada
+     * @throws MessagingException se a conexão ou o envio falharem
+     */
+    public void enviar(Message message) throws MessagingException {
+        try {
+            permissoes.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Envio interrompido aguardando uma conexão SMTP.", e);
+        }
+        try {
+            enviar(obter(), message);
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    /**
+     * Sessão do JavaMail usada pelas conexões, para a criação das mensagens.
+     *
+     * @return a sessão
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * Quantidade de conexões abertas desde a criação do pool.
+     *
+     * @return a quantidade de conexões abertas
+     */
+    public long getConexoesAbertas() {
+        return conexoesAbertas.get();
+    }
+
+    /**
+     * Quantidade de conexões ociosas no pool.
+     *
+     * @return a quantidade de conexões ociosas
+     */
+    public int getConexoesOciosas() {
+        return ociosas.size();
+    }
+
+    /**
+     * Fecha todas as conexões ociosas e interrompe a verificação periódica.
+     */
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        Conexao conexao;
+        while ((conexao = ociosas.pollFirst()) != null) {
+            fechar(conexao);
+        }
+    }
+
+    private void enviar(Conexao conexao, Message message) throws MessagingException {
+        try {
+            conexao.transport.sendMessage(message, message.getAllRecipients());
+        } catch (SendFailedException e) {
+            devolver(conexao);
+            throw e;
+        } catch (MessagingException | RuntimeException e) {
+            fechar(conexao);
+            throw e;
+        }
+        devolver(conexao);
+    }
+
+    /**
+     * Retorna a conexão ociosa mais recente ainda válida, ou abre uma nova.
+     */
+    private Conexao obter() throws MessagingException {
+        Conexao conexao;
+        while ((conexao = ociosas.pollFirst()) != null) {
+            long ocioso = System.currentTimeMillis() - conexao.ultimoUso;
+            if (ocioso <= maxOciosoMillis && (ocioso < validarAposMillis || conexao.transport.isConnected())) {
+                return conexao;
+            }
+            fechar(conexao);
+        }
+
+        Transport transport = session.getTransport("smtp");
+        transport.connect();
+        conexoesAbertas.incrementAndGet();
+        return new Conexao(transport);
+    }
+
+    private void devolver(Conexao conexao) {
+        conexao.ultimoUso = System.currentTimeMillis();
+        if (++conexao.mensagens >= maxMensagens) {
+            fechar(conexao);
+        } else {
+            ociosas.offerFirst(conexao);
+        }
+    }
+
+    private void fecharOciosas() {
+        long limite = System.currentTimeMillis() - maxOciosoMillis;
+        for (Conexao conexao : ociosas) {
+            if (conexao.ultimoUso < limite && ociosas.remove(conexao)) {
+                fechar(conexao);
+            }
+        }
+    }
+
+    private static void fechar(Conexao conexao) {
+        try {
+            conexao.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Falha ao fechar a conexão SMTP.", e);
+        }
+    }
+
+    /**
+     * Conexão do pool. Usada por uma thread de cada vez: fora do pool pela thread que a obteve, e dentro do pool apenas
+     * pela verificação periódica, após removê-la.
+     */
+    private static final class Conexao {
+
+        private final Transport transport;
+
+        private volatile long ultimoUso = System.currentTimeMillis();
+
+        private int mensagens;
+
+        private Conexao(Transport transport) {
+            this.transport = transport;
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.template.core.util.email;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Texto com variáveis {@code {{nome}}}, compilado uma única vez em trechos literais intercalados com os nomes das
+ * variáveis.
+ * <p>
+ * A renderização apenas concatena os trechos e os valores no buffer informado, sem reinterpretar o texto nem alocar
+ * memória além do crescimento do buffer. Os valores são escapados para HTML quando o template é compilado com
+ * {@code escaparHtml}; caso contrário o texto é uma linha de cabeçalho, como o assunto do email, e os caracteres de
+ * controle dos valores, inclusive CR e LF, são trocados por espaço para que um valor não injete outros cabeçalhos.
+ * Variáveis sem valor são renderizadas vazias.
+ */
+public final class TemplateCompilado {
+
+    private static final Pattern NOME_VARIAVEL = Pattern.compile("[A-Za-z_][A-Za-z0-9_.-]*");
+
+    private final String[] literais;
+
+    private final String[] variaveis;
+
+    private final boolean escaparHtml;
+
+    private TemplateCompilado(String[] literais, String[] variaveis, boolean escaparHtml) {
+        this.literais = literais;
+        this.variaveis = variaveis;
+        this.escaparHtml = escaparHtml;
+    }
+
+    /**
+     * Compila o texto.
+     *
+     * @param fonte       texto com as variáveis {@code {{nome}}}
+     * @param escaparHtml se os valores devem ser escapados para HTML ou, caso contrário, ter os caracteres de controle
+     *                    trocados por espaço
+     * @return o template compilado
+     * @throws IllegalArgumentException se uma variável não for fechada ou tiver um nome inválido
+     */
+    public static TemplateCompilado compilar(String fonte, boolean escaparHtml) {
+        List<String> literais = new ArrayList<>();
+        List<String> variaveis = new ArrayList<>();
+        int inicio = 0;
+        for (int abertura = fonte.indexOf("{{"); abertura >= 0; abertura = fonte.indexOf("{{", inicio)) {
+            int fechamento = fonte.indexOf("}}", abertura + 2);
+            String nome = fechamento < 0 ? "" : fonte.substring(abertura + 2, fechamento).trim();
+            if (!NOME_VARIAVEL.matcher(nome).matches()) {
+                throw new IllegalArgumentException("Variável inválida na posição " + abertura + " do template.");
+            }
+            literais.add(fonte.substring(inicio, abertura));
+            variaveis.add(nome.intern());
+            inicio = fechamento + 2;
+        }
+        literais.add(fonte.substring(inicio));
+        return new TemplateCompilado(literais.toArray(String[]::new), variaveis.toArray(String[]::new), escaparHtml);
+    }
+
+    /**
+     * Nomes das variáveis do template, na ordem em que aparecem e sem repetições.
+     *
+     * @return os nomes das variáveis
+     */
+    public Set<String> getVariaveis() {
+        return new LinkedHashSet<>(Arrays.asList(variaveis));
+    }
+
+    /**
+     * Renderiza o template no buffer.
+     *
+     * @param valores valor de cada variável, pelo nome, ou {@code null} se a variável não tiver valor
+     * @param destino buffer em que o texto é acrescentado
+     */
+    public void renderizar(Function<String, String> valores, StringBuilder destino) {
+        destino.append(literais[0]);
+        for (int i = 0; i < variaveis.length; i++) {
+            String valor = valores.apply(variaveis[i]);
+            if (valor != null && escaparHtml) {
+                escaparHtml(valor, destino);
+            } else if (valor != null) {
+                removerControle(valor, destino);
+            }
+            destino.append(literais[i + 1]);
+        }
+    }
+
+    /**
+     * Acrescenta o valor escapado ao buffer, copiando de uma vez os trechos sem caracteres especiais.
+     */
+    private static void escaparHtml(String valor, StringBuilder destino) {
+        int inicio = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            String entidade = switch (valor.charAt(i)) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entidade != null) {
+                destino.append(valor, inicio, i).append(entidade);
+                inicio = i + 1;
+            }
+        }
+        destino.append(valor, inicio, valor.length());
+    }
+
+    /**
+     * Acrescenta o valor ao buffer com os caracteres de controle trocados por espaço.
+     */
+    private static void removerControle(String valor, StringBuilder destino) {
+        int inicio = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            if (Character.isISOControl(valor.charAt(i))) {
+                destino.append(valor, inicio, i).append(' ');
+                inicio = i + 1;
+            }
+        }
+        destino.append(valor, inicio, valor.length());
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.template.core.util.email;
+
+import com.template.core.exception.ValidacaoException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Templates HTML dos emails, carregados de {@code templates/email/<nome>.html} no classpath e compilados uma única vez
+ * na inicialização.
+ * <p>
+ * O assunto do email é o texto do elemento {@code <title>} do template, com as entidades HTML decodificadas e os
+ * espaços e quebras de linha reduzidos a um espaço, renderizado sem escape e sem os caracteres de controle dos valores
+ * das variáveis. A variável {@value #DESTINATARIO} é preenchida com o email de cada destinatário no envio; as demais
+ * são informadas por quem solicita o envio. A renderização usa um buffer por thread, reaproveitado entre as mensagens.
+ */
+public final class TemplatesEmail {
+
+    /**
+     * Variável preenchida com o email do destinatário.
+     */
+    public static final String DESTINATARIO = "destinatario";
+
+    private static final String LOCALIZACAO = "classpath*:templates/email/*.html";
+
+    private static final Pattern TITULO = Pattern.compile("<title>(.*?)</title>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private static final Pattern ESPACOS = Pattern.compile("[\\s\\p{Cntrl}]+");
+
+    /**
+     * Tamanho a partir do qual o buffer da thread é descartado após o uso, para não reter a memória de uma mensagem
+     * excepcionalmente grande.
+     */
+    private static final int TAMANHO_MAXIMO_BUFFER = 1 << 16;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final Map<String, TemplateEmail> templates;
+
+    private TemplatesEmail(Map<String, TemplateEmail> templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * Carrega e compila todos os templates do classpath.
+     *
+     * @return os templates
+     * @throws UncheckedIOException  se um template não puder ser lido
+     * @throws IllegalStateException se um template não tiver o elemento {@code <title>} ou tiver uma variável inválida
+     */
+    public static TemplatesEmail carregar() {
+        try {
+            Map<String, TemplateEmail> templates = new HashMap<>();
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCALIZACAO)) {
+                String nome = resource.getFilename().substring(0, resource.getFilename().length() - ".html".length());
+                templates.put(nome, compilar(nome, resource.getContentAsString(StandardCharsets.UTF_8)));
+            }
+            return new TemplatesEmail(Map.copyOf(templates));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compila um template.
+     *
+     * @param nome  nome do template
+     * @param fonte HTML do template
+     * @return o template compilado
+     * @throws IllegalStateException se o template não tiver o elemento {@code <title>} ou tiver uma variável inválida
+     */
+    public static TemplateEmail compilar(String nome, String fonte) {
+        Matcher titulo = TITULO.matcher(fonte);
+        if (!titulo.find()) {
+            throw new IllegalStateException(MessageFormat.format("Template de email {0} sem o elemento <title>.", nome));
+        }
+        try {
+            return new TemplateEmail(TemplateCompilado.compilar(assunto(titulo.group(1)), false), TemplateCompilado.compilar(fonte, true));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(MessageFormat.format("Template de email {0} inválido: {1}", nome, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Texto do assunto a partir do conteúdo do {@code <title>}: as entidades HTML decodificadas e os espaços, quebras de
+     * linha e demais caracteres de controle reduzidos a um espaço.
+     */
+    private static String assunto(String titulo) {
+        return ESPACOS.matcher(HtmlUtils.htmlUnescape(titulo)).replaceAll(" ").strip();
+    }
+
+    /**
+     * Verifica se o template existe e se todas as suas variáveis, exceto {@value #DESTINATARIO}, foram informadas.
+     *
+     * @param nome      nome do template
+     * @param variaveis nomes das variáveis informadas
+     * @throws ValidacaoException se o template não existir ou faltar alguma variável
+     */
+    public void validar(String nome, Collection<String> variaveis) {
+        Set<String> faltantes = new LinkedHashSet<>(get(nome).variaveis());
+        faltantes.remove(DESTINATARIO);
+        faltantes.removeAll(variaveis);
+        if (!faltantes.isEmpty()) {
+            throw new ValidacaoException(MessageFormat.format("Variáveis {0} não informadas para o template de email {1}.", faltantes, nome));
+        }
+    }
+
+    /**
+     * Renderiza o assunto e o corpo de um email.
+     *
+     * @param nome    nome do template
+     * @param valores valor de cada variável, pelo nome
+     * @return o assunto e o corpo renderizados
+     * @throws ValidacaoException se o template não existir
+     */
+    public Conteudo renderizar(String nome, Function<String, String> valores) {
+        TemplateEmail template = get(nome);
+        StringBuilder buffer = BUFFER.get();
+        try {
+            buffer.setLength(0);
+            template.assunto().renderizar(valores, buffer);
+            int fimAssunto = buffer.length();
+            template.corpo().renderizar(valores, buffer);
+            return new Conteudo(buffer.substring(0, fimAssunto), buffer.substring(fimAssunto));
+        } finally {
+            if (buffer.capacity() > TAMANHO_MAXIMO_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private TemplateEmail get(String nome) {
+        TemplateEmail template = templates.get(nome);
+        if (template == null) {
+            throw new ValidacaoException(MessageFormat.format("Template de email {0} não encontrado.", nome));
+        }
+        return template;
+    }
+
+    /**
+     * Template de email compilado.
+     *
+     * @param assunto   conteúdo do elemento {@code <title>}
+     * @param corpo     HTML completo
+     * @param variaveis nomes das variáveis do assunto e do corpo
+     */
+    public record TemplateEmail(TemplateCompilado assunto, TemplateCompilado corpo, Set<String> variaveis) {
+
+        private TemplateEmail(TemplateCompilado assunto, TemplateCompilado corpo) {
+            this(assunto, corpo, union(assunto.getVariaveis(), corpo.getVariaveis()));
+        }
+
+        private static Set<String> union(Set<String> assunto, Set<String> corpo) {
+            Set<String> variaveis = new LinkedHashSet<>(assunto);
+            variaveis.addAll(corpo);
+            return Set.copyOf(variaveis);
+        }
+
+    }
+
+    /**
+     * Assunto e corpo renderizados de um email.
+     *
+     * @param assunto assunto do email
+     * @param corpo   corpo do email, em HTML
+     */
+    public record Conteudo(String assunto, String corpo) {
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.template.core.util.exportacao;
+
+import java.util.function.Function;
+
+/**
+ * Coluna de uma exportação: o nome, usado no cabeçalho do CSV e como campo do NDJSON, e o valor extraído do registro.
+ *
+ * @param nome  nome da coluna
+ * @param valor função que extrai o valor do registro
+ * @param <T>   tipo do registro
+ */
+public record ColunaExportacao<T>(String nome, Function<T, Object> valor) {
+}
@@ -0,0 +1,146 @@
+package com.template.core.util.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Escritor incremental de uma exportação, em NDJSON (um objeto JSON por linha) ou CSV.
+ * <p>
+ * Cada registro é escrito assim que recebido, através de um buffer de tamanho fixo, portanto a memória utilizada não
+ * depende da quantidade de registros. O CSV segue o formato lido pela importação: cabeçalho com os nomes das colunas e
+ * campos com vírgula, aspas ou quebra de linha delimitados por aspas duplas.
+ *
+ * @param <T> tipo do registro
+ */
+public final class EscritorExportacao<T> implements Flushable {
+
+    /**
+     * Media type do NDJSON.
+     */
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /**
+     * Media type do CSV.
+     */
+    public static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final Writer writer;
+
+    /**
+     * Gerador JSON sobre o {@link #writer}, ou {@code null} para CSV.
+     */
+    private final JsonGenerator json;
+
+    private final List<ColunaExportacao<T>> colunas;
+
+    private EscritorExportacao(Writer writer, JsonGenerator json, List<ColunaExportacao<T>> colunas) {
+        this.writer = writer;
+        this.json = json;
+        this.colunas = colunas;
+    }
+
+    /**
+     * Cria o escritor de acordo com o formato solicitado, escrevendo o cabeçalho no caso do CSV.
+     *
+     * @param formato      cabeçalho Accept da requisição, {@code text/csv} ou NDJSON
+     * @param outputStream corpo da resposta
+     * @param objectMapper ObjectMapper da aplicação
+     * @param colunas      colunas exportadas
+     * @param <T>          tipo do registro
+     * @return o escritor
+     * @throws IOException se ocorrer um erro na escrita
+     */
+    public static <T> EscritorExportacao<T> of(String formato, OutputStream outputStream, ObjectMapper objectMapper, List<ColunaExportacao<T>> colunas) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (isCsv(formato)) {
+            EscritorExportacao<T> escritor = new EscritorExportacao<>(writer, null, colunas);
+            escritor.linha(colunas.stream().map(ColunaExportacao::nome).toList());
+            return escritor;
+        }
+
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+        return new EscritorExportacao<>(writer, json, colunas);
+    }
+
+    /**
+     * Media type da resposta de acordo com o formato solicitado.
+     *
+     * @param formato cabeçalho Accept da requisição
+     * @return {@link #CSV} ou {@link #NDJSON}
+     */
+    public static MediaType mediaType(String formato) {
+        return isCsv(formato) ? CSV : NDJSON;
+    }
+
+    private static boolean isCsv(String formato) {
+        return formato != null && formato.toLowerCase(Locale.ROOT).contains("csv");
+    }
+
+    /**
+     * Escreve um registro.
+     *
+     * @param registro registro a ser escrito
+     * @throws IOException se ocorrer um erro na escrita, inclusive pelo encerramento da conexão pelo cliente
+     */
+    public void escreve(T registro) throws IOException {
+        if (json == null) {
+            linha(colunas.stream().map(coluna -> coluna.valor().apply(registro)).toList());
+            return;
+        }
+
+        json.writeStartObject();
+        for (ColunaExportacao<T> coluna : colunas) {
+            json.writeFieldName(coluna.nome());
+            json.writeObject(coluna.valor().apply(registro));
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void linha(List<?> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(campo(valores.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Formata um campo do CSV, delimitando por aspas duplas e escapando as aspas ({@code ""}) quando necessário.
+     */
+    private static String campo(Object valor) {
+        String texto = valor == null ? "" : valor.toString();
+        if (texto.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Envia ao cliente o conteúdo ainda no buffer.
+     *
+     * @throws IOException se ocorrer um erro na escrita
+     */
+    @Override
+    public void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.template.core.util.exportacao;
+
+import jakarta.persistence.EntityManager;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de uma consulta em streaming.
+ * <p>
+ * As consultas de exportação retornam um {@link Stream} com o fetch size {@link #FETCH_SIZE}: o driver mantém o cursor
+ * aberto no banco e busca um bloco de linhas por vez, sem consulta de contagem. Cada registro é escrito diretamente na
+ * resposta, e o contexto de persistência é limpo a cada bloco, de modo que as entidades (e os proxies das associações)
+ * já escritas são liberadas. Como a escrita bloqueia enquanto o cliente não consome a resposta, um cliente lento
+ * também atrasa a leitura do cursor, e a memória utilizada não depende da quantidade de registros.
+ * <p>
+ * Deve ser executada em uma transação somente leitura: o PostgreSQL só usa o cursor com o autocommit desligado, e a
+ * transação somente leitura dispensa as cópias das entidades para a verificação de alterações.
+ */
+public final class Exportacao {
+
+    /**
+     * Quantidade de linhas buscadas por vez pelo driver JDBC, usada na dica {@code org.hibernate.fetchSize} das consultas.
+     */
+    public static final String FETCH_SIZE = "1000";
+
+    /**
+     * Quantidade de registros escritos entre as limpezas do contexto de persistência.
+     */
+    private static final int TAMANHO_BLOCO = Integer.parseInt(FETCH_SIZE);
+
+    private Exportacao() {
+    }
+
+    /**
+     * Escreve todos os registros do stream, limpando o contexto de persistência a cada bloco.
+     *
+     * @param entityManager EntityManager da transação da consulta
+     * @param registros     registros a serem exportados
+     * @param escritor      escritor da resposta
+     * @param <T>           tipo do registro
+     * @return a quantidade de registros exportados
+     * @throws IOException se ocorrer um erro na escrita, inclusive pelo encerramento da conexão pelo cliente
+     */
+    public static <T> long executar(EntityManager entityManager, Stream<T> registros, EscritorExportacao<T> escritor) throws IOException {
+        long total = 0;
+        for (Iterator<T> iterator = registros.iterator(); iterator.hasNext(); ) {
+            escritor.escreve(iterator.next());
+            if (++total % TAMANHO_BLOCO == 0) {
+                entityManager.clear();
+            }
+        }
+        escritor.flush();
+        return total;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.template.core.util.importacao;
+
+import com.template.core.dto.UserImportDTO;
+
+/**
+ * Linha lida do arquivo de importação.
+ *
+ * @param numero número da linha no arquivo
+ * @param user   dados do user ou {@code null} se a linha não pôde ser interpretada
+ * @param erro   motivo pelo qual a linha não pôde ser interpretada ou {@code null}
+ */
+public record LinhaImportacao(long numero, UserImportDTO user, String erro) {
+
+}
@@ -0,0 +1,158 @@
+package com.template.core.util.importacao;
+
+import com.template.core.dto.UserImportDTO;
+import com.template.core.util.documento.CpfCnpj;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lote de linhas da importação de users. Valida cada linha ao ser adicionada, normalizando o CPF/CNPJ como ele é gravado
+ * nos dados pessoais, e, com as consultas em lote feitas pelo serviço, resolve as referências e descarta conflitos com
+ * registros existentes.
+ */
+public final class LoteImportacao {
+
+    /**
+     * IDs das roles ativas pelo nome em maiúsculas.
+     */
+    private final Map<String, Long> roles;
+
+    private final RelatorioImportacao relatorio;
+
+    private final List<LinhaImportacao> linhas = new ArrayList<>();
+
+    private final Set<String> usernames = new HashSet<>();
+
+    private final Set<String> emails = new HashSet<>();
+
+    private final Set<String> cpfCnpjs = new HashSet<>();
+
+    /**
+     * Cria o lote.
+     *
+     * @param roles     IDs das roles ativas pelo nome em maiúsculas
+     * @param relatorio relatório onde as linhas recusadas são registradas
+     */
+    public LoteImportacao(Map<String, Long> roles, RelatorioImportacao relatorio) {
+        this.roles = roles;
+        this.relatorio = relatorio;
+    }
+
+    /**
+     * Valida a linha e a adiciona ao lote com o CPF/CNPJ normalizado; linhas inválidas são registradas no relatório.
+     *
+     * @param linha linha lida do arquivo
+     * @return a quantidade de linhas válidas no lote
+     */
+    public int adiciona(LinhaImportacao linha) {
+        relatorio.lida();
+        UserImportDTO user = linha.user();
+        String cpfCnpj = linha.erro() != null ? null : CpfCnpj.normalizar(user.cpfCnpj());
+        String erro = linha.erro() != null ? linha.erro() : valida(user, cpfCnpj);
+
+        if (erro != null) {
+            relatorio.falha(linha.numero(), erro);
+        } else {
+            linhas.add(cpfCnpj == user.cpfCnpj() ? linha : new LinhaImportacao(linha.numero(), new UserImportDTO(user.username(), user.password(), user.email(), cpfCnpj, user.roles()), null));
+            usernames.add(user.username());
+            emails.add(email(user));
+            cpfCnpjs.add(cpfCnpj);
+        }
+        return linhas.size();
+    }
+
+    /**
+     * Resolve as referências das linhas válidas, recusando as que conflitam com registros existentes.
+     *
+     * @param usernamesExistentes usernames do lote já cadastrados
+     * @param emailsExistentes    emails do lote já cadastrados
+     * @param cpfCnpjsVinculados  CPFs/CNPJs do lote cujos dados pessoais já pertencem a um user
+     * @param dadosPessoais       IDs dos dados pessoais ativos pelo CPF/CNPJ
+     * @return os users prontos para inserção
+     */
+    public List<NovoUser> resolve(Set<String> usernamesExistentes, Set<String> emailsExistentes, Set<String> cpfCnpjsVinculados, Map<String, Long> dadosPessoais) {
+        List<NovoUser> users = new ArrayList<>(linhas.size());
+        for (LinhaImportacao linha : linhas) {
+            UserImportDTO user = linha.user();
+            String email = email(user);
+
+            if (usernamesExistentes.contains(user.username())) {
+                relatorio.falha(linha.numero(), "Username " + user.username() + " já cadastrado.");
+            } else if (emailsExistentes.contains(email)) {
+                relatorio.falha(linha.numero(), "Email " + email + " já cadastrado.");
+            } else if (cpfCnpjsVinculados.contains(user.cpfCnpj())) {
+                relatorio.falha(linha.numero(), "Dados pessoais com CPF/CNPJ " + user.cpfCnpj() + " já vinculados a outro user.");
+            } else if (!dadosPessoais.containsKey(user.cpfCnpj())) {
+                relatorio.falha(linha.numero(), "Dados pessoais com CPF/CNPJ " + user.cpfCnpj() + " não encontrados.");
+            } else {
+                users.add(new NovoUser(linha.numero(), user.username(), user.password(), email, dadosPessoais.get(user.cpfCnpj()), user.roles().stream().map(role -> roles.get(role(role))).distinct().toList()));
+            }
+        }
+        return users;
+    }
+
+    public Set<String> usernames() {
+        return usernames;
+    }
+
+    public Set<String> emails() {
+        return emails;
+    }
+
+    public Set<String> cpfCnpjs() {
+        return cpfCnpjs;
+    }
+
+    public boolean isEmpty() {
+        return linhas.isEmpty();
+    }
+
+    /**
+     * Esvazia o lote para reutilização.
+     */
+    public void clear() {
+        linhas.clear();
+        usernames.clear();
+        emails.clear();
+        cpfCnpjs.clear();
+    }
+
+    private String valida(UserImportDTO user, String cpfCnpj) {
+        if (isBlank(user.username()) || isBlank(user.password()) || isBlank(user.email()) || isBlank(user.cpfCnpj())) {
+            return "Os campos username, password, email e cpfCnpj são obrigatórios.";
+        }
+        if (user.roles() == null || user.roles().isEmpty()) {
+            return "O user deve possuir ao menos uma role.";
+        }
+        for (String role : user.roles()) {
+            if (!roles.containsKey(role(role))) {
+                return "Role " + role + " não encontrada.";
+            }
+        }
+        if (cpfCnpj == null) {
+            return "CPF/CNPJ " + user.cpfCnpj() + " inválido.";
+        }
+        if (usernames.contains(user.username()) || emails.contains(email(user)) || cpfCnpjs.contains(cpfCnpj)) {
+            return "Username, email ou CPF/CNPJ duplicado no arquivo.";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String email(UserImportDTO user) {
+        return user.email().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String role(String role) {
+        return role.trim().toUpperCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.template.core.util.importacao;
+
+import java.util.List;
+
+/**
+ * User validado e com as referências resolvidas, pronto para inserção.
+ *
+ * @param linha           número da linha no arquivo
+ * @param username        username do user
+ * @param password        senha em texto puro, substituída pelo hash na inserção
+ * @param email           email do user em minúsculas
+ * @param dadosPessoaisId ID dos dados pessoais
+ * @param roleIds         IDs das roles
+ */
+public record NovoUser(long linha, String username, String password, String email, Long dadosPessoaisId, List<Long> roleIds) {
+
+}
@@ -0,0 +1,54 @@
+package com.template.core.util.importacao;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Preenche o INSERT em lote da tabela users a partir dos users importados e dos hashes das senhas.
+ * Os parâmetros seguem a ordem {@code id, tx_username, tx_password, tx_email, dt_data_cadastro, dados_pessoais_id}.
+ */
+public final class NovoUserBatchSetter implements BatchPreparedStatementSetter {
+
+    private final List<NovoUser> users;
+
+    private final List<String> hashes;
+
+    private final List<Long> ids;
+
+    private final Date dataCadastro = Date.valueOf(LocalDate.now());
+
+    /**
+     * Cria o setter.
+     *
+     * @param users  users a serem inseridos
+     * @param hashes hashes das senhas, na mesma ordem dos users
+     * @param ids    IDs reservados na sequência, na mesma ordem dos users
+     */
+    public NovoUserBatchSetter(List<NovoUser> users, List<String> hashes, List<Long> ids) {
+        this.users = users;
+        this.hashes = hashes;
+        this.ids = ids;
+    }
+
+    @Override
+    public void setValues(PreparedStatement ps, int i) throws SQLException {
+        NovoUser user = users.get(i);
+        ps.setLong(1, ids.get(i));
+        ps.setString(2, user.username());
+        ps.setString(3, hashes.get(i));
+        ps.setString(4, user.email());
+        ps.setDate(5, dataCadastro);
+        ps.setLong(6, user.dadosPessoaisId());
+    }
+
+    @Override
+    public int getBatchSize() {
+        return users.size();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.template.core.util.importacao;
+
+import com.template.core.dto.ErroImportacaoDTO;
+import com.template.core.dto.ImportacaoResultadoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula o resultado de uma importação. Apenas os primeiros erros são guardados, mantendo a memória constante
+ * independentemente do tamanho do arquivo.
+ */
+public final class RelatorioImportacao {
+
+    private final int maxErros;
+
+    private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+
+    private long total;
+
+    private long importados;
+
+    private long falhas;
+
+    /**
+     * Cria o relatório.
+     *
+     * @param maxErros quantidade máxima de erros guardados
+     */
+    public RelatorioImportacao(int maxErros) {
+        this.maxErros = maxErros;
+    }
+
+    /**
+     * Registra a leitura de uma linha de dados.
+     */
+    public void lida() {
+        total++;
+    }
+
+    /**
+     * Registra registros importados.
+     *
+     * @param quantidade quantidade de registros importados
+     */
+    public void importados(int quantidade) {
+        importados += quantidade;
+    }
+
+    /**
+     * Registra uma linha recusada.
+     *
+     * @param linha    número da linha no arquivo
+     * @param mensagem motivo da recusa
+     */
+    public void falha(long linha, String mensagem) {
+        falhas++;
+        if (erros.size() < maxErros) {
+            erros.add(new ErroImportacaoDTO(linha, mensagem));
+        }
+    }
+
+    /**
+     * Converte o relatório no DTO de resposta.
+     */
+    public ImportacaoResultadoDTO toDTO() {
+        return new ImportacaoResultadoDTO(total, importados, falhas, List.copyOf(erros));
+    }
+
+}
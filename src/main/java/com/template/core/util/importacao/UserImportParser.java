@@ -0,0 +1,153 @@
+package com.template.core.util.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.template.core.dto.UserImportDTO;
+import com.template.core.exception.ValidacaoException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Leitor incremental do arquivo de importação de users, em NDJSON (um objeto JSON por linha) ou CSV.
+ * <p>
+ * O arquivo é lido linha a linha, portanto a memória utilizada não depende do tamanho do arquivo, e uma linha
+ * inválida não interrompe a leitura das demais. No CSV a primeira linha é o cabeçalho com as colunas
+ * {@code username,password,email,cpfCnpj,roles}, em qualquer ordem; as roles são separadas por {@code |} e campos
+ * podem ser delimitados por aspas duplas, sem quebras de linha.
+ */
+public final class UserImportParser implements Closeable {
+
+    private static final List<String> COLUNAS = List.of("username", "password", "email", "cpfcnpj", "roles");
+
+    private final BufferedReader reader;
+
+    private final ObjectReader jsonReader;
+
+    /**
+     * Posição de cada coluna de {@link #COLUNAS} no CSV, ou {@code null} para NDJSON.
+     */
+    private int[] colunas;
+
+    private long numero;
+
+    private UserImportParser(InputStream inputStream, ObjectReader jsonReader) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.jsonReader = jsonReader;
+    }
+
+    /**
+     * Cria o leitor de acordo com o Content-Type da requisição.
+     *
+     * @param contentType  Content-Type da requisição, {@code text/csv} ou NDJSON
+     * @param inputStream  corpo da requisição
+     * @param objectMapper ObjectMapper da aplicação
+     * @return o leitor
+     */
+    public static UserImportParser of(String contentType, InputStream inputStream, ObjectMapper objectMapper) {
+        boolean csv = contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv");
+        return new UserImportParser(inputStream, csv ? null : objectMapper.readerFor(UserImportDTO.class));
+    }
+
+    /**
+     * Lê a próxima linha de dados, ignorando linhas em branco.
+     *
+     * @return a linha lida ou {@code null} ao final do arquivo
+     * @throws IOException         se ocorrer um erro de leitura
+     * @throws ValidacaoException se o cabeçalho do CSV não possuir todas as colunas
+     */
+    public LinhaImportacao next() throws IOException {
+        String line = nextLine();
+        if (line != null && jsonReader == null && colunas == null) {
+            colunas = cabecalho(line);
+            line = nextLine();
+        }
+        return line == null ? null : parse(line);
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            numero++;
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private LinhaImportacao parse(String line) {
+        try {
+            return new LinhaImportacao(numero, jsonReader != null ? jsonReader.readValue(line) : csv(line), null);
+        } catch (JsonProcessingException ex) {
+            return new LinhaImportacao(numero, null, "JSON inválido: " + ex.getOriginalMessage());
+        } catch (IllegalArgumentException ex) {
+            return new LinhaImportacao(numero, null, ex.getMessage());
+        }
+    }
+
+    private UserImportDTO csv(String line) {
+        List<String> campos = campos(line);
+        if (campos.size() < Arrays.stream(colunas).max().orElse(0) + 1) {
+            throw new IllegalArgumentException("Quantidade de colunas menor que a do cabeçalho.");
+        }
+
+        String roles = campos.get(colunas[4]);
+        return new UserImportDTO(campos.get(colunas[0]), campos.get(colunas[1]), campos.get(colunas[2]), campos.get(colunas[3]), roles.isBlank() ? List.of() : List.of(roles.split("\\|")));
+    }
+
+    private static int[] cabecalho(String line) {
+        List<String> nomes = campos(line).stream().map(nome -> nome.trim().toLowerCase(Locale.ROOT)).toList();
+        int[] posicoes = new int[COLUNAS.size()];
+        for (int i = 0; i < posicoes.length; i++) {
+            posicoes[i] = nomes.indexOf(COLUNAS.get(i));
+            if (posicoes[i] < 0) {
+                throw new ValidacaoException("Coluna " + COLUNAS.get(i) + " ausente no cabeçalho do CSV.");
+            }
+        }
+        return posicoes;
+    }
+
+    /**
+     * Separa os campos de uma linha CSV, tratando campos entre aspas duplas e aspas escapadas ({@code ""}).
+     */
+    private static List<String> campos(String line) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean aspas = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (aspas && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                atual.append(c);
+                i++;
+            } else if (c == '"') {
+                aspas = !aspas;
+            } else if (c == ',' && !aspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+
+        if (aspas) {
+            throw new IllegalArgumentException("Aspas não fechadas.");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
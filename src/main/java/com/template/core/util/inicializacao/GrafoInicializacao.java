@@ -0,0 +1,97 @@
+package com.template.core.util.inicializacao;
+
+import com.template.core.dto.EtapaInicializacaoDTO;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Grafo de dependências entre as etapas da carga inicial da aplicação.
+ * <p>
+ * Cada etapa é executada assim que as suas dependências forem concluídas, e as etapas independentes são executadas
+ * em paralelo no executor informado. As dependências precisam ser registradas antes da etapa, o que impede ciclos.
+ * Quando uma etapa falha, as que dependem dela não são executadas e são registradas como canceladas. A execução de
+ * cada etapa é registrada, com o início relativo ao início da carga e a duração, para a linha do tempo da
+ * inicialização.
+ */
+public final class GrafoInicializacao {
+
+    public static final String CONCLUIDA = "CONCLUIDA";
+    public static final String FALHA = "FALHA";
+    public static final String CANCELADA = "CANCELADA";
+
+    private final Map<String, Etapa> etapas = new LinkedHashMap<>();
+
+    /**
+     * Registra uma etapa.
+     *
+     * @param nome         nome da etapa
+     * @param acao         ação da etapa
+     * @param dependencias nomes das etapas, já registradas, que precisam ser concluídas antes desta
+     * @return o próprio grafo
+     * @throws IllegalArgumentException se a etapa já estiver registrada ou alguma dependência não estiver
+     */
+    public GrafoInicializacao etapa(String nome, Runnable acao, String... dependencias) {
+        if (etapas.containsKey(nome)) {
+            throw new IllegalArgumentException(MessageFormat.format("Etapa {0} já registrada.", nome));
+        }
+        for (String dependencia : dependencias) {
+            if (!etapas.containsKey(dependencia)) {
+                throw new IllegalArgumentException(MessageFormat.format("Dependência {0} da etapa {1} não registrada.", dependencia, nome));
+            }
+        }
+        etapas.put(nome, new Etapa(nome, acao, List.of(dependencias)));
+        return this;
+    }
+
+    /**
+     * Executa as etapas.
+     *
+     * @param executor executor das etapas
+     * @return a execução de cada etapa, na ordem de término, quando todas tiverem terminado
+     */
+    public CompletableFuture<List<EtapaInicializacaoDTO>> executar(Executor executor) {
+        long inicio = System.nanoTime();
+        List<EtapaInicializacaoDTO> execucoes = Collections.synchronizedList(new ArrayList<>());
+        Map<String, CompletableFuture<Void>> futuros = new LinkedHashMap<>();
+        for (Etapa etapa : etapas.values()) {
+            CompletableFuture<?>[] dependencias = etapa.dependencias().stream().map(futuros::get).toArray(CompletableFuture[]::new);
+            futuros.put(etapa.nome(), CompletableFuture.allOf(dependencias)
+                    .whenComplete((nada, falha) -> {
+                        if (falha != null) {
+                            execucoes.add(execucao(etapa, CANCELADA, inicio, System.nanoTime(), null));
+                        }
+                    })
+                    .thenRunAsync(() -> executar(etapa, inicio, execucoes), executor));
+        }
+        return CompletableFuture.allOf(futuros.values().toArray(CompletableFuture[]::new))
+                .handle((nada, falha) -> List.copyOf(execucoes));
+    }
+
+    private static void executar(Etapa etapa, long inicio, List<EtapaInicializacaoDTO> execucoes) {
+        long inicioEtapa = System.nanoTime();
+        try {
+            etapa.acao().run();
+            execucoes.add(execucao(etapa, CONCLUIDA, inicio, inicioEtapa, null));
+        } catch (RuntimeException | Error e) {
+            execucoes.add(execucao(etapa, FALHA, inicio, inicioEtapa, e.toString()));
+            throw new CompletionException(e);
+        }
+    }
+
+    private static EtapaInicializacaoDTO execucao(Etapa etapa, String situacao, long inicio, long inicioEtapa, String erro) {
+        return new EtapaInicializacaoDTO(etapa.nome(), etapa.dependencias(), situacao, (inicioEtapa - inicio) / 1_000_000, (System.nanoTime() - inicioEtapa) / 1_000_000, Thread.currentThread().getName(), erro);
+    }
+
+    private record Etapa(String nome, Runnable acao, List<String> dependencias) {
+
+    }
+
+}
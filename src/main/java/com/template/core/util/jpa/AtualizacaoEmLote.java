@@ -0,0 +1,40 @@
+package com.template.core.util.jpa;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Execução de um UPDATE em lote a partir de uma lista de IDs.
+ * <p>
+ * Os IDs são ordenados, sem repetições, e divididos em blocos de até {@link #TAMANHO_BLOCO} parâmetros por instrução,
+ * mantendo listas muito grandes dentro do limite de parâmetros do driver. A ordem crescente faz com que alterações em
+ * lote concorrentes bloqueiem as linhas na mesma ordem, sem deadlocks entre si.
+ */
+public final class AtualizacaoEmLote {
+
+    /**
+     * Quantidade máxima de IDs por instrução.
+     */
+    public static final int TAMANHO_BLOCO = 1000;
+
+    private AtualizacaoEmLote() {
+    }
+
+    /**
+     * Executa o UPDATE para cada bloco de IDs.
+     *
+     * @param ids    IDs dos registros
+     * @param update UPDATE restrito aos IDs do bloco, que retorna a quantidade de registros alterados
+     * @return a quantidade total de registros alterados
+     */
+    public static long executar(Collection<Long> ids, ToIntFunction<List<Long>> update) {
+        List<Long> ordenados = ids.stream().distinct().sorted().toList();
+        long afetados = 0;
+        for (int i = 0; i < ordenados.size(); i += TAMANHO_BLOCO) {
+            afetados += update.applyAsInt(ordenados.subList(i, Math.min(i + TAMANHO_BLOCO, ordenados.size())));
+        }
+        return afetados;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.template.core.util.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.function.Supplier;
+
+/**
+ * Filtro global do Hibernate que restringe as consultas às entidades ativas ({@code bl_ativo = true}).
+ * <p>
+ * Declarado uma única vez no pacote das entidades e aplicado a todas elas e às coleções do grafo de autorização
+ * (roles do user, grupos de acesso da role e permissões da rota), o filtro é traduzido em SQL e aproveita os índices
+ * parciais {@code WHERE bl_ativo = true}. Não se aplica à busca pelo ID nem a UPDATE e DELETE.
+ */
+public final class FiltroAtivo {
+
+    /**
+     * Nome do filtro.
+     */
+    public static final String NOME = "ativo";
+
+    private FiltroAtivo() {
+    }
+
+    /**
+     * Executa a consulta com o filtro habilitado na sessão da transação atual, restaurando o estado anterior ao final.
+     *
+     * @param entityManager EntityManager da transação atual
+     * @param consulta      consulta a ser executada
+     * @param <T>           tipo do resultado
+     * @return o resultado da consulta
+     */
+    public static <T> T aplicar(EntityManager entityManager, Supplier<T> consulta) {
+        Session session = entityManager.unwrap(Session.class);
+        if (session.getEnabledFilter(NOME) != null) {
+            return consulta.get();
+        }
+
+        session.enableFilter(NOME);
+        try {
+            return consulta.get();
+        } finally {
+            session.disableFilter(NOME);
+        }
+    }
+
+    /**
+     * Executa a consulta com o filtro habilitado apenas se solicitado.
+     *
+     * @param entityManager EntityManager da transação atual
+     * @param apenasAtivos  se o filtro deve ser habilitado
+     * @param consulta      consulta a ser executada
+     * @param <T>           tipo do resultado
+     * @return o resultado da consulta
+     */
+    public static <T> T aplicar(EntityManager entityManager, boolean apenasAtivos, Supplier<T> consulta) {
+        return apenasAtivos ? aplicar(entityManager, consulta) : consulta.get();
+    }
+
+}
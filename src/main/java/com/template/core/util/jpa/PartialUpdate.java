@@ -0,0 +1,135 @@
+package com.template.core.util.jpa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Root;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Monta um UPDATE com apenas os atributos informados de uma entidade, executado diretamente no banco sem carregar a
+ * entidade nem fazer merge do seu grafo.
+ * <p>
+ * Atributos com valor {@code null} são ignorados, o que permite montar o UPDATE diretamente a partir de um DTO de
+ * PATCH. O UPDATE não passa pelo contexto de persistência: entidades já carregadas na mesma transação não são
+ * atualizadas e os {@code @ColumnTransformer} de escrita não são aplicados, por isso os atributos com
+ * {@code UPPER(?)}/{@code LOWER(?)} devem utilizar {@link #setUpper(String, String)}/{@link #setLower(String, String)}.
+ *
+ * @param <T> tipo da entidade
+ */
+public final class PartialUpdate<T> {
+
+    private final EntityManager entityManager;
+
+    private final Class<T> type;
+
+    private final CriteriaBuilder builder;
+
+    private final CriteriaUpdate<T> update;
+
+    private final Root<T> root;
+
+    /**
+     * Valores dos parâmetros utilizados nas expressões {@code UPPER}/{@code LOWER}.
+     */
+    private final Map<ParameterExpression<String>, String> parameters = new HashMap<>();
+
+    private boolean empty = true;
+
+    private PartialUpdate(EntityManager entityManager, Class<T> type) {
+        this.entityManager = entityManager;
+        this.type = type;
+        this.builder = entityManager.getCriteriaBuilder();
+        this.update = builder.createCriteriaUpdate(type);
+        this.root = update.from(type);
+    }
+
+    /**
+     * Inicia o UPDATE parcial de uma entidade.
+     *
+     * @param entityManager EntityManager da transação corrente
+     * @param type          classe da entidade
+     * @param <T>           tipo da entidade
+     * @return o UPDATE parcial
+     */
+    public static <T> PartialUpdate<T> of(EntityManager entityManager, Class<T> type) {
+        return new PartialUpdate<>(entityManager, type);
+    }
+
+    /**
+     * Inclui o atributo no UPDATE se o valor não for {@code null}.
+     *
+     * @param attribute nome do atributo da entidade
+     * @param value     novo valor
+     * @return o próprio UPDATE parcial
+     */
+    public PartialUpdate<T> set(String attribute, Object value) {
+        if (value instanceof Expression<?> expression) {
+            update.<Object>set(root.get(attribute), expression);
+            empty = false;
+        } else if (value != null) {
+            update.set(root.get(attribute), value);
+            empty = false;
+        }
+        return this;
+    }
+
+    /**
+     * Inclui o atributo no UPDATE em maiúsculas, equivalente ao {@code @ColumnTransformer(write = "UPPER(?)")}.
+     *
+     * @param attribute nome do atributo da entidade
+     * @param value     novo valor
+     * @return o próprio UPDATE parcial
+     */
+    public PartialUpdate<T> setUpper(String attribute, String value) {
+        return value == null ? this : set(attribute, builder.upper(parameter(value)));
+    }
+
+    /**
+     * Inclui o atributo no UPDATE em minúsculas, equivalente ao {@code @ColumnTransformer(write = "LOWER(?)")}.
+     *
+     * @param attribute nome do atributo da entidade
+     * @param value     novo valor
+     * @return o próprio UPDATE parcial
+     */
+    public PartialUpdate<T> setLower(String attribute, String value) {
+        return value == null ? this : set(attribute, builder.lower(parameter(value)));
+    }
+
+    /**
+     * Executa o UPDATE na entidade com o ID informado. Sem atributos a alterar, apenas verifica se a entidade existe.
+     *
+     * @param id ID da entidade
+     * @return a quantidade de linhas afetadas (0 se a entidade não existir)
+     */
+    public int execute(Long id) {
+        if (empty) {
+            return exists(id) ? 1 : 0;
+        }
+
+        update.where(builder.equal(root.get("id"), id));
+        Query query = entityManager.createQuery(update);
+        parameters.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+
+    private ParameterExpression<String> parameter(String value) {
+        ParameterExpression<String> parameter = builder.parameter(String.class);
+        parameters.put(parameter, value);
+        return parameter;
+    }
+
+    private boolean exists(Long id) {
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> from = query.from(type);
+        query.select(builder.count(from)).where(builder.equal(from.get("id"), id));
+        return entityManager.createQuery(query).getSingleResult() > 0;
+    }
+
+}
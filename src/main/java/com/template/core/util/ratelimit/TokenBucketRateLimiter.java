@@ -0,0 +1,123 @@
+package com.template.core.util.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Limitador de requisições por token bucket, implementado com o algoritmo GCRA (Generic Cell Rate Algorithm).
+ * <p>
+ * Cada bucket é representado por um único {@code long}, o instante teórico de chegada (TAT) da próxima requisição,
+ * atualizado por compare-and-set. Os buckets ficam em uma tabela de endereçamento aberto de tamanho fixo, de modo
+ * que a consulta não utiliza locks, não aloca memória e não exige limpeza periódica: um bucket ocioso equivale a um
+ * bucket cheio. Quando a tabela está cheia as novas chaves não são limitadas.
+ */
+public final class TokenBucketRateLimiter {
+
+    /**
+     * Valor que indica uma posição livre na tabela de chaves.
+     */
+    private static final long EMPTY = 0;
+
+    /**
+     * Intervalo, em nanossegundos, para a reposição de um token.
+     */
+    private final long emissionInterval;
+
+    /**
+     * Rajada máxima tolerada, em nanossegundos ({@code capacidade × intervalo de reposição}).
+     */
+    private final long burstTolerance;
+
+    /**
+     * Instante de referência para que os TATs armazenados sejam sempre positivos.
+     */
+    private final long origin;
+
+    private final int mask;
+
+    private final AtomicLongArray keys;
+
+    private final AtomicLongArray tats;
+
+    /**
+     * Cria o limitador.
+     *
+     * @param capacity        quantidade máxima de requisições aceitas em rajada por bucket
+     * @param refillPerSecond quantidade de tokens repostos por segundo em cada bucket
+     * @param tableSize       quantidade máxima de buckets, arredondada para a próxima potência de dois
+     * @throws IllegalArgumentException se algum parâmetro não for positivo
+     */
+    public TokenBucketRateLimiter(int capacity, double refillPerSecond, int tableSize) {
+        if (capacity <= 0 || refillPerSecond <= 0 || tableSize <= 0) {
+            throw new IllegalArgumentException("Capacidade, taxa de reposição e tamanho da tabela do rate limit devem ser positivos.");
+        }
+
+        int size = Integer.highestOneBit(Math.max(tableSize - 1, 1)) << 1;
+        this.emissionInterval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstTolerance = emissionInterval * capacity;
+        this.origin = System.nanoTime();
+        this.mask = size - 1;
+        this.keys = new AtomicLongArray(size);
+        this.tats = new AtomicLongArray(size);
+    }
+
+    /**
+     * Tenta consumir um token do bucket da chave.
+     *
+     * @param key       identificador não negativo do bucket
+     * @param nanoTime  instante atual obtido por {@link System#nanoTime()}
+     * @return 0 se a requisição for aceita ou, caso contrário, o tempo em nanossegundos até a liberação de um token
+     */
+    public long tryAcquire(long key, long nanoTime) {
+        int slot = slot(key + 1);
+        if (slot < 0) {
+            return 0;
+        }
+
+        long now = nanoTime - origin;
+        while (true) {
+            long tat = tats.get(slot);
+            long newTat = Math.max(tat, now) + emissionInterval;
+            long excess = newTat - now - burstTolerance;
+
+            if (excess > 0) {
+                return excess;
+            }
+            if (tats.compareAndSet(slot, tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Localiza ou reserva a posição da chave na tabela por sondagem linear.
+     *
+     * @return a posição da chave ou -1 se a tabela estiver cheia
+     */
+    private int slot(long storedKey) {
+        int index = mix(storedKey) & mask;
+        for (int probe = 0; probe <= mask; probe++, index = (index + 1) & mask) {
+            long current = keys.get(index);
+            if (current == storedKey) {
+                return index;
+            }
+            if (current == EMPTY && (keys.compareAndSet(index, EMPTY, storedKey) || keys.get(index) == storedKey)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Espalha os bits da chave (finalizador do MurmurHash3) para reduzir colisões entre chaves sequenciais.
+     */
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.template.core.util.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Calibra o custo (strength) do BCrypt de acordo com o tempo de hash medido na CPU em que a aplicação está executando.
+ * <p>
+ * Cada incremento no custo dobra o tempo do hash, portanto basta medir o custo mínimo e escolher o maior custo cuja
+ * estimativa fique dentro do tempo alvo.
+ */
+public final class BCryptCostCalibrator {
+
+    /**
+     * Quantidade de medições do custo mínimo; a menor delas é utilizada, descartando o ruído da medição.
+     */
+    private static final int SAMPLES = 5;
+
+    /**
+     * Quantidade de hashes com o custo 4 (o menor do BCrypt) executados antes da medição para que o JIT compile o
+     * Blowfish; sem esse aquecimento o tempo medido chega a ser várias vezes o tempo real.
+     */
+    private static final int WARMUP = 200;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * Escolhe o custo do BCrypt.
+     *
+     * @param targetMillis tempo alvo de um hash, em milissegundos
+     * @param minStrength  custo mínimo aceito, utilizado mesmo que exceda o tempo alvo
+     * @param maxStrength  custo máximo aceito
+     * @return o maior custo entre os limites cujo tempo estimado não excede o tempo alvo
+     * @throws IllegalArgumentException se os limites estiverem fora do intervalo 4..31 do BCrypt
+     */
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("Limites do custo do BCrypt devem estar entre 4 e 31.");
+        }
+
+        double millis = measure(minStrength);
+        int strength = minStrength;
+        while (strength < maxStrength && millis * 2 <= targetMillis) {
+            millis *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Menor tempo, em milissegundos, de um hash com o custo informado.
+     */
+    private static double measure(int strength) {
+        String warmupSalt = BCrypt.gensalt(4);
+        for (int i = 0; i < WARMUP; i++) {
+            BCrypt.hashpw("aquecimento", warmupSalt);
+        }
+
+        String salt = BCrypt.gensalt(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibracao", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+
+    /**
+     * Extrai o custo de um hash BCrypt no formato {@code $2a$10$...}.
+     *
+     * @param encodedPassword hash BCrypt
+     * @return o custo do hash ou -1 se o formato não for reconhecido
+     */
+    public static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        return Character.isDigit(tens) && Character.isDigit(units) ? (tens - '0') * 10 + (units - '0') : -1;
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.template.core.util.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Responsável por gerar os hashes de senha em um executor dedicado e limitado.
+ * <p>
+ * O BCrypt consome dezenas de milissegundos de CPU por hash; executá-lo nas threads do Tomcat permite que uma rajada
+ * de cadastros ocupe todas elas. Com o executor dedicado a concorrência do hashing é fixa e, quando a fila enche, a
+ * requisição é recusada imediatamente com {@link RejectedExecutionException}. As operações das requisições retornam um
+ * {@link CompletableFuture}, para que a thread do Tomcat seja liberada enquanto o hash aguarda na fila e é calculado.
+ * <p>
+ * O custo do BCrypt é calibrado na inicialização ({@link BCryptCostCalibrator}); hashes gerados com um custo menor
+ * são identificados por {@link #needsRehash(String)} para que sejam refeitos no próximo login.
+ */
+public final class PasswordHasher {
+
+    /**
+     * Intervalo entre as novas tentativas de agendar um hash de lote quando a fila está cheia e o lote não tem hashes
+     * pendentes.
+     */
+    private static final long ESPERA_FILA_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final PasswordEncoder encoder;
+
+    private final int strength;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Hash de uma senha aleatória com o custo em uso, verificado quando o user não existe para que a resposta leve o
+     * mesmo tempo de uma senha incorreta.
+     */
+    private final String dummyHash;
+
+    /**
+     * Cria o hasher.
+     *
+     * @param encoder     encoder BCrypt de senhas compartilhado
+     * @param strength    custo do BCrypt utilizado pelo encoder
+     * @param minStrength custo mínimo aceito; hashes armazenados abaixo dele são sempre refeitos
+     * @param executor    executor dedicado ao hashing, com fila limitada
+     * @throws IllegalArgumentException se o custo for menor que o custo mínimo
+     */
+    public PasswordHasher(PasswordEncoder encoder, int strength, int minStrength, ThreadPoolExecutor executor) {
+        if (strength < minStrength) {
+            throw new IllegalArgumentException(MessageFormat.format("Custo do BCrypt {0} menor que o mínimo {1}.", strength, minStrength));
+        }
+
+        this.encoder = encoder;
+        this.strength = strength;
+        this.executor = executor;
+        this.dummyHash = encoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Agenda o hash da senha no executor dedicado.
+     *
+     * @param rawPassword senha em texto puro
+     * @return o hash da senha, concluído pela thread do executor
+     * @throws RejectedExecutionException se a fila do executor estiver cheia
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+    }
+
+    /**
+     * Gera o hash da senha no executor dedicado e aguarda o resultado, para os usos fora das requisições (ex.: a carga
+     * inicial).
+     *
+     * @param rawPassword senha em texto puro
+     * @return o hash da senha
+     * @throws RejectedExecutionException se a fila do executor estiver cheia
+     */
+    public String encode(CharSequence rawPassword) {
+        return join(encodeAsync(rawPassword));
+    }
+
+    /**
+     * Gera os hashes de várias senhas em paralelo, para importações em lote.
+     * <p>
+     * No máximo {@code maximumPoolSize} hashes do lote ficam pendentes no executor por vez, preservando espaço na fila
+     * para as requisições online. Se ainda assim a fila estiver cheia, o lote aguarda a vaga em vez de calcular o hash
+     * na própria thread chamadora, o que ultrapassaria a concorrência do executor.
+     *
+     * @param rawPasswords senhas em texto puro
+     * @return os hashes, na mesma ordem das senhas
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<CompletableFuture<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (int i = 0; i < rawPasswords.size(); i++) {
+            if (i >= window) {
+                join(futures.get(i - window));
+            }
+            futures.add(encodeQuandoAceito(rawPasswords.get(i), futures));
+        }
+        return futures.stream().map(PasswordHasher::join).toList();
+    }
+
+    /**
+     * Agenda, no executor dedicado, a verificação da senha contra o hash.
+     *
+     * @param rawPassword     senha em texto puro
+     * @param encodedPassword hash armazenado
+     * @return {@code true} se a senha corresponder, {@code false} caso contrário, concluído pela thread do executor
+     * @throws RejectedExecutionException se a fila do executor estiver cheia
+     */
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return CompletableFuture.supplyAsync(() -> encoder.matches(rawPassword, encodedPassword), executor);
+    }
+
+    /**
+     * Agenda a verificação da senha contra um hash fixo com o custo em uso, para os logins de users inexistentes: sem
+     * essa verificação a resposta seria imediata, revelando pelo tempo quais usernames existem.
+     *
+     * @param rawPassword senha em texto puro
+     * @return sempre {@code false}, concluído pela thread do executor
+     * @throws RejectedExecutionException se a fila do executor estiver cheia
+     */
+    public CompletableFuture<Boolean> matchesDummyAsync(CharSequence rawPassword) {
+        return matchesAsync(rawPassword, dummyHash).thenApply(_ -> false);
+    }
+
+    /**
+     * Verifica se o hash foi gerado com um custo menor que o calibrado (e, portanto, também quando está abaixo do custo
+     * mínimo ou em formato desconhecido). Hashes com custo maior são mantidos, para que nós calibrados em CPUs mais
+     * lentas não rebaixem as senhas refeitas pelos demais.
+     *
+     * @param encodedPassword hash armazenado
+     * @return {@code true} se o hash deve ser refeito, {@code false} caso contrário
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return BCryptCostCalibrator.strengthOf(encodedPassword) < strength;
+    }
+
+    /**
+     * Custo do BCrypt em uso.
+     */
+    public int strength() {
+        return strength;
+    }
+
+    /**
+     * Agenda o hash de uma senha do lote. Enquanto a fila estiver cheia, aguarda o hash pendente mais antigo do lote ou,
+     * se não houver, um breve intervalo, e tenta novamente; desiste apenas se o executor for encerrado ou a thread
+     * interrompida.
+     */
+    private CompletableFuture<String> encodeQuandoAceito(CharSequence rawPassword, List<CompletableFuture<String>> lote) {
+        while (true) {
+            try {
+                return encodeAsync(rawPassword);
+            } catch (RejectedExecutionException ex) {
+                if (executor.isShutdown() || Thread.currentThread().isInterrupted()) {
+                    throw ex;
+                }
+                lote.stream().filter(future -> !future.isDone()).findFirst()
+                        .ifPresentOrElse(future -> future.exceptionally(_ -> null).join(), () -> LockSupport.parkNanos(ESPERA_FILA_NANOS));
+            }
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.template.core.util.security;
+
+import com.template.core.enums.Acesso;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matcher imutável de rotas compilado a partir dos endpoints das permissões (ex.: {@code /api/user/get/{id}}).
+ * <p>
+ * Os padrões são organizados em uma trie por segmento do path, onde segmentos {@code {variavel}} ou {@code *} aceitam
+ * qualquer valor. Cada rota encontrada guarda, por {@link Acesso}, uma máscara de bits com as roles autorizadas,
+ * dividida em tantas palavras de 64 bits quantas forem necessárias para a quantidade de roles. A consulta custa
+ * O(segmentos do path), sem expressões regulares e sem alocação de memória.
+ */
+public final class RoutePermissionMatcher {
+
+    private static final int ACESSOS = Acesso.values().length;
+
+    /**
+     * Matcher sem nenhuma rota, utilizado antes da primeira compilação.
+     */
+    public static final RoutePermissionMatcher EMPTY = new Builder().build();
+
+    private final Node root;
+
+    private final String[] roles;
+
+    private final String[] patterns;
+
+    /**
+     * Máscaras das roles autorizadas, com {@link #words} palavras por rota e acesso.
+     */
+    private final long[] masks;
+
+    private final int words;
+
+    private RoutePermissionMatcher(Node root, String[] roles, String[] patterns, long[] masks, int words) {
+        this.root = root;
+        this.roles = roles;
+        this.patterns = patterns;
+        this.masks = masks;
+        this.words = words;
+    }
+
+    /**
+     * Procura a rota que corresponde ao path.
+     *
+     * @param path   path da requisição
+     * @param offset posição a partir da qual o path deve ser considerado (ex.: tamanho do context-path)
+     * @return o índice da rota ou -1 se nenhuma rota corresponder
+     */
+    public int find(String path, int offset) {
+        return find(root, path, skipSlash(path, offset), path.length());
+    }
+
+    /**
+     * Verifica se alguma das roles possui o acesso na rota, sem alocar memória. Roles desconhecidas são ignoradas.
+     *
+     * @param route     índice da rota retornado por {@link #find(String, int)}
+     * @param acesso    acesso requerido
+     * @param roleNames nomes das roles separados por vírgula
+     * @return {@code true} se o acesso for permitido, {@code false} caso contrário
+     */
+    public boolean isAllowed(int route, Acesso acesso, String roleNames) {
+        if (route < 0 || acesso == null || roleNames == null) {
+            return false;
+        }
+
+        int base = (route * ACESSOS + acesso.ordinal()) * words;
+        int length = roleNames.length();
+        int start = 0;
+        while (start < length) {
+            int end = roleNames.indexOf(',', start);
+            end = end < 0 ? length : end;
+            int role = roleIndex(roleNames, start, end);
+            if (role >= 0 && (masks[base + (role >>> 6)] & 1L << role) != 0) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Padrão original da rota.
+     *
+     * @param route índice da rota
+     * @return o endpoint da permissão que originou a rota
+     */
+    public String pattern(int route) {
+        return patterns[route];
+    }
+
+    /**
+     * Quantidade de rotas compiladas.
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    private int roleIndex(String roleNames, int start, int end) {
+        while (start < end && roleNames.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && roleNames.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        int length = end - start;
+        for (int i = 0; i < roles.length; i++) {
+            if (roles[i].length() == length && roleNames.regionMatches(true, start, roles[i], 0, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int find(Node node, String path, int start, int end) {
+        if (start >= end) {
+            return node.route;
+        }
+
+        int slash = path.indexOf('/', start);
+        int segmentEnd = slash < 0 ? end : slash;
+        int next = slash < 0 ? end : slash + 1;
+        int length = segmentEnd - start;
+
+        for (int i = 0; i < node.literals.length; i++) {
+            String literal = node.literals[i];
+            if (literal.length() == length && path.regionMatches(start, literal, 0, length)) {
+                int route = find(node.children[i], path, next, end);
+                if (route >= 0) {
+                    return route;
+                }
+            }
+        }
+
+        return node.variable != null && length > 0 ? find(node.variable, path, next, end) : -1;
+    }
+
+    private static int skipSlash(String path, int offset) {
+        return offset < path.length() && path.charAt(offset) == '/' ? offset + 1 : offset;
+    }
+
+    /**
+     * Nó compilado da trie.
+     */
+    private record Node(String[] literals, Node[] children, Node variable, int route) {
+    }
+
+    /**
+     * Builder responsável por compilar os padrões das permissões em um {@link RoutePermissionMatcher}.
+     */
+    public static final class Builder {
+
+        private final BuilderNode root = new BuilderNode();
+
+        private final Map<String, Integer> roles = new LinkedHashMap<>();
+
+        private final List<String> patterns = new ArrayList<>();
+
+        /**
+         * Roles autorizadas, uma máscara por rota e acesso.
+         */
+        private final List<BitSet> masks = new ArrayList<>();
+
+        /**
+         * Registra uma rota sem conceder acesso a nenhuma role.
+         *
+         * @param pattern endpoint da permissão
+         * @return o índice da rota
+         */
+        public int route(String pattern) {
+            BuilderNode node = root;
+            for (String segment : pattern.split("/")) {
+                if (!segment.isEmpty()) {
+                    node = node.child(segment);
+                }
+            }
+
+            if (node.route < 0) {
+                node.route = patterns.size();
+                patterns.add(pattern);
+                for (int i = 0; i < ACESSOS; i++) {
+                    masks.add(new BitSet());
+                }
+            }
+            return node.route;
+        }
+
+        /**
+         * Concede o acesso na rota para a role.
+         *
+         * @param pattern endpoint da permissão
+         * @param role    nome da role
+         * @param acesso  acesso concedido
+         * @return o próprio builder
+         */
+        public Builder grant(String pattern, String role, Acesso acesso) {
+            masks.get(route(pattern) * ACESSOS + acesso.ordinal()).set(roles.computeIfAbsent(role, _ -> roles.size()));
+            return this;
+        }
+
+        /**
+         * Compila as rotas registradas.
+         *
+         * @return o matcher imutável
+         */
+        public RoutePermissionMatcher build() {
+            int words = Math.max(1, (roles.size() + Long.SIZE - 1) / Long.SIZE);
+            long[] flatMasks = new long[masks.size() * words];
+            for (int i = 0; i < masks.size(); i++) {
+                long[] mask = masks.get(i).toLongArray();
+                System.arraycopy(mask, 0, flatMasks, i * words, mask.length);
+            }
+            return new RoutePermissionMatcher(root.compile(), roles.keySet().toArray(String[]::new), patterns.toArray(String[]::new), flatMasks, words);
+        }
+
+    }
+
+    /**
+     * Nó mutável utilizado durante a compilação.
+     */
+    private static final class BuilderNode {
+
+        private final Map<String, BuilderNode> literals = new LinkedHashMap<>();
+
+        private BuilderNode variable;
+
+        private int route = -1;
+
+        private BuilderNode child(String segment) {
+            if (segment.equals("*") || (segment.startsWith("{") && segment.endsWith("}"))) {
+                variable = variable == null ? new BuilderNode() : variable;
+                return variable;
+            }
+            return literals.computeIfAbsent(segment, _ -> new BuilderNode());
+        }
+
+        private Node compile() {
+            Node[] children = new Node[literals.size()];
+            int i = 0;
+            for (BuilderNode child : literals.values()) {
+                children[i++] = child.compile();
+            }
+            return new Node(literals.keySet().toArray(String[]::new), children, variable == null ? null : variable.compile(), route);
+        }
+
+    }
+
+}
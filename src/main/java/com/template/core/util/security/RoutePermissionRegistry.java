@@ -0,0 +1,50 @@
+package com.template.core.util.security;
+
+import com.template.core.enums.Acesso;
+
+/**
+ * Referência para o {@link RoutePermissionMatcher} em uso, substituído atomicamente a cada recompilação das permissões.
+ * As consultas leem o matcher vigente sem bloqueio e sem alocação de memória.
+ */
+public final class RoutePermissionRegistry {
+
+    /**
+     * Matcher compilado em uso.
+     */
+    private volatile RoutePermissionMatcher matcher = RoutePermissionMatcher.EMPTY;
+
+    /**
+     * Substitui o matcher em uso.
+     *
+     * @param matcher o novo matcher compilado
+     */
+    public void replace(RoutePermissionMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    /**
+     * Procura a rota que corresponde ao path no matcher em uso.
+     *
+     * @param path   URI da requisição
+     * @param offset posição do path a partir da qual o endpoint começa (tamanho do context-path)
+     * @return o índice da rota ou -1 se nenhuma rota corresponder
+     */
+    public int find(String path, int offset) {
+        return matcher.find(path, offset);
+    }
+
+    /**
+     * Verifica se alguma das roles possui acesso ao endpoint com o método HTTP informado.
+     *
+     * @param roles  nomes das roles separados por vírgula
+     * @param method método HTTP da requisição
+     * @param path   URI da requisição
+     * @param offset posição do path a partir da qual o endpoint começa (tamanho do context-path)
+     * @return {@code true} se o acesso for permitido, {@code false} caso contrário
+     */
+    public boolean isAllowed(String roles, String method, String path, int offset) {
+        RoutePermissionMatcher current = matcher;
+        return current.isAllowed(current.find(path, offset), Acesso.fromHttpMethod(method), roles);
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.template.core.util.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Verificador do token de serviço (header {@code X-Service-Token}) enviado pelo gateway.
+ * <p>
+ * As chaves aceitas são convertidas uma única vez, na construção, para a sua forma canônica em Base64. A verificação
+ * compara os caracteres recebidos com cada chave do chaveiro em tempo constante e sem alocar memória, dispensando a
+ * decodificação do header a cada requisição. O chaveiro aceita a chave atual e chaves anteriores, permitindo a rotação
+ * sem indisponibilidade.
+ */
+public final class ServiceTokenVerifier {
+
+    /**
+     * Chaves aceitas codificadas em Base64 sem padding, a primeira é a chave atual.
+     */
+    private final String[] keys;
+
+    /**
+     * Cria o verificador a partir das chaves em texto puro.
+     *
+     * @param currentKey   chave atual
+     * @param previousKeys chaves anteriores ainda aceitas durante a rotação
+     * @throws IllegalArgumentException se a chave atual ou alguma chave anterior estiver vazia, o que faria um token
+     *                                  vazio ser aceito
+     */
+    public ServiceTokenVerifier(String currentKey, Collection<String> previousKeys) {
+        Objects.requireNonNull(currentKey, "A chave atual da API é obrigatória.");
+        this.keys = new String[previousKeys.size() + 1];
+        this.keys[0] = encode(requireNotBlank(currentKey, "A chave atual da API não pode ser vazia."));
+
+        int i = 1;
+        for (String previousKey : previousKeys) {
+            this.keys[i++] = encode(requireNotBlank(previousKey, "As chaves anteriores da API não podem ser vazias (verifique separadores sobrando em api.previous-keys)."));
+        }
+    }
+
+    private ServiceTokenVerifier(String[] keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Cria um verificador a partir de uma lista de chaves em texto puro, que pode ser vazia: nesse caso, nenhum token é
+     * aceito.
+     *
+     * @param keys chaves aceitas
+     * @return o verificador
+     * @throws IllegalArgumentException se alguma chave estiver vazia
+     */
+    public static ServiceTokenVerifier of(Collection<String> keys) {
+        return new ServiceTokenVerifier(keys.stream().map(key -> encode(requireNotBlank(key, "As chaves da API não podem ser vazias."))).toArray(String[]::new));
+    }
+
+    /**
+     * Verifica se o token codificado em Base64 corresponde a alguma chave do chaveiro.
+     * Todas as chaves são sempre comparadas para não expor qual delas foi aceita pelo tempo de resposta.
+     *
+     * @param token token codificado em Base64, com ou sem padding
+     * @return {@code true} se o token corresponder a alguma chave, {@code false} caso contrário
+     */
+    public boolean matches(String token) {
+        return indexOf(token) >= 0;
+    }
+
+    /**
+     * Identifica a chave do chaveiro que corresponde ao token, utilizada como identidade do cliente.
+     * Todas as chaves são sempre comparadas para não expor qual delas foi aceita pelo tempo de resposta.
+     *
+     * @param token token codificado em Base64, com ou sem padding
+     * @return o índice da chave (0 para a chave atual) ou -1 se o token não corresponder a nenhuma chave
+     */
+    public int indexOf(String token) {
+        if (token == null) {
+            return -1;
+        }
+
+        int length = unpaddedLength(token);
+        int index = -1;
+        for (int i = 0; i < keys.length; i++) {
+            index = matches(token, length, keys[i]) ? i : index;
+        }
+        return index;
+    }
+
+    /**
+     * Quantidade de chaves do chaveiro.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Compara o token com a chave em tempo constante em relação ao conteúdo.
+     * Apenas a diferença de tamanho encerra a comparação antecipadamente.
+     */
+    private static boolean matches(String token, int length, String key) {
+        if (length != key.length()) {
+            return false;
+        }
+
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= token.charAt(i) ^ key.charAt(i);
+        }
+        return diff == 0;
+    }
+
+    /**
+     * Tamanho do token desconsiderando até dois caracteres de padding ao final.
+     */
+    private static int unpaddedLength(String token) {
+        int length = token.length();
+        if (length > 0 && token.charAt(length - 1) == '=') {
+            length--;
+            if (length > 0 && token.charAt(length - 1) == '=') {
+                length--;
+            }
+        }
+        return length;
+    }
+
+    private static String requireNotBlank(String key, String message) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException(message);
+        }
+        return key;
+    }
+
+    /**
+     * Converte a chave em texto puro para Base64 sem padding.
+     */
+    private static String encode(String key) {
+        return Base64.getEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
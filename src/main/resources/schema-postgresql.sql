@@ -0,0 +1,48 @@
+-- Executado após o ddl-auto do Hibernate, a cada inicialização.
+
+-- Índices parciais das consultas de registros ativos (FiltroAtivo e consultas *AtivoTrue).
+CREATE INDEX IF NOT EXISTS ix_users_ativos ON users (id) WHERE bl_ativo = true;
+CREATE INDEX IF NOT EXISTS ix_dados_pessoais_ativos ON dados_pessoais (id) WHERE bl_ativo = true;
+CREATE INDEX IF NOT EXISTS ix_produtos_ativos ON produtos (id) WHERE bl_ativo = true;
+CREATE INDEX IF NOT EXISTS ix_roles_ativos ON roles (id) WHERE bl_ativo = true;
+CREATE INDEX IF NOT EXISTS ix_grupos_acesso_ativos ON grupos_acesso (id) WHERE bl_ativo = true;
+CREATE INDEX IF NOT EXISTS ix_rotas_ativos ON rotas (id) WHERE bl_ativo = true;
+CREATE INDEX IF NOT EXISTS ix_permissoes_ativos ON permissoes (id) WHERE bl_ativo = true;
+
+-- Busca de produtos por trecho e por similaridade da descrição (ProdutoRepository#search). O índice GIN de trigramas
+-- atende ao LIKE '%termo%' e ao operador <% do pg_trgm, e é mantido pelo PostgreSQL a cada INSERT e UPDATE.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS ix_produtos_descricao_trgm ON produtos USING gin (tx_descricao gin_trgm_ops);
+
+-- CPF/CNPJ dos dados pessoais gravados antes da normalização (CpfCnpj#normalizar): sem pontuação e com as letras em
+-- maiúsculas. Quando o documento normalizado já existe, ou mais de um registro resulta no mesmo documento, apenas o de
+-- menor ID é normalizado e os demais permanecem como estão. O CPF inválido antigo dos dados pessoais do ADMIN é
+-- trocado por DadosPessoaisService#CPF_CNPJ_ADMIN.
+UPDATE dados_pessoais d SET tx_cpf_cnpj = upper(translate(d.tx_cpf_cnpj, '.-/ ', ''))
+WHERE d.tx_cpf_cnpj <> upper(translate(d.tx_cpf_cnpj, '.-/ ', ''))
+  AND NOT EXISTS (SELECT 1 FROM dados_pessoais o WHERE o.tx_cpf_cnpj = upper(translate(d.tx_cpf_cnpj, '.-/ ', '')))
+  AND d.id = (SELECT min(o.id) FROM dados_pessoais o WHERE upper(translate(o.tx_cpf_cnpj, '.-/ ', '')) = upper(translate(d.tx_cpf_cnpj, '.-/ ', '')));
+UPDATE dados_pessoais SET tx_cpf_cnpj = '52998224725'
+WHERE tx_cpf_cnpj = '00000000000' AND NOT EXISTS (SELECT 1 FROM dados_pessoais WHERE tx_cpf_cnpj = '52998224725');
+
+-- IDs gerados pelas sequências <tabela>_seq (pooled-lo, incremento 50). Tabelas criadas com IDENTITY deixam de gerar
+-- o ID, e cada sequência é avançada para além do maior ID existente; ela nunca retrocede.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE dados_pessoais ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE produtos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE grupos_acesso ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE rotas ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE permissoes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('users_seq', m) FROM (SELECT COALESCE(MAX(id), 0) + 1 AS m FROM users) t WHERE m > (SELECT last_value FROM users_seq);
+SELECT setval('dados_pessoais_seq', m) FROM (SELECT COALESCE(MAX(id), 0) + 1 AS m FROM dados_pessoais) t WHERE m > (SELECT last_value FROM dados_pessoais_seq);
+SELECT setval('produtos_seq', m) FROM (SELECT COALESCE(MAX(id), 0) + 1 AS m FROM produtos) t WHERE m > (SELECT last_value FROM produtos_seq);
+SELECT setval('roles_seq', m) FROM (SELECT COALESCE(MAX(id), 0) + 1 AS m FROM roles) t WHERE m > (SELECT last_value FROM roles_seq);
+SELECT setval('grupos_acesso_seq', m) FROM (SELECT COALESCE(MAX(id), 0) + 1 AS m FROM grupos_acesso) t WHERE m > (SELECT last_value FROM grupos_acesso_seq);
+SELECT setval('rotas_seq', m) FROM (SELECT COALESCE(MAX(id), 0) + 1 AS m FROM rotas) t WHERE m > (SELECT last_value FROM rotas_seq);
+SELECT setval('permissoes_seq', m) FROM (SELECT COALESCE(MAX(id), 0) + 1 AS m FROM permissoes) t WHERE m > (SELECT last_value FROM permissoes_seq);
+
+-- Fila de envio de emails (EmailOutboxRepository): apenas os pendentes, pela próxima tentativa, e o progresso de cada
+-- envio. O template e as variáveis ficam em email_mensagens, compartilhados pelos destinatários do mesmo envio.
+CREATE INDEX IF NOT EXISTS ix_email_outbox_pendentes ON email_outbox (dt_proxima_tentativa) WHERE tp_status = 'PENDENTE';
+CREATE INDEX IF NOT EXISTS ix_email_outbox_mensagem ON email_outbox (mensagem_id, tp_status);
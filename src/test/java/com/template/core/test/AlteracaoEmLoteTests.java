@@ -0,0 +1,101 @@
+package com.template.core.test;
+
+import com.template.core.dto.AlteracaoEmLoteDTO;
+import com.template.core.entity.Produto;
+import com.template.core.repository.ProdutoRepository;
+import com.template.core.service.ProdutoService;
+import com.template.core.util.jpa.AtualizacaoEmLote;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a exclusão e a reativação em lote: uma instrução por bloco de IDs e apenas os registros cuja situação muda
+ * contabilizados.
+ */
+@AutoConfigureJson
+@DataJpaTest
+@Import(ProdutoService.class)
+public class AlteracaoEmLoteTests {
+
+    private static final int PRODUTOS = 2500;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < PRODUTOS; i++) {
+            ids.add(entityManager.persist(new Produto(null, "PRODUTO " + i, true)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void exclusaoPorIds_ExecutaUmUpdatePorBloco() {
+        List<Long> repetidos = Stream.concat(ids.stream(), ids.subList(0, 100).stream()).toList();
+
+        long afetados = produtoService.setAtivo(new AlteracaoEmLoteDTO(repetidos, null, null), false);
+
+        assertEquals(PRODUTOS, afetados);
+        assertEquals((PRODUTOS + AtualizacaoEmLote.TAMANHO_BLOCO - 1) / AtualizacaoEmLote.TAMANHO_BLOCO, statistics.getPrepareStatementCount());
+        assertEquals(0, produtoRepository.findAll().stream().filter(Produto::isAtivo).count());
+    }
+
+    @Test
+    public void exclusaoRepetida_NaoContabilizaRegistrosJaInativos() {
+        produtoService.setAtivo(new AlteracaoEmLoteDTO(ids.subList(0, 10), null, null), false);
+
+        long afetados = produtoService.setAtivo(new AlteracaoEmLoteDTO(ids.subList(0, 20), null, null), false);
+
+        assertEquals(10, afetados);
+    }
+
+    @Test
+    public void reativacaoPorIntervalo_ExecutaUmUnicoUpdate() {
+        produtoService.setAtivo(new AlteracaoEmLoteDTO(ids, null, null), false);
+        statistics.clear();
+
+        long afetados = produtoService.setAtivo(new AlteracaoEmLoteDTO(null, ids.get(100), ids.get(199)), true);
+
+        assertEquals(100, afetados);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(100, produtoRepository.findAll().stream().filter(Produto::isAtivo).count());
+    }
+
+    @Test
+    public void criterio_ExigeIdsOuIntervalo() {
+        assertTrue(new AlteracaoEmLoteDTO(List.of(1L), null, null).isCriterioValido());
+        assertTrue(new AlteracaoEmLoteDTO(null, 1L, 10L).isCriterioValido());
+        assertFalse(new AlteracaoEmLoteDTO(null, null, null).isCriterioValido());
+        assertFalse(new AlteracaoEmLoteDTO(List.of(1L), 1L, 10L).isCriterioValido());
+        assertFalse(new AlteracaoEmLoteDTO(null, 10L, 1L).isCriterioValido());
+    }
+
+}
@@ -32,6 +32,7 @@ import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
 
@@ -129,7 +130,7 @@ public class ArchitectureTests {
     }
 
     public static ArchCondition<JavaClass> satisfyIdFieldConditions() {
-        return new ArchCondition<>("Id field exists with Long type and be annotated with @Id and @GeneratedValue(strategy = GenerationType.IDENTITY)") {
+        return new ArchCondition<>("Id field exists with Long type and be annotated with @Id, @GeneratedValue(strategy = GenerationType.SEQUENCE) and @SequenceGenerator") {
             @Override
             public void check(JavaClass javaClass, ConditionEvents events) {
                 if (isNotTempFiles(javaClass)) {
@@ -145,12 +146,13 @@ public class ArchitectureTests {
                         for (JavaField field : javaClass.getFields()) {
                             if (!idHasRequiredAnnotations) {
                                 idHasRequiredAnnotations = field.getName().equals("id") && field.getType().getName().equals(Long.class.getName()) && field.isAnnotatedWith(Id.class) &&
-                                        field.isAnnotatedWith(GeneratedValue.class) && field.getAnnotationOfType(GeneratedValue.class).strategy() == GenerationType.IDENTITY;
+                                        field.isAnnotatedWith(GeneratedValue.class) && field.getAnnotationOfType(GeneratedValue.class).strategy() == GenerationType.SEQUENCE &&
+                                        field.isAnnotatedWith(SequenceGenerator.class);
                             }
                         }
 
                         if (!idHasRequiredAnnotations) {
-                            events.add(SimpleConditionEvent.violated(javaClass, "Class: '%s' - id field should be Long and be annotated with @Id and @GeneratedValue(strategy = GenerationType.IDENTITY)".formatted(className)));
+                            events.add(SimpleConditionEvent.violated(javaClass, "Class: '%s' - id field should be Long and be annotated with @Id, @GeneratedValue(strategy = GenerationType.SEQUENCE) and @SequenceGenerator".formatted(className)));
                         }
                     }
                 }
@@ -359,13 +361,26 @@ public class ArchitectureTests {
         return null;
     }
 
+    /**
+     * Obtém o tipo da resposta de um método de controller: o próprio tipo de retorno ou, para respostas assíncronas
+     * ({@link CompletionStage}), o tipo com que elas são concluídas.
+     */
+    private static JavaType getResponseType(JavaType returnType) {
+        if (returnType instanceof JavaParameterizedType parameterizedType && returnType.toErasure().isAssignableTo(CompletionStage.class)) {
+            return parameterizedType.getActualTypeArguments().getFirst();
+        }
+
+        return returnType;
+    }
+
     public static ArchCondition<JavaClass> satisfyControllersMethodsReturnResponseEntityAndUseRecords() {
         return new ArchCondition<>("controllers have to return ResponseEntity and use records") {
             @Override
             public void check(JavaClass javaClass, ConditionEvents events) {
                 if (isNotTempFiles(javaClass)) {
                     for (JavaMethod method : javaClass.getMethods()) {
-                        JavaClass returnType = method.getReturnType().toErasure();
+                        JavaType responseType = getResponseType(method.getReturnType());
+                        JavaClass returnType = responseType.toErasure();
 
                         if (!returnType.isAssignableTo(ResponseEntity.class)) {
                             events.add(SimpleConditionEvent.violated(javaClass, "Class: '%s' - Method: '%s' - should return ResponseEntity".formatted(javaClass.getSimpleName(), method.getName())));
@@ -382,7 +397,7 @@ public class ArchitectureTests {
                             }
                         }
 
-                        JavaClass genericType = getFirstGenericType(method.getReturnType());
+                        JavaClass genericType = getFirstGenericType(responseType);
 
                         if (genericType != null && !genericType.isEquivalentTo(Void.class)) {
                             if (genericType.isAssignableTo(List.class) || genericType.isAssignableTo(Page.class) || genericType.isAssignableTo(Set.class)) {
@@ -0,0 +1,52 @@
+package com.template.core.test;
+
+import com.template.core.dto.DadosPessoaisResumoDTO;
+import com.template.core.event.DadosPessoaisAlteradosEvent;
+import com.template.core.repository.DadosPessoaisRepository;
+import com.template.core.service.BuscaDadosPessoaisService;
+import com.template.core.util.cache.CacheInvalidation;
+import com.template.core.util.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica a atualização do índice da {@link BuscaDadosPessoaisService} pelas alterações por intervalo: o índice é
+ * recarregado na thread dedicada, sem ler o intervalo na thread que confirmou a alteração.
+ */
+public class BuscaDadosPessoaisTests {
+
+    @Test
+    public void onDadosPessoaisAlterados_ComIntervalo_RecarregaOIndiceNaThreadDedicada() {
+        DadosPessoaisRepository repository = mock(DadosPessoaisRepository.class);
+        CacheInvalidationBus cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        BuscaDadosPessoaisService service = new BuscaDadosPessoaisService(repository, cacheInvalidationBus, mock(PlatformTransactionManager.class));
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        when(repository.streamResumos()).thenAnswer(_ -> {
+            thread.complete(Thread.currentThread().getName());
+            return Stream.of(new DadosPessoaisResumoDTO(1L, "Maria Silva", "52998224725", true));
+        });
+        service.registrarInvalidacao();
+
+        try {
+            service.onDadosPessoaisAlterados(DadosPessoaisAlteradosEvent.of(1L, 10L));
+
+            verify(cacheInvalidationBus).publish(new CacheInvalidation(BuscaDadosPessoaisService.INDICE, null));
+            assertTrue(thread.join().startsWith("indice-dados-pessoais-"));
+            verify(repository, timeout(1000)).streamResumos();
+            verifyNoMoreInteractions(repository);
+        } finally {
+            service.encerrar();
+        }
+    }
+
+}
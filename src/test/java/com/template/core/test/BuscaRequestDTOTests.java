@@ -0,0 +1,36 @@
+package com.template.core.test;
+
+import com.template.core.dto.BuscaRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o escape do termo da busca textual no padrão do LIKE, cujo caractere de escape padrão no PostgreSQL é a barra
+ * invertida.
+ */
+public class BuscaRequestDTOTests {
+
+    @Test
+    public void termoLike_SemCaracteresEspeciais_MantemOTermo() {
+        assertEquals("caneta azul", busca("caneta azul").termoLike());
+    }
+
+    @Test
+    public void termoLike_EscapaOsCuringasDoLike() {
+        assertEquals("100\\% algod\\_o", busca("100% algod_o").termoLike());
+        assertEquals("\\%\\%\\_", busca("%%_").termoLike());
+    }
+
+    @Test
+    public void termoLike_EscapaABarraAntesDosCuringas() {
+        assertEquals("c:\\\\tmp", busca("c:\\tmp").termoLike());
+        assertEquals("\\\\\\%", busca("\\%").termoLike());
+        assertEquals("\\\\\\\\\\_\\_", busca("\\\\__").termoLike());
+    }
+
+    private static BuscaRequestDTO busca(String termo) {
+        return new BuscaRequestDTO(termo, 10, false);
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.template.core.test;
+
+import com.template.core.util.cache.BroadcastingCaffeineCacheManager;
+import com.template.core.util.cache.CacheInvalidation;
+import com.template.core.util.cache.CacheInvalidationBus;
+import com.template.core.util.cache.InMemoryInvalidationTransport;
+import com.template.core.util.cache.InvalidationBatch;
+import com.template.core.util.cache.InvalidationTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a propagação das remoções de cache entre nós que compartilham o transporte em memória.
+ */
+public class CacheInvalidationBusTests {
+
+    private final InMemoryInvalidationTransport transport = new InMemoryInvalidationTransport();
+
+    private final List<InvalidationBatch> published = new CopyOnWriteArrayList<>();
+
+    private Node a;
+
+    private Node b;
+
+    @BeforeEach
+    public void setUp() {
+        transport.subscribe(new InvalidationTransport.Listener() {
+            @Override
+            public void onBatch(InvalidationBatch batch) {
+                published.add(batch);
+            }
+
+            @Override
+            public void onResync() {
+            }
+        });
+        a = new Node(transport, 60_000);
+        b = new Node(transport, 60_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        a.bus.close();
+        b.bus.close();
+    }
+
+    @Test
+    public void evict_RemoveAEntradaNosDemaisNos() {
+        a.cache("produtos").put(1L, "lapis");
+        b.cache("produtos").put(1L, "lapis");
+        b.cache("produtos").put(2L, "caneta");
+
+        a.cache("produtos").evict(1L);
+        a.bus.flush();
+
+        assertNull(b.cache("produtos").get(1L));
+        assertNotNull(b.cache("produtos").get(2L));
+    }
+
+    @Test
+    public void clear_LimpaOCacheNosDemaisNos() {
+        b.cache("users").put(1L, "admin");
+        b.cache("produtos").put(1L, "lapis");
+
+        a.cache("users").clear();
+        a.bus.flush();
+
+        assertNull(b.cache("users").get(1L));
+        assertNotNull(b.cache("produtos").get(1L));
+    }
+
+    @Test
+    public void rajada_PublicaLotesSemRepeticoes() {
+        for (int i = 0; i < 1000; i++) {
+            a.cache("produtos").evict((long) (i % 300));
+        }
+        for (int i = 0; i < 100; i++) {
+            a.cache("users").evict((long) i);
+        }
+        a.cache("users").clear();
+        a.bus.flush();
+
+        assertEquals(3, published.size());
+        assertEquals(301, published.stream().mapToInt(batch -> batch.invalidations().size()).sum());
+        assertTrue(published.stream().allMatch(batch -> batch.invalidations().size() <= 128));
+    }
+
+    @Test
+    public void loteRecebido_NaoERepublicado() {
+        b.cache("produtos").put(1L, "lapis");
+        a.cache("produtos").evict(1L);
+        a.bus.flush();
+        b.bus.flush();
+
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    public void linger_PublicaSemFlushExplicito() throws InterruptedException {
+        Node c = new Node(transport, 5);
+        b.cache("produtos").put(1L, "lapis");
+
+        c.cache("produtos").evict(1L);
+        for (int i = 0; i < 100 && b.cache("produtos").get(1L) != null; i++) {
+            Thread.sleep(10);
+        }
+
+        assertNull(b.cache("produtos").get(1L));
+        c.bus.close();
+    }
+
+    @Test
+    public void handlerRegistrado_RecebeAsInvalidacoesDoSeuNome() {
+        List<CacheInvalidation> recebidas = new CopyOnWriteArrayList<>();
+        b.bus.register("indice", recebidas::add);
+        b.cache("produtos").put(1L, "lapis");
+
+        a.bus.publish(new CacheInvalidation("indice", 7L));
+        a.cache("produtos").evict(1L);
+        a.bus.flush();
+        b.bus.onResync();
+
+        assertEquals(List.of(new CacheInvalidation("indice", 7L), new CacheInvalidation("indice", null)), recebidas);
+        assertNull(b.cache("produtos").get(1L));
+    }
+
+    @Test
+    public void publishAfterCommit_AguardaAConfirmacaoDaTransacao() {
+        List<CacheInvalidation> recebidas = new CopyOnWriteArrayList<>();
+        b.bus.register("permissoes", recebidas::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            a.bus.publishAfterCommit(new CacheInvalidation("permissoes", null));
+            a.bus.flush();
+            assertEquals(List.of(), recebidas);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        a.bus.flush();
+
+        assertEquals(List.of(new CacheInvalidation("permissoes", null)), recebidas);
+    }
+
+    /**
+     * Nó com os seus caches locais e o seu barramento.
+     */
+    private static final class Node {
+
+        private final CacheInvalidationBus bus;
+
+        private final CaffeineCacheManager cacheManager;
+
+        private Node(InvalidationTransport transport, long lingerMillis) {
+            bus = new CacheInvalidationBus(transport, lingerMillis, 128);
+            cacheManager = new BroadcastingCaffeineCacheManager(bus);
+            cacheManager.setCacheNames(List.of("produtos", "users"));
+            bus.bind(cacheManager);
+        }
+
+        private Cache cache(String name) {
+            return cacheManager.getCache(name);
+        }
+
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.template.core.test;
+
+import com.template.core.service.DadosPessoaisService;
+import com.template.core.util.documento.CpfCnpj;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a validação dos dígitos verificadores e a normalização do {@link CpfCnpj}.
+ */
+public class CpfCnpjTests {
+
+    @Test
+    public void isValido_CpfECnpj_ComESemPontuacao() {
+        assertTrue(CpfCnpj.isValido("12345678909"));
+        assertTrue(CpfCnpj.isValido("123.456.789-09"));
+        assertTrue(CpfCnpj.isValido("11222333000181"));
+        assertTrue(CpfCnpj.isValido("11.222.333/0001-81"));
+        assertTrue(CpfCnpj.isValido("12.ABC.345/01DE-35"));
+        assertTrue(CpfCnpj.isValido("12abc34501de35"));
+        assertTrue(CpfCnpj.isValido(DadosPessoaisService.CPF_CNPJ_ADMIN));
+    }
+
+    @Test
+    public void isValido_RecusaDigitosErradosTamanhosERepetidos() {
+        assertFalse(CpfCnpj.isValido("12345678900"));
+        assertFalse(CpfCnpj.isValido("11.222.333/0001-82"));
+        assertFalse(CpfCnpj.isValido("1234567890"));
+        assertFalse(CpfCnpj.isValido("123456789091"));
+        assertFalse(CpfCnpj.isValido("000.000.000-00"));
+        assertFalse(CpfCnpj.isValido("11111111111111"));
+        assertFalse(CpfCnpj.isValido("1234567890A"));
+        assertFalse(CpfCnpj.isValido("12ABC34501DEAB"));
+        assertFalse(CpfCnpj.isValido("123_456_789-09"));
+        assertFalse(CpfCnpj.isValido(""));
+        assertFalse(CpfCnpj.isValido(null));
+    }
+
+    @Test
+    public void normalizar_RemoveAPontuacaoEMantemAInstanciaJaNormalizada() {
+        String normalizado = "11222333000181";
+
+        assertSame(normalizado, CpfCnpj.normalizar(normalizado));
+        assertEquals("12345678909", CpfCnpj.normalizar("123.456.789-09"));
+        assertEquals("12ABC34501DE35", CpfCnpj.normalizar("12.abc.345/01de-35"));
+        assertEquals(Arrays.asList("12345678909", null, "11222333000181"), CpfCnpj.normalizar(List.of("123.456.789-09", "123", "11.222.333/0001-81")));
+    }
+
+}
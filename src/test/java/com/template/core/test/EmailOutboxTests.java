@@ -0,0 +1,148 @@
+package com.template.core.test;
+
+import com.template.core.config.EmailOutboxWorker;
+import com.template.core.dto.EmailDTO;
+import com.template.core.dto.EmailProgressoDTO;
+import com.template.core.entity.EmailMensagem;
+import com.template.core.entity.EmailOutbox;
+import com.template.core.event.EmailEnfileiradoEvent;
+import com.template.core.enums.StatusEmail;
+import com.template.core.service.EmailService;
+import com.template.core.util.email.AnexosEmail;
+import com.template.core.util.email.EmailSender;
+import com.template.core.util.email.TemplatesEmail;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica a fila de envio de emails do {@link EmailService}: a reserva dos pendentes, o reagendamento com intervalos
+ * crescentes, o descarte após esgotar as tentativas e o progresso do envio; e a janela de envio do
+ * {@link EmailOutboxWorker} após uma falha na reserva.
+ */
+@DataJpaTest
+@Import(EmailService.class)
+@TestPropertySource(properties = {"template.email.outbox.max-attempts=2", "template.email.outbox.backoff-millis=60000", "template.email.outbox.lease-millis=300000"})
+public class EmailOutboxTests {
+
+    @TestConfiguration
+    static class Templates {
+
+        @Bean
+        public TemplatesEmail templatesEmail() {
+            return TemplatesEmail.carregar();
+        }
+
+        @Bean
+        public AnexosEmail anexosEmail() {
+            return new AnexosEmail(Path.of(System.getProperty("java.io.tmpdir")));
+        }
+
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmailService service;
+
+    @Test
+    public void reservar_ContaATentativaEAdiaOsReservados() {
+        Long primeiro = service.sendEmail(new EmailDTO("a@template.com", null, null, null)).getId();
+        Long segundo = service.sendEmail(new EmailDTO("b@template.com", null, null, null)).getId();
+        service.sendEmail(new EmailDTO("c@template.com", null, null, null));
+
+        List<EmailOutbox> reservados = service.reservar(2);
+
+        assertEquals(List.of(primeiro, segundo), reservados.stream().map(EmailOutbox::getId).toList());
+        assertTrue(reservados.stream().allMatch(email -> email.getTentativas() == 1 && email.getProximaTentativa().isAfter(Instant.now().plusSeconds(290))));
+        assertEquals(List.of("c@template.com"), service.reservar(10).stream().map(EmailOutbox::getDestinatario).toList());
+        assertEquals(List.of(), service.reservar(10));
+    }
+
+    @Test
+    public void registrarEnvio_MarcaComoEnviadoEContaNoProgresso() {
+        EmailOutbox email = service.sendEmail(new EmailDTO("a@template.com", null, null, null));
+        Long mensagemId = email.getMensagem().getId();
+        assertEquals(new EmailProgressoDTO(mensagemId, 1, 1, 0, 0), service.progresso(mensagemId));
+        service.reservar(1);
+
+        service.registrarEnvios(List.of(email.getId()));
+
+        entityManager.clear();
+        EmailOutbox enviado = entityManager.find(EmailOutbox.class, email.getId());
+        assertEquals(StatusEmail.ENVIADO, enviado.getStatus());
+        assertNotNull(enviado.getDataEnvio());
+        assertEquals(new EmailProgressoDTO(mensagemId, 1, 0, 1, 0), service.progresso(mensagemId));
+    }
+
+    @Test
+    public void registrarFalha_ReagendaComIntervaloEDescartaAoEsgotarAsTentativas() {
+        Long id = service.sendEmail(new EmailDTO("a@template.com", null, null, null)).getId();
+        service.reservar(1);
+
+        service.registrarFalha(id, "SMTP indisponível");
+
+        EmailOutbox email = entityManager.find(EmailOutbox.class, id);
+        assertEquals(StatusEmail.PENDENTE, email.getStatus());
+        assertEquals("SMTP indisponível", email.getUltimoErro());
+        assertTrue(email.getProximaTentativa().isAfter(Instant.now().plusSeconds(29)) && email.getProximaTentativa().isBefore(Instant.now().plusSeconds(61)));
+
+        email.setProximaTentativa(Instant.now().minusSeconds(1));
+        assertEquals(List.of(id), service.reservar(1).stream().map(EmailOutbox::getId).toList());
+        service.registrarFalha(id, "SMTP indisponível");
+
+        assertEquals(StatusEmail.FALHA, email.getStatus());
+        assertEquals(2, email.getTentativas());
+        assertEquals(List.of(), service.reservar(1));
+    }
+
+    @Test
+    public void drenar_DevolveAsVagasDaJanelaQuandoAReservaFalha() throws Exception {
+        EmailService emailService = mock(EmailService.class);
+        EmailSender sender = mock(EmailSender.class);
+        EmailOutbox email = new EmailOutbox();
+        email.setId(1L);
+        email.setDestinatario("a@template.com");
+        email.setMensagem(new EmailMensagem(1L, "exemplo", Map.of(), List.of(), Instant.now(), true));
+        when(emailService.reservar(anyInt())).thenThrow(new IllegalStateException("Banco indisponível")).thenReturn(List.of(email)).thenReturn(List.of());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        EmailOutboxWorker worker = new EmailOutboxWorker(emailService, sender, TemplatesEmail.carregar(), new AnexosEmail(Path.of(System.getProperty("java.io.tmpdir"))),
+                executor, 2, 1000, 10, 1);
+        try {
+            worker.onEmailEnfileirado(new EmailEnfileiradoEvent(1L));
+            verify(emailService, timeout(5000)).reservar(2);
+            worker.onEmailEnfileirado(new EmailEnfileiradoEvent(1L));
+
+            verify(sender, timeout(5000)).enviar(eq("a@template.com"), anyString(), anyString(), anyList());
+            verify(emailService, timeout(5000)).registrarEnvios(List.of(1L));
+        } finally {
+            worker.parar();
+            executor.shutdownNow();
+        }
+    }
+
+}
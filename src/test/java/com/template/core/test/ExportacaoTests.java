@@ -0,0 +1,112 @@
+package com.template.core.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.core.entity.DadosPessoais;
+import com.template.core.entity.Produto;
+import com.template.core.entity.Role;
+import com.template.core.entity.User;
+import com.template.core.service.ProdutoService;
+import com.template.core.service.UserService;
+import com.template.core.util.security.PasswordHasher;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a exportação em streaming: os formatos CSV e NDJSON e a limpeza do contexto de persistência durante a
+ * leitura do cursor.
+ */
+@AutoConfigureJson
+@DataJpaTest
+@Import({ProdutoService.class, UserService.class})
+public class ExportacaoTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private PasswordHasher passwordHasher;
+
+    @Test
+    public void export_Csv_EscreveCabecalhoEDelimitaCampos() throws IOException {
+        Produto lapis = entityManager.persist(new Produto(null, "lapis", true));
+        Produto caneta = entityManager.persist(new Produto(null, "caneta \"azul\", fina", false));
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long total = produtoService.export("text/csv", false, outputStream);
+
+        assertEquals(2, total);
+        assertEquals("id,descricao,ativo\n" + lapis.getId() + ",LAPIS,true\n" + caneta.getId() + ",\"CANETA \"\"AZUL\"\", FINA\",false\n", outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void export_NdjsonApenasAtivos_NaoExportaASenha() throws IOException {
+        DadosPessoais dadosPessoais = entityManager.persist(new DadosPessoais(null, "ATIVO", "cpf1", true));
+        Role role = entityManager.persist(new Role(null, "USER", Set.of(), true));
+        User ativo = entityManager.persist(new User(null, "ativo", "hash", "ativo@template.com", true, LocalDate.of(2024, 1, 2), false, dadosPessoais, Set.of(role)));
+        entityManager.persist(new User(null, "inativo", "hash", "inativo@template.com", false, LocalDate.of(2024, 1, 2), false, null, Set.of(role)));
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        userService.export("application/x-ndjson", true, outputStream);
+
+        List<String> linhas = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, linhas.size());
+        JsonNode user = objectMapper.readTree(linhas.getFirst());
+        assertEquals(ativo.getId(), user.get("id").asLong());
+        assertEquals("2024-01-02", user.get("dataCadastro").asText());
+        assertEquals(dadosPessoais.getId(), user.get("dadosPessoaisId").asLong());
+        assertFalse(user.has("password"));
+    }
+
+    @Test
+    public void export_LimpaOContextoDePersistenciaACadaBloco() throws IOException {
+        int quantidade = 2500;
+        produtoService.saveAll(IntStream.range(0, quantidade).mapToObj(i -> new Produto(null, "PRODUTO " + i, true)).toList());
+        entityManager.flush();
+        entityManager.clear();
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        int[] maximo = new int[1];
+        OutputStream outputStream = new OutputStream() {
+            @Override
+            public void write(int b) {
+                maximo[0] = Math.max(maximo[0], session.getStatistics().getEntityCount());
+            }
+        };
+
+        long total = produtoService.export("text/csv", false, outputStream);
+
+        assertEquals(quantidade, total);
+        assertTrue(maximo[0] > 0 && maximo[0] <= 1000, "Entidades no contexto de persistência: " + maximo[0]);
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.template.core.test;
+
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.entity.*;
+import com.template.core.enums.Acesso;
+import com.template.core.repository.RoleRepository;
+import com.template.core.service.UserService;
+import com.template.core.util.jpa.FiltroAtivo;
+import com.template.core.util.security.PasswordHasher;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica as consultas de registros ativos pelo {@link FiltroAtivo}: a entidade raiz e as coleções do grafo de
+ * autorização são restringidas no SQL, enquanto as associações to-one não são.
+ */
+@AutoConfigureJson
+@DataJpaTest
+@Import(UserService.class)
+public class FiltroAtivoTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private PasswordHasher passwordHasher;
+
+    private Long ativoId;
+
+    private Long inativoId;
+
+    @BeforeEach
+    public void setUp() {
+        Permissao ativa = entityManager.persist(new Permissao(null, "/api/ativa", true));
+        Permissao inativa = entityManager.persist(new Permissao(null, "/api/inativa", false));
+        Rota rotaAtiva = entityManager.persist(new Rota(null, "Ativa", "/ativa", Set.of(ativa, inativa), true));
+        Rota rotaInativa = entityManager.persist(new Rota(null, "Inativa", "/inativa", Set.of(ativa), false));
+        Role admin = entityManager.persist(new Role(null, "ADMIN", Set.of(new GrupoAcesso(null, rotaAtiva, Set.of(Acesso.READ), true)), true));
+        entityManager.persist(new Role(null, "USER", Set.of(new GrupoAcesso(null, rotaInativa, Set.of(Acesso.READ), true)), true));
+        Role antiga = entityManager.persist(new Role(null, "ANTIGA", Set.of(), false));
+        DadosPessoais dadosInativos = entityManager.persist(new DadosPessoais(null, "DADOS INATIVOS", "cpf1", false));
+        DadosPessoais dadosAtivos = entityManager.persist(new DadosPessoais(null, "DADOS ATIVOS", "cpf2", true));
+        ativoId = entityManager.persist(new User(null, "ativo", "hash", "ativo@template.com", true, LocalDate.now(), false, dadosInativos, Set.of(admin, antiga))).getId();
+        inativoId = entityManager.persist(new User(null, "inativo", "hash", "inativo@template.com", false, LocalDate.now(), false, dadosAtivos, Set.of(admin))).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void listagem_ApenasAtivos_FiltraRegistrosEContagem() {
+        Page<User> todos = userService.findAll(PageRequest.of(0, 10), false);
+        entityManager.clear();
+        Page<User> ativos = userService.findAll(PageRequest.of(0, 10), true);
+
+        assertEquals(2, todos.getTotalElements());
+        assertEquals(1, ativos.getTotalElements());
+        assertEquals(List.of("ativo"), ativos.getContent().stream().map(User::getUsername).toList());
+        assertEquals(Set.of("ADMIN"), ativos.getContent().getFirst().getRoles().stream().map(Role::getNome).collect(Collectors.toSet()));
+        assertNotNull(ativos.getContent().getFirst().getDadosPessoais());
+    }
+
+    @Test
+    public void cursor_ApenasAtivos_FiltraRegistros() {
+        CursorPageDTO<User> page = userService.findAll(new CursorRequestDTO(null, 10, true));
+
+        assertEquals(List.of(ativoId), page.content().stream().map(User::getId).toList());
+        assertNull(page.next());
+    }
+
+    @Test
+    public void detalhe_ApenasAtivos_RejeitaRegistroInativo() {
+        assertEquals("inativo", userService.findById(inativoId, false).getUsername());
+        entityManager.clear();
+
+        assertThrows(EntityNotFoundException.class, () -> userService.findById(inativoId, true));
+    }
+
+    @Test
+    public void grafoAutorizacao_FiltraColecoesMasNaoAssociacoesToOne() {
+        Map<String, Role> roles = FiltroAtivo.aplicar(entityManager.getEntityManager(), roleRepository::findAllAcessosByAtivoTrue).stream()
+                .collect(Collectors.toMap(Role::getNome, role -> role));
+
+        Rota rotaAdmin = roles.get("ADMIN").getGrupoAcesso().iterator().next().getRota();
+        Rota rotaUser = roles.get("USER").getGrupoAcesso().iterator().next().getRota();
+        assertEquals(Set.of("/api/ativa"), rotaAdmin.getPermissoes().stream().map(Permissao::getEndpoint).collect(Collectors.toSet()));
+        assertFalse(rotaUser.isAtivo());
+    }
+
+    @Test
+    public void aplicar_DesabilitaOFiltroAoFinal() {
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+        boolean habilitado = FiltroAtivo.aplicar(entityManager.getEntityManager(), () -> session.getEnabledFilter(FiltroAtivo.NOME) != null);
+
+        assertTrue(habilitado);
+        assertNull(session.getEnabledFilter(FiltroAtivo.NOME));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.template.core.test;
+
+import com.template.core.dto.EtapaInicializacaoDTO;
+import com.template.core.util.inicializacao.GrafoInicializacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a execução do {@link GrafoInicializacao}: as etapas independentes em paralelo, a ordem das dependências e o
+ * cancelamento das etapas que dependem de uma etapa com falha.
+ */
+public class GrafoInicializacaoTests {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void executar_ExecutaAsIndependentesEmParaleloEAsDependentesDepois() throws Exception {
+        CountDownLatch ambas = new CountDownLatch(2);
+        Runnable aguardaAOutra = () -> {
+            ambas.countDown();
+            try {
+                assertTrue(ambas.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        List<EtapaInicializacaoDTO> etapas = new GrafoInicializacao()
+                .etapa("a", aguardaAOutra)
+                .etapa("b", aguardaAOutra)
+                .etapa("c", () -> assertEquals(0, ambas.getCount()), "a", "b")
+                .executar(executor).get(10, TimeUnit.SECONDS);
+
+        assertEquals("c", etapas.getLast().nome());
+        assertEquals(List.of("a", "b"), etapas.getLast().dependencias());
+        assertTrue(etapas.stream().allMatch(etapa -> GrafoInicializacao.CONCLUIDA.equals(etapa.situacao())));
+    }
+
+    @Test
+    public void executar_CancelaAsDependentesDeUmaEtapaComFalha() throws Exception {
+        List<EtapaInicializacaoDTO> etapas = new GrafoInicializacao()
+                .etapa("a", () -> {
+                    throw new IllegalStateException("banco indisponível");
+                })
+                .etapa("b", () -> {
+                })
+                .etapa("c", () -> fail("Dependente de uma etapa com falha"), "a", "b")
+                .etapa("d", () -> fail("Dependente de uma etapa cancelada"), "c")
+                .executar(executor).get(10, TimeUnit.SECONDS);
+
+        Map<String, String> situacoes = etapas.stream().collect(Collectors.toMap(EtapaInicializacaoDTO::nome, EtapaInicializacaoDTO::situacao));
+        assertEquals(Map.of("a", GrafoInicializacao.FALHA, "b", GrafoInicializacao.CONCLUIDA, "c", GrafoInicializacao.CANCELADA, "d", GrafoInicializacao.CANCELADA), situacoes);
+        assertTrue(etapas.stream().filter(etapa -> etapa.nome().equals("a")).findFirst().orElseThrow().erro().contains("banco indisponível"));
+        assertThrows(IllegalArgumentException.class, () -> new GrafoInicializacao().etapa("a", () -> {
+        }, "b"));
+    }
+
+}
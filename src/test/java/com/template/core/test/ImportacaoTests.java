@@ -0,0 +1,189 @@
+package com.template.core.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.core.dto.ErroImportacaoDTO;
+import com.template.core.dto.ImportacaoResultadoDTO;
+import com.template.core.dto.UserImportDTO;
+import com.template.core.entity.DadosPessoais;
+import com.template.core.entity.Role;
+import com.template.core.exception.ValidacaoException;
+import com.template.core.repository.DadosPessoaisRepository;
+import com.template.core.repository.RoleRepository;
+import com.template.core.service.UserImportService;
+import com.template.core.util.importacao.LinhaImportacao;
+import com.template.core.util.importacao.UserImportParser;
+import com.template.core.util.security.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica a importação de users: o leitor de CSV (aspas) e NDJSON com erros por linha, a divisão do arquivo em lotes
+ * e o limite de erros guardados no resultado.
+ */
+@AutoConfigureJson
+@DataJpaTest
+@Import(UserImportService.class)
+@TestPropertySource(properties = {"template.user-import.chunk-size=2", "template.user-import.max-errors=2"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ImportacaoTests {
+
+    private static final String CABECALHO = "roles,cpfCnpj,email,password,username\n";
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private DadosPessoaisRepository dadosPessoaisRepository;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private PasswordHasher passwordHasher;
+
+    @Test
+    public void parser_Csv_RespeitaAspasEAOrdemDoCabecalho() throws IOException {
+        List<LinhaImportacao> linhas = parse("text/csv", CABECALHO
+                + "\"ADMIN|USER\",111,\"ana@template.com\",\"se,nha \"\"forte\"\"\",ana\n"
+                + "\n"
+                + "USER,222,bia@template.com,senha,bia\n");
+
+        assertEquals(2, linhas.size());
+        assertEquals(new UserImportDTO("ana", "se,nha \"forte\"", "ana@template.com", "111", List.of("ADMIN", "USER")), linhas.get(0).user());
+        assertEquals(2, linhas.get(0).numero());
+        assertEquals(4, linhas.get(1).numero());
+        assertEquals("bia", linhas.get(1).user().username());
+    }
+
+    @Test
+    public void parser_Csv_RegistraOErroDaLinhaEContinua() throws IOException {
+        List<LinhaImportacao> linhas = parse("text/csv; charset=UTF-8", CABECALHO
+                + "USER,111,\"ana@template.com,senha,ana\n"
+                + "USER,222\n"
+                + "USER,333,caio@template.com,senha,caio\n");
+
+        assertEquals(List.of("Aspas não fechadas.", "Quantidade de colunas menor que a do cabeçalho."), linhas.stream().limit(2).map(LinhaImportacao::erro).toList());
+        assertNull(linhas.get(0).user());
+        assertNull(linhas.get(2).erro());
+        assertEquals("caio", linhas.get(2).user().username());
+    }
+
+    @Test
+    public void parser_CsvSemColuna_RecusaOCabecalho() {
+        assertThrows(ValidacaoException.class, () -> parse("text/csv", "username,password,email,roles\nana,senha,ana@template.com,USER\n"));
+    }
+
+    @Test
+    public void parser_Ndjson_RegistraOErroDaLinhaEContinua() throws IOException {
+        List<LinhaImportacao> linhas = parse("application/x-ndjson", """
+                {"username":"ana","password":"senha","email":"ana@template.com","cpfCnpj":"111","roles":["USER"]}
+                {"username":"bia",
+                {"username":"caio","password":"senha","email":"caio@template.com","cpfCnpj":"333","roles":[]}
+                """);
+
+        assertEquals(3, linhas.size());
+        assertEquals(new UserImportDTO("ana", "senha", "ana@template.com", "111", List.of("USER")), linhas.get(0).user());
+        assertTrue(linhas.get(1).erro().startsWith("JSON inválido"), linhas.get(1).erro());
+        assertEquals(3, linhas.get(2).numero());
+        assertEquals(List.of(), linhas.get(2).user().roles());
+    }
+
+    @Test
+    public void importUsers_DivideEmLotesEDetectaDuplicadosEntreLotes() throws IOException {
+        cadastra("12345678909", "52998224725", "11144477735");
+        when(passwordHasher.encodeAll(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream().map(senha -> "hash-" + senha).toList());
+
+        ImportacaoResultadoDTO resultado = userImportService.importUsers("text/csv", csv(CABECALHO
+                + "USER,12345678909,ana@template.com,a,ana\n"
+                + "USER,529.982.247-25,bia@template.com,b,bia\n"
+                + "USER,11144477735,ana@template.com,c,caio\n"));
+
+        assertEquals(3, resultado.total());
+        assertEquals(2, resultado.importados());
+        assertEquals(List.of(new ErroImportacaoDTO(4, "Email ana@template.com já cadastrado.")), resultado.erros());
+        assertEquals(List.of("ana", "bia"), jdbcTemplate.queryForList("SELECT tx_username FROM users ORDER BY tx_username", String.class));
+    }
+
+    @Test
+    public void importUsers_NormalizaEValidaOCpfCnpj() throws IOException {
+        cadastra("12345678909");
+        when(passwordHasher.encodeAll(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream().map(senha -> "hash-" + senha).toList());
+
+        ImportacaoResultadoDTO resultado = userImportService.importUsers("text/csv", csv(CABECALHO
+                + "USER,123.456.789-09,ana@template.com,a,ana\n"
+                + "USER,12345678909,bia@template.com,b,bia\n"
+                + "USER,123.456.789-00,caio@template.com,c,caio\n"));
+
+        assertEquals(1, resultado.importados());
+        assertEquals(List.of(new ErroImportacaoDTO(3, "Username, email ou CPF/CNPJ duplicado no arquivo."), new ErroImportacaoDTO(4, "CPF/CNPJ 123.456.789-00 inválido.")), resultado.erros());
+    }
+
+    @Test
+    public void importUsers_GuardaApenasOsPrimeirosErros() throws IOException {
+        cadastra();
+        StringBuilder arquivo = new StringBuilder(CABECALHO);
+        for (int i = 0; i < 5; i++) {
+            arquivo.append("INEXISTENTE,111,u").append(i).append("@template.com,senha,u").append(i).append('\n');
+        }
+
+        ImportacaoResultadoDTO resultado = userImportService.importUsers("text/csv", csv(arquivo.toString()));
+
+        assertEquals(5, resultado.total());
+        assertEquals(0, resultado.importados());
+        assertEquals(5, resultado.falhas());
+        assertEquals(List.of(2L, 3L), resultado.erros().stream().map(ErroImportacaoDTO::linha).toList());
+    }
+
+    private List<LinhaImportacao> parse(String contentType, String conteudo) throws IOException {
+        List<LinhaImportacao> linhas = new ArrayList<>();
+        try (UserImportParser parser = UserImportParser.of(contentType, csv(conteudo), objectMapper)) {
+            for (LinhaImportacao linha = parser.next(); linha != null; linha = parser.next()) {
+                linhas.add(linha);
+            }
+        }
+        return linhas;
+    }
+
+    /**
+     * Recria, fora da transação do teste, a role USER e os dados pessoais utilizados pelo arquivo.
+     */
+    private void cadastra(String... cpfCnpjs) {
+        for (String tabela : List.of("users_roles", "users", "dados_pessoais", "roles")) {
+            jdbcTemplate.update("DELETE FROM " + tabela);
+        }
+        roleRepository.save(new Role(null, "USER", Set.of(), true));
+        for (String cpfCnpj : cpfCnpjs) {
+            dadosPessoaisRepository.save(new DadosPessoais(null, "PESSOA " + cpfCnpj, cpfCnpj, true));
+        }
+    }
+
+    private static ByteArrayInputStream csv(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
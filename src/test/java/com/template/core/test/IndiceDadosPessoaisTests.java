@@ -0,0 +1,126 @@
+package com.template.core.test;
+
+import com.template.core.dto.DadosPessoaisResumoDTO;
+import com.template.core.util.busca.IndiceDadosPessoais;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a busca por prefixo do {@link IndiceDadosPessoais}: a normalização das chaves, a intercalação do array com as
+ * alterações incrementais, a reconstrução do array no executor e a carga completa sem perder as alterações
+ * concorrentes.
+ */
+public class IndiceDadosPessoaisTests {
+
+    private final IndiceDadosPessoais indice = new IndiceDadosPessoais();
+
+    @BeforeEach
+    public void setUp() {
+        indice.carregar(Stream.of(
+                new DadosPessoaisResumoDTO(1L, "JOÃO DA SILVA", "123.456.789-09", true),
+                new DadosPessoaisResumoDTO(2L, "MARIA SILVA SANTOS", "98765432100", true),
+                new DadosPessoaisResumoDTO(3L, "JOANA D'ARC", "12.345.678/0001-95", false)
+        ));
+    }
+
+    @Test
+    public void buscar_PorPrefixoDoNomeEDePalavras_IgnorandoAcentos() {
+        assertEquals(List.of(3L, 1L), ids("jo", 10, false));
+        assertEquals(List.of(1L), ids("joao", 10, false));
+        assertEquals(List.of(1L, 2L), ids("silv", 10, false));
+        assertEquals(List.of(2L), ids("santos ma", 10, false));
+        assertEquals(List.of(3L), ids("d arc", 10, false));
+        assertEquals(List.of(1L), ids("jo", 10, true));
+        assertEquals(List.of(3L), ids("jo", 1, false));
+        assertEquals(List.of(), ids("ilva", 10, false));
+    }
+
+    @Test
+    public void buscar_PorPrefixoDoDocumento_IgnorandoAPontuacao() {
+        assertEquals(List.of(3L, 1L), ids("123", 10, false));
+        assertEquals(List.of(1L), ids("123.456.789", 10, false));
+        assertEquals(List.of(3L), ids("12.345.678/0", 10, false));
+        assertEquals(List.of(), ids("456", 10, false));
+    }
+
+    @Test
+    public void atualizar_SubstituiAsChavesAnterioresEIntercalaComOArray() {
+        indice.atualizar(new DadosPessoaisResumoDTO(1L, "PEDRO SOUZA", "11111111111", true));
+        indice.atualizar(new DadosPessoaisResumoDTO(4L, "JOAQUIM", "22222222222", true));
+        indice.remover(3L);
+
+        assertEquals(List.of(4L), ids("jo", 10, false));
+        assertEquals(List.of(1L), ids("souza", 10, false));
+        assertEquals(List.of(2L), ids("silva", 10, false));
+        assertEquals(List.of(), ids("123", 10, false));
+        assertEquals("PEDRO SOUZA", indice.buscar("pedro", 1, false).getFirst().nome());
+        assertEquals(3, indice.size());
+    }
+
+    @Test
+    public void atualizar_ReconstroiOArraySemPerderRegistros() {
+        LongStream.rangeClosed(10, 10_009).forEach(id -> indice.atualizar(new DadosPessoaisResumoDTO(id, "CLIENTE " + id, String.valueOf(id), id % 2 == 0)));
+        LongStream.rangeClosed(10, 10_009).filter(id -> id % 3 == 0).forEach(indice::remover);
+
+        assertEquals(List.of(100L, 1000L, 10000L, 10001L, 10003L), ids("cliente 100", 5, false));
+        assertEquals(List.of(100L, 1000L, 10000L, 10004L, 10006L), ids("100", 5, true));
+        assertEquals(3 + 10_000 - 3333, indice.size());
+    }
+
+    @Test
+    public void atualizar_ReconstroiOArrayNoExecutorMantendoAsAlteracoesDaReconstrucao() {
+        List<Runnable> reconstrucoes = new ArrayList<>();
+        IndiceDadosPessoais indice = new IndiceDadosPessoais(reconstrucoes::add);
+        LongStream.rangeClosed(1, 5000).forEach(id -> indice.atualizar(new DadosPessoaisResumoDTO(id, "CLIENTE " + id, String.valueOf(id), true)));
+        assertEquals(1, reconstrucoes.size());
+
+        indice.atualizar(new DadosPessoaisResumoDTO(1L, "RENOMEADO", "1", true));
+        indice.remover(2L);
+        indice.atualizar(new DadosPessoaisResumoDTO(6000L, "NOVO", "6000", true));
+        reconstrucoes.removeFirst().run();
+
+        assertEquals(List.of(1L), ids(indice, "renomeado", 5));
+        assertEquals(List.of(6000L), ids(indice, "novo", 5));
+        assertEquals(List.of(10L, 100L), ids(indice, "cliente 1", 2));
+        assertEquals(List.of(20L, 200L), ids(indice, "cliente 2", 2));
+        assertEquals(List.of(3L, 30L), ids(indice, "cliente 3", 2));
+        assertEquals(5000, indice.size());
+        assertEquals(List.of(), reconstrucoes);
+    }
+
+    @Test
+    public void carregar_MantemAsAlteracoesFeitasDuranteACarga() {
+        indice.carregar(Stream.of(
+                new DadosPessoaisResumoDTO(5L, "ANTIGO", "555", true),
+                new DadosPessoaisResumoDTO(6L, "EXCLUIDO", "666", true),
+                new DadosPessoaisResumoDTO(7L, "MANTIDO", "777", true)
+        ).peek(registro -> {
+            if (registro.id() == 7L) {
+                indice.atualizar(new DadosPessoaisResumoDTO(5L, "ATUAL", "555", true));
+                indice.remover(6L);
+            }
+        }));
+
+        assertEquals(List.of(5L), ids("atual", 10, false));
+        assertEquals(List.of(), ids("antigo", 10, false));
+        assertEquals(List.of(), ids("excluido", 10, false));
+        assertEquals(List.of(7L), ids("mantido", 10, false));
+        assertEquals(2, indice.size());
+    }
+
+    private List<Long> ids(String termo, int size, boolean apenasAtivos) {
+        return indice.buscar(termo, size, apenasAtivos).stream().map(DadosPessoaisResumoDTO::id).toList();
+    }
+
+    private static List<Long> ids(IndiceDadosPessoais indice, String termo, int size) {
+        return indice.buscar(termo, size, false).stream().map(DadosPessoaisResumoDTO::id).toList();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.template.core.test;
+
+import com.template.core.entity.GrupoAcesso;
+import com.template.core.entity.Permissao;
+import com.template.core.entity.Produto;
+import com.template.core.entity.Role;
+import com.template.core.entity.Rota;
+import com.template.core.enums.Acesso;
+import com.template.core.service.ProdutoService;
+import com.template.core.service.RoleService;
+import com.template.core.util.cache.CacheInvalidationBus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que os IDs por sequência (pooled-lo) permitem ao Hibernate agrupar os INSERTs em lotes JDBC: a quantidade de
+ * instruções preparadas depende da quantidade de lotes, e não da quantidade de registros.
+ */
+@AutoConfigureJson
+@DataJpaTest
+@Import({ProdutoService.class, RoleService.class})
+public class InsercaoEmLoteTests {
+
+    private static final int LOTE = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @MockitoBean
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void saveAll_AgrupaOsInsertsEmLotes() {
+        int quantidade = 10 * LOTE;
+        List<Produto> produtos = produtoService.saveAll(IntStream.range(0, quantidade).mapToObj(i -> new Produto(null, "PRODUTO " + i, true)).toList());
+        entityManager.flush();
+
+        assertEquals(quantidade, statistics.getEntityInsertCount());
+        assertTrue(produtos.stream().allMatch(produto -> produto.getId() != null));
+        assertTrue(statistics.getPrepareStatementCount() <= 2 * quantidade / LOTE, "Instruções preparadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void saveAll_AgrupaOsInsertsEmCascata() {
+        Permissao permissao = entityManager.persist(new Permissao(null, "/api/user/find", true));
+        List<Role> roles = new ArrayList<>();
+        for (int i = 0; i < LOTE; i++) {
+            Rota rota = entityManager.persist(new Rota(null, "ROTA " + i, "/rota/" + i, Set.of(permissao), true));
+            roles.add(new Role(null, "ROLE " + i, Set.of(new GrupoAcesso(null, rota, Set.of(Acesso.READ, Acesso.WRITE), true)), true));
+        }
+        entityManager.flush();
+        statistics.clear();
+
+        roleService.saveAll(roles);
+        entityManager.flush();
+
+        assertEquals(2 * LOTE, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 8, "Instruções preparadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void saveAll_RecusaRegistrosComId() {
+        List<Produto> produtos = List.of(new Produto(null, "NOVO", true), new Produto(1L, "EXISTENTE", true));
+
+        assertThrows(IllegalStateException.class, () -> produtoService.saveAll(produtos));
+    }
+
+}
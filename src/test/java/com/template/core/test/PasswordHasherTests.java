@@ -0,0 +1,75 @@
+package com.template.core.test;
+
+import com.template.core.util.security.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o hashing em lote do {@link PasswordHasher}: com a fila do executor cheia, o lote aguarda a vaga em vez de
+ * calcular os hashes na thread chamadora.
+ */
+public class PasswordHasherTests {
+
+    @Test
+    public void encodeAll_ComAFilaCheia_AguardaAVagaSemCalcularNaThreadChamadora() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                threads.add(Thread.currentThread().getName());
+                return "hash-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("hash-"));
+        PasswordHasher hasher = new PasswordHasher(encoder, 4, 4, executor);
+        threads.clear();
+
+        CountDownLatch liberacao = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(liberacao));
+        executor.execute(() -> awaitQuietly(liberacao));
+        Thread.ofVirtual().start(() -> {
+            sleepQuietly(200);
+            liberacao.countDown();
+        });
+
+        try {
+            assertEquals(List.of("hash-a", "hash-b", "hash-c"), hasher.encodeAll(List.of("a", "b", "c")));
+            assertEquals(Set.of("hash-1"), threads);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
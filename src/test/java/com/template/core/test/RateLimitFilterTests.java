@@ -0,0 +1,53 @@
+package com.template.core.test;
+
+import com.template.core.config.RateLimitFilter;
+import com.template.core.util.ratelimit.TokenBucketRateLimiter;
+import com.template.core.util.security.RoutePermissionRegistry;
+import com.template.core.util.security.ServiceTokenVerifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a identificação dos clientes do {@link RateLimitFilter}: as chaves do gateway e as chaves internas têm
+ * buckets próprios, separados do bucket compartilhado pelos tokens inválidos.
+ */
+public class RateLimitFilterTests {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new TokenBucketRateLimiter(1, 0.001, 64), new ServiceTokenVerifier("chave", List.of()),
+            ServiceTokenVerifier.of(List.of("interna", "outra")), new RoutePermissionRegistry(), new byte[0]);
+
+    @Test
+    public void doFilter_TokensInvalidosNaoConsomemACotaDasChavesValidas() throws Exception {
+        assertEquals(200, status("invalido"));
+        assertEquals(429, status("forjado"));
+        assertEquals(429, status(null));
+
+        assertEquals(200, status(token("interna")));
+        assertEquals(200, status(token("outra")));
+        assertEquals(200, status(token("chave")));
+        assertEquals(429, status(token("interna")));
+    }
+
+    private int status(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/find");
+        if (token != null) {
+            request.addHeader("X-Service-Token", token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static String token(String key) {
+        return Base64.getEncoder().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
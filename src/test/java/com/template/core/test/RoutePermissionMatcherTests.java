@@ -0,0 +1,113 @@
+package com.template.core.test;
+
+import com.template.core.enums.Acesso;
+import com.template.core.util.security.RoutePermissionMatcher;
+import com.template.core.util.security.RoutePermissionRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o {@link RoutePermissionMatcher} e o {@link RoutePermissionRegistry}: segmentos {@code {id}}, o mapeamento
+ * do método HTTP para {@link Acesso}, a máscara de bits com mais roles que uma palavra e as rotas desconhecidas.
+ */
+public class RoutePermissionMatcherTests {
+
+    private static final String CONTEXT_PATH = "/template-core";
+
+    private static RoutePermissionMatcher matcher() {
+        return new RoutePermissionMatcher.Builder()
+                .grant("/api/user/find", "ADMIN", Acesso.READ)
+                .grant("/api/user/get/{id}", "ADMIN", Acesso.READ)
+                .grant("/api/user/get/{id}", "AUDITOR", Acesso.READ)
+                .grant("/api/user/get/me", "USER", Acesso.READ)
+                .grant("/api/user/save", "ADMIN", Acesso.WRITE)
+                .grant("/api/user/update/{id}", "ADMIN", Acesso.UPDATE)
+                .grant("/api/user/delete/{id}", "ADMIN", Acesso.DELETE)
+                .build();
+    }
+
+    @Test
+    public void find_SegmentoVariavelAceitaQualquerValorNaoVazio() {
+        RoutePermissionMatcher matcher = matcher();
+        int get = matcher.find("/api/user/get/42", 0);
+
+        assertEquals("/api/user/get/{id}", matcher.pattern(get));
+        assertEquals(get, matcher.find(CONTEXT_PATH + "/api/user/get/abc", CONTEXT_PATH.length()));
+        assertEquals("/api/user/get/me", matcher.pattern(matcher.find("/api/user/get/me", 0)));
+        assertEquals(-1, matcher.find("/api/user/get/", 0));
+        assertEquals(-1, matcher.find("/api/user/get/42/extra", 0));
+    }
+
+    @Test
+    public void find_RotaLiteralTemPrioridadeERecaiNaVariavel() {
+        RoutePermissionMatcher matcher = matcher();
+
+        assertTrue(matcher.isAllowed(matcher.find("/api/user/get/me", 0), Acesso.READ, "USER"));
+        assertFalse(matcher.isAllowed(matcher.find("/api/user/get/me", 0), Acesso.READ, "AUDITOR"));
+        assertFalse(matcher.isAllowed(matcher.find("/api/user/get/1", 0), Acesso.READ, "USER"));
+    }
+
+    @Test
+    public void isAllowed_MapeiaOMetodoHttpParaOAcesso() {
+        RoutePermissionRegistry registry = new RoutePermissionRegistry();
+        registry.replace(matcher());
+
+        assertTrue(registry.isAllowed("ADMIN", "GET", "/api/user/find", 0));
+        assertTrue(registry.isAllowed("ADMIN", "HEAD", "/api/user/find", 0));
+        assertTrue(registry.isAllowed("ADMIN", "OPTIONS", "/api/user/find", 0));
+        assertFalse(registry.isAllowed("ADMIN", "POST", "/api/user/find", 0));
+
+        assertTrue(registry.isAllowed("ADMIN", "POST", "/api/user/save", 0));
+        assertTrue(registry.isAllowed("ADMIN", "PUT", "/api/user/update/1", 0));
+        assertTrue(registry.isAllowed("ADMIN", "PATCH", "/api/user/update/1", 0));
+        assertFalse(registry.isAllowed("ADMIN", "DELETE", "/api/user/update/1", 0));
+        assertTrue(registry.isAllowed("ADMIN", "DELETE", "/api/user/delete/1", 0));
+        assertFalse(registry.isAllowed("ADMIN", "TRACE", "/api/user/find", 0));
+    }
+
+    @Test
+    public void isAllowed_AvaliaAListaDeRoles() {
+        RoutePermissionRegistry registry = new RoutePermissionRegistry();
+        registry.replace(matcher());
+
+        assertTrue(registry.isAllowed("USER, admin", "GET", "/api/user/find", 0));
+        assertTrue(registry.isAllowed("DESCONHECIDA,AUDITOR", "GET", "/api/user/get/7", 0));
+        assertFalse(registry.isAllowed("USER,AUDITOR", "GET", "/api/user/find", 0));
+        assertFalse(registry.isAllowed("", "GET", "/api/user/find", 0));
+        assertFalse(registry.isAllowed(null, "GET", "/api/user/find", 0));
+    }
+
+    @Test
+    public void isAllowed_NegaRotasDesconhecidas() {
+        RoutePermissionRegistry registry = new RoutePermissionRegistry();
+        assertFalse(registry.isAllowed("ADMIN", "GET", "/api/user/find", 0));
+
+        registry.replace(matcher());
+        assertEquals(-1, registry.find("/api/role/find", 0));
+        assertFalse(registry.isAllowed("ADMIN", "GET", "/api/role/find", 0));
+        assertFalse(registry.isAllowed("ADMIN", "GET", "/api/user", 0));
+    }
+
+    @Test
+    public void grant_AceitaMaisRolesQueOTamanhoDeUmaPalavra() {
+        RoutePermissionMatcher.Builder builder = new RoutePermissionMatcher.Builder();
+        for (int i = 0; i < 150; i++) {
+            builder.grant(i % 2 == 0 ? "/api/par" : "/api/impar", "ROLE_" + i, Acesso.READ);
+        }
+        builder.grant("/api/par", "ROLE_149", Acesso.WRITE);
+
+        RoutePermissionMatcher matcher = builder.build();
+        int par = matcher.find("/api/par", 0);
+        int impar = matcher.find("/api/impar", 0);
+        assertTrue(matcher.isAllowed(par, Acesso.READ, "ROLE_0"));
+        assertTrue(matcher.isAllowed(par, Acesso.READ, "ROLE_64"));
+        assertTrue(matcher.isAllowed(par, Acesso.READ, "ROLE_148"));
+        assertFalse(matcher.isAllowed(par, Acesso.READ, "ROLE_149"));
+        assertTrue(matcher.isAllowed(par, Acesso.WRITE, "ROLE_149"));
+        assertFalse(matcher.isAllowed(par, Acesso.WRITE, "ROLE_148"));
+        assertTrue(matcher.isAllowed(impar, Acesso.READ, "ROLE_1,ROLE_149"));
+        assertFalse(matcher.isAllowed(impar, Acesso.READ, "ROLE_64,ROLE_150"));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.template.core.test;
+
+import com.template.core.util.security.ServiceTokenVerifier;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o chaveiro do {@link ServiceTokenVerifier}: a rotação entre a chave atual e as anteriores, os tokens com e
+ * sem padding e a recusa de tokens e chaves vazios.
+ */
+public class ServiceTokenVerifierTests {
+
+    private final ServiceTokenVerifier verifier = new ServiceTokenVerifier("chave-atual", List.of("chave-antiga", "a"));
+
+    @Test
+    public void indexOf_IdentificaAChaveAtualEAsAnteriores() {
+        assertEquals(3, verifier.size());
+        assertEquals(0, verifier.indexOf(token("chave-atual")));
+        assertEquals(1, verifier.indexOf(token("chave-antiga")));
+        assertEquals(-1, verifier.indexOf(token("chave-removida")));
+        assertFalse(new ServiceTokenVerifier("chave-nova", List.of()).matches(token("chave-atual")));
+    }
+
+    @Test
+    public void indexOf_AceitaOTokenComESemPadding() {
+        String comPadding = token("a");
+        assertEquals("YQ==", comPadding);
+        assertEquals(2, verifier.indexOf(comPadding));
+        assertEquals(2, verifier.indexOf("YQ"));
+        assertEquals(-1, verifier.indexOf("YR=="));
+    }
+
+    @Test
+    public void indexOf_RecusaTokensVaziosOuSomentePadding() {
+        for (String token : Arrays.asList(null, "", "=", "==")) {
+            assertEquals(-1, verifier.indexOf(token), String.valueOf(token));
+        }
+    }
+
+    @Test
+    public void construtor_RecusaChavesVazias() {
+        assertThrows(IllegalArgumentException.class, () -> new ServiceTokenVerifier("", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceTokenVerifier(" ", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceTokenVerifier("chave", List.of("antiga", "")));
+        assertThrows(NullPointerException.class, () -> new ServiceTokenVerifier(null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ServiceTokenVerifier.of(List.of("interna", " ")));
+    }
+
+    @Test
+    public void of_SemChavesNaoAceitaNenhumToken() {
+        ServiceTokenVerifier internas = ServiceTokenVerifier.of(List.of());
+        assertEquals(0, internas.size());
+        assertFalse(internas.matches(token("chave-atual")));
+        assertEquals(0, ServiceTokenVerifier.of(List.of("interna")).indexOf(token("interna")));
+    }
+
+    private static String token(String chave) {
+        return Base64.getEncoder().encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.template.core.test;
+
+import com.template.core.exception.ValidacaoException;
+import com.template.core.util.email.AnexosEmail;
+import com.template.core.util.email.EmailSender;
+import com.template.core.util.email.SmtpTransportPool;
+import jakarta.mail.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a reutilização, o limite e o descarte das conexões do {@link SmtpTransportPool} e o envio dos anexos pelo
+ * {@link EmailSender} contra um servidor SMTP local mínimo, que apenas conta as conexões, as mensagens e os bytes
+ * recebidos.
+ */
+public class SmtpTransportPoolTests {
+
+    private ServidorSmtp servidor;
+
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        servidor = new ServidorSmtp();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        pool.close();
+        servidor.close();
+    }
+
+    @Test
+    public void enviar_ReutilizaAsConexoesAteOLimiteDoPool() throws Exception {
+        pool = new SmtpTransportPool(servidor.session(), 2, 100, 60_000, 5_000);
+        EmailSender sender = new EmailSender("remetente@template.com", pool);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        List<Future<?>> envios = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            int n = i;
+            envios.add(executor.submit(() -> {
+                sender.enviar("destinatario" + n + "@template.com", "Assunto", "<p>Corpo</p>");
+                return null;
+            }));
+        }
+        for (Future<?> envio : envios) {
+            envio.get();
+        }
+        executor.shutdown();
+
+        assertEquals(40, servidor.mensagens.get());
+        assertTrue(servidor.conexoes.get() <= 2);
+        assertEquals(servidor.conexoes.get(), pool.getConexoesAbertas());
+    }
+
+    @Test
+    public void enviar_FechaAsConexoesOciosasEAsQueAtingiramOLimiteDeMensagens() throws Exception {
+        pool = new SmtpTransportPool(servidor.session(), 1, 3, 100, 0);
+        EmailSender sender = new EmailSender("remetente@template.com", pool);
+
+        for (int i = 0; i < 4; i++) {
+            sender.enviar("destinatario@template.com", "Assunto", "<p>Corpo</p>");
+        }
+        assertEquals(2, pool.getConexoesAbertas());
+
+        Thread.sleep(300);
+        assertEquals(0, pool.getConexoesOciosas());
+        sender.enviar("destinatario@template.com", "Assunto", "<p>Corpo</p>");
+
+        assertEquals(3, pool.getConexoesAbertas());
+        assertEquals(5, servidor.mensagens.get());
+    }
+
+    @Test
+    public void enviar_TransmiteOAnexoDoDiscoSemCarregaloNaMemoria(@TempDir Path diretorio) throws Exception {
+        long tamanho = 64 << 20;
+        try (RandomAccessFile relatorio = new RandomAccessFile(diretorio.resolve("relatorio.csv").toFile(), "rw")) {
+            relatorio.setLength(tamanho);
+        }
+        AnexosEmail anexos = new AnexosEmail(diretorio);
+        pool = new SmtpTransportPool(servidor.session(), 1, 100, 60_000, 5_000);
+        EmailSender sender = new EmailSender("remetente@template.com", pool);
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long alocados = threads.getCurrentThreadAllocatedBytes();
+        sender.enviar("destinatario@template.com", "Assunto", "<p>Corpo</p>", anexos.resolver(List.of("relatorio.csv")));
+        alocados = threads.getCurrentThreadAllocatedBytes() - alocados;
+
+        assertEquals(1, servidor.mensagens.get());
+        assertTrue(servidor.bytes.get() > tamanho * 4 / 3, "bytes recebidos: " + servidor.bytes.get());
+        assertTrue(alocados < tamanho / 4, "bytes alocados: " + alocados);
+        assertThrows(ValidacaoException.class, () -> anexos.resolver(List.of("../relatorio.csv")));
+        assertThrows(ValidacaoException.class, () -> anexos.resolver(List.of("inexistente.csv")));
+    }
+
+    /**
+     * Servidor SMTP sem autenticação nem TLS, que aceita qualquer mensagem.
+     */
+    private static final class ServidorSmtp implements AutoCloseable {
+
+        private final ServerSocket socket = new ServerSocket(0);
+
+        private final AtomicInteger conexoes = new AtomicInteger();
+
+        private final AtomicInteger mensagens = new AtomicInteger();
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        private ServidorSmtp() throws IOException {
+            Thread.ofVirtual().start(() -> {
+                while (!socket.isClosed()) {
+                    try {
+                        Socket cliente = socket.accept();
+                        conexoes.incrementAndGet();
+                        Thread.ofVirtual().start(() -> atender(cliente));
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        private Session session() {
+            Properties props = new Properties();
+            props.put("mail.smtp.host", "localhost");
+            props.put("mail.smtp.port", String.valueOf(socket.getLocalPort()));
+            return Session.getInstance(props);
+        }
+
+        private void atender(Socket cliente) {
+            try (cliente; BufferedReader in = new BufferedReader(new InputStreamReader(cliente.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter out = new PrintWriter(cliente.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+                responder(out, "220 localhost");
+                String linha;
+                while ((linha = in.readLine()) != null) {
+                    String comando = linha.length() < 4 ? linha : linha.substring(0, 4).toUpperCase();
+                    switch (comando) {
+                        case "DATA" -> {
+                            responder(out, "354 fim com <CRLF>.<CRLF>");
+                            for (String corpo = in.readLine(); !".".equals(corpo); corpo = in.readLine()) {
+                                bytes.addAndGet(corpo.length() + 2);
+                            }
+                            mensagens.incrementAndGet();
+                            responder(out, "250 OK");
+                        }
+                        case "QUIT" -> {
+                            responder(out, "221 localhost");
+                            return;
+                        }
+                        default -> responder(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // Conexão fechada pelo cliente.
+            }
+        }
+
+        private static void responder(PrintWriter out, String resposta) {
+            out.print(resposta + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.template.core.test;
+
+import com.template.core.exception.ValidacaoException;
+import com.template.core.util.email.TemplateCompilado;
+import com.template.core.util.email.TemplatesEmail;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a compilação e a renderização dos templates de email: o escape das variáveis, o assunto pelo
+ * {@code <title>} e a validação das variáveis informadas.
+ */
+public class TemplatesEmailTests {
+
+    @Test
+    public void renderizar_EscapaAsVariaveisNoCorpoENaoNoAssunto() {
+        TemplateCompilado corpo = TemplateCompilado.compilar("<p>{{ nome }}, {{nome}} e {{outra}}.</p>", true);
+        TemplateCompilado assunto = TemplateCompilado.compilar("Olá, {{nome}}", false);
+        Map<String, String> valores = Map.of("nome", "<Ana & \"Bia\">");
+
+        StringBuilder buffer = new StringBuilder("x");
+        corpo.renderizar(valores::get, buffer);
+        assunto.renderizar(valores::get, buffer);
+
+        assertEquals("x<p>&lt;Ana &amp; &quot;Bia&quot;&gt;, &lt;Ana &amp; &quot;Bia&quot;&gt; e .</p>Olá, <Ana & \"Bia\">", buffer.toString());
+        assertEquals(Set.of("nome", "outra"), corpo.getVariaveis());
+        assertThrows(IllegalArgumentException.class, () -> TemplateCompilado.compilar("Olá, {{nome", true));
+        assertThrows(IllegalArgumentException.class, () -> TemplateCompilado.compilar("Olá, {{}}", true));
+    }
+
+    @Test
+    public void carregar_CompilaOsTemplatesDoClasspathComOAssuntoPeloTitle() {
+        TemplatesEmail templates = TemplatesEmail.carregar();
+
+        TemplatesEmail.Conteudo conteudo = templates.renderizar("exemplo", Map.of(TemplatesEmail.DESTINATARIO, "ana@template.com")::get);
+
+        assertEquals("Assunto do email", conteudo.assunto());
+        assertTrue(conteudo.corpo().startsWith("<html>") && conteudo.corpo().contains("Olá, ana@template.com<br>"));
+        assertThrows(ValidacaoException.class, () -> templates.renderizar("inexistente", nome -> null));
+        assertThrows(IllegalStateException.class, () -> TemplatesEmail.compilar("sem-titulo", "<p>{{nome}}</p>"));
+    }
+
+    @Test
+    public void renderizar_AssuntoSemCaracteresDeControleEComEntidadesDecodificadas() {
+        TemplatesEmail.TemplateEmail template = TemplatesEmail.compilar("assunto", "<title>\n  Ana &amp; {{nome}}\n</title><p>{{nome}}</p>");
+        StringBuilder assunto = new StringBuilder();
+
+        template.assunto().renderizar(Map.of("nome", "Bia\r\nBcc: x@template.com\u0000")::get, assunto);
+
+        assertEquals("Ana & Bia  Bcc: x@template.com ", assunto.toString());
+    }
+
+    @Test
+    public void validar_ExigeAsVariaveisExcetoODestinatario() {
+        TemplatesEmail templates = TemplatesEmail.carregar();
+
+        assertDoesNotThrow(() -> templates.validar("boas-vindas", Set.of("nome")));
+        assertThrows(ValidacaoException.class, () -> templates.validar("boas-vindas", Set.of("destinatario")));
+        assertThrows(ValidacaoException.class, () -> templates.validar("inexistente", Set.of("nome")));
+        assertEquals("Bem-vindo, Ana", templates.renderizar("boas-vindas", Map.of("nome", "Ana")::get).assunto());
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.template.core.test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.core.dto.CursorPageDTO;
+import com.template.core.dto.CursorRequestDTO;
+import com.template.core.entity.*;
+import com.template.core.enums.Acesso;
+import com.template.core.repository.UserRepository;
+import com.template.core.service.UserService;
+import com.template.core.util.security.PasswordHasher;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a quantidade de consultas dos planos de busca do User (listagem, detalhe e autorização), que não deve
+ * depender da quantidade de users nem do grafo de autorização das roles, e que a listagem serializa o mesmo JSON do
+ * detalhe.
+ */
+@AutoConfigureJson
+@DataJpaTest
+@Import(UserService.class)
+public class UserFetchPlanTests {
+
+    private static final int USERS = 60;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private PasswordHasher passwordHasher;
+
+    private Statistics statistics;
+
+    private Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        Permissao permissao = entityManager.persist(new Permissao(null, "/api/user/get/{id}", true));
+        Rota rotaAdmin = entityManager.persist(new Rota(null, "Users", "/api/user", Set.of(permissao), true));
+        Rota rotaUser = entityManager.persist(new Rota(null, "Perfil", "/api/user/get", Set.of(permissao), true));
+        Role admin = entityManager.persist(new Role(null, "ADMIN", Set.of(new GrupoAcesso(null, rotaAdmin, Set.of(Acesso.READ, Acesso.WRITE), true)), true));
+        Role user = entityManager.persist(new Role(null, "USER", Set.of(new GrupoAcesso(null, rotaUser, Set.of(Acesso.READ), true)), true));
+
+        for (int i = 0; i < USERS; i++) {
+            DadosPessoais dadosPessoais = entityManager.persist(new DadosPessoais(null, "NOME " + i, "cpf" + i, true));
+            userId = entityManager.persist(new User(null, "user" + i, "hash", "user" + i + "@template.com", true, LocalDate.now(), false, dadosPessoais, Set.of(admin, user))).getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    public void listagem_ExecutaConsultasDaPaginaContagemRolesEGrafoDasRoles(int size) {
+        Page<User> page = userService.findAll(PageRequest.of(0, size), false);
+
+        assertEquals(size, page.getNumberOfElements());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        page.forEach(user -> {
+            assertTrue(Hibernate.isInitialized(user.getDadosPessoais()));
+            assertTrue(Hibernate.isInitialized(user.getRoles()));
+            user.getRoles().forEach(role -> role.getGrupoAcesso().forEach(grupoAcesso -> assertTrue(Hibernate.isInitialized(grupoAcesso.getAcessos()))));
+        });
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void listagem_SerializaOMesmoJsonDoDetalhe() throws JsonProcessingException {
+        User listado = userService.findAll(PageRequest.of(0, 1), false).getContent().getFirst();
+        String json = objectMapper.writeValueAsString(listado);
+        entityManager.clear();
+
+        assertEquals(objectMapper.writeValueAsString(userService.findById(listado.getId(), false)), json);
+    }
+
+    @Test
+    public void cursor_PercorreTodosOsUsersSemConsultaDeContagem() {
+        List<Long> ids = new ArrayList<>();
+        CursorPageDTO<User> page = userService.findAll(new CursorRequestDTO(null, 25, false));
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        int pages = 1;
+        page.content().forEach(user -> ids.add(user.getId()));
+        while (page.next() != null) {
+            page = userService.findAll(new CursorRequestDTO(page.next(), 25, false));
+            page.content().forEach(user -> assertTrue(Hibernate.isInitialized(user.getRoles())));
+            page.content().forEach(user -> ids.add(user.getId()));
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(3L * pages, statistics.getPrepareStatementCount());
+        assertEquals(USERS, ids.size());
+        assertEquals(ids.stream().sorted().distinct().toList(), ids);
+    }
+
+    @Test
+    public void detalhe_CarregaGrafoDeAutorizacaoEmUmaConsulta() {
+        User user = userService.findById(userId, false);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(Hibernate.isInitialized(user.getDadosPessoais()));
+        user.getRoles().forEach(role -> role.getGrupoAcesso().forEach(grupoAcesso -> {
+            assertTrue(Hibernate.isInitialized(grupoAcesso.getAcessos()));
+            assertTrue(Hibernate.isInitialized(grupoAcesso.getRota().getPermissoes()));
+            assertEquals(role.getNome().equals("ADMIN") ? 2 : 1, grupoAcesso.getAcessos().size());
+        }));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void autorizacao_CarregaApenasAsRolesEmUmaConsulta() {
+        User user = userRepository.findByUsernameAndAtivoTrue("user0").orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(Set.of("ADMIN", "USER"), Set.copyOf(user.getRoles().stream().map(Role::getNome).toList()));
+        assertFalse(Hibernate.isInitialized(user.getDadosPessoais()));
+        user.getRoles().forEach(role -> assertFalse(Hibernate.isInitialized(role.getGrupoAcesso())));
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.template.core.test.benchmark;
+
+import com.template.core.util.documento.CpfCnpj;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a validação e normalização de um lote de 10 mil CPFs/CNPJs (metade formatados, 10% inválidos), como no
+ * endpoint {@code /dados_pessoais/validate}: a implementação usual, com expressão regular, substrings e
+ * {@code Integer.parseInt}, e o {@link CpfCnpj}, que percorre os caracteres sem alocar memória.
+ * <p>
+ * Execução: {@code java -cp target/test-classes:<classpath de teste> com.template.core.test.benchmark.CpfCnpjBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class CpfCnpjBenchmark {
+
+    private static final int DOCUMENTOS = 10_000;
+
+    private List<String> documentos;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] lote = new String[DOCUMENTOS];
+        for (int i = 0; i < DOCUMENTOS; i++) {
+            String documento = i % 2 == 0 ? cpf(random) : cnpj(random);
+            if (i % 10 == 0) {
+                documento = documento.substring(0, documento.length() - 1) + (char) ('0' + (documento.charAt(documento.length() - 1) - '0' + 1) % 10);
+            }
+            lote[i] = i % 4 < 2 ? documento : formata(documento);
+        }
+        documentos = Arrays.asList(lote);
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        for (String documento : documentos) {
+            blackhole.consume(legacyNormalizar(documento));
+        }
+    }
+
+    @Benchmark
+    public void cpfCnpjIsValido(Blackhole blackhole) {
+        for (String documento : documentos) {
+            blackhole.consume(CpfCnpj.isValido(documento));
+        }
+    }
+
+    @Benchmark
+    public List<String> cpfCnpjNormalizar() {
+        return CpfCnpj.normalizar(documentos);
+    }
+
+    /**
+     * Reprodução da implementação usual: remove a pontuação com uma expressão regular e calcula os dígitos verificadores
+     * sobre substrings.
+     */
+    private static String legacyNormalizar(String documento) {
+        String numeros = documento.replaceAll("[^0-9]", "");
+        if (numeros.length() != 11 && numeros.length() != 14 || numeros.chars().distinct().count() == 1) {
+            return null;
+        }
+        int tamanho = numeros.length() - 2;
+        String base = numeros.substring(0, tamanho);
+        String verificadores = digitoLegacy(base) + "";
+        verificadores += digitoLegacy(base + verificadores);
+        return numeros.substring(tamanho).equals(verificadores) ? numeros : null;
+    }
+
+    private static int digitoLegacy(String base) {
+        int soma = 0;
+        for (int i = 0; i < base.length(); i++) {
+            int peso = base.length() < 12 ? base.length() + 1 - i : (base.length() - i - 1) % 8 + 2;
+            soma += Integer.parseInt(base.substring(i, i + 1)) * peso;
+        }
+        return soma % 11 < 2 ? 0 : 11 - soma % 11;
+    }
+
+    private static String cpf(SplittableRandom random) {
+        return completa(String.format("%09d", random.nextInt(1_000_000_000)));
+    }
+
+    private static String cnpj(SplittableRandom random) {
+        return completa(String.format("%08d%04d", random.nextInt(100_000_000), random.nextInt(1, 10_000)));
+    }
+
+    private static String completa(String base) {
+        String primeiro = base + digitoLegacy(base);
+        return primeiro + digitoLegacy(primeiro);
+    }
+
+    private static String formata(String documento) {
+        return documento.length() == 11
+                ? documento.replaceFirst("(\\d{3})(\\d{3})(\\d{3})(\\d{2})", "$1.$2.$3-$4")
+                : documento.replaceFirst("(\\d{2})(\\d{3})(\\d{3})(\\d{4})(\\d{2})", "$1.$2.$3/$4-$5");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CpfCnpjBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.template.core.test.benchmark;
+
+import com.template.core.util.security.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a vazão do hash de senhas com 16 threads de requisição concorrentes: o código original, que cria um
+ * BCryptPasswordEncoder por chamada e faz o hash na própria thread da requisição, e o PasswordHasher, com encoder
+ * compartilhado e executor dedicado de 2 threads. No PasswordHasher, {@code hashed} conta os hashes concluídos e
+ * {@code rejected} as requisições recusadas por fila cheia (que seriam 503).
+ * <p>
+ * Execução: {@code java -cp target/test-classes:<classpath de teste> com.template.core.test.benchmark.PasswordHasherBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 3, time = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+@Warmup(iterations = 1, time = 5)
+public class PasswordHasherBenchmark {
+
+    private static final String PASSWORD = "template-core-password";
+
+    private ThreadPoolExecutor executor;
+
+    private PasswordHasher hasher;
+
+    @Setup
+    public void setup() {
+        executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(8), new ThreadPoolExecutor.AbortPolicy());
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(), 10, 4, executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Contadores de hashes concluídos e de requisições recusadas por thread.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long hashed;
+        public long rejected;
+    }
+
+    @Benchmark
+    public String legacyPerCallEncoder() {
+        return new BCryptPasswordEncoder().encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String hashingExecutor(Outcomes outcomes) {
+        try {
+            String hash = hasher.encode(PASSWORD);
+            outcomes.hashed++;
+            return hash;
+        } catch (RejectedExecutionException ex) {
+            outcomes.rejected++;
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PasswordHasherBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
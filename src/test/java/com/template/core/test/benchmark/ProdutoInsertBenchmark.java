@@ -0,0 +1,117 @@
+package com.template.core.test.benchmark;
+
+import com.template.core.entity.Produto;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compara a inserção de 100 mil produtos, em transações de 1000 registros (uma requisição {@code /save-all} cada):
+ * o mapeamento original, com ID {@code IDENTITY}, que obriga o Hibernate a executar cada INSERT isoladamente para obter
+ * o ID, e o mapeamento atual, com sequência {@code pooled-lo}, em que os INSERTs são agrupados em lotes JDBC.
+ * Ambos usam a mesma configuração de lotes ({@code jdbc.batch_size=50}, {@code order_inserts}).
+ * <p>
+ * O banco é definido por {@code -Dbenchmark.url}, {@code -Dbenchmark.username} e {@code -Dbenchmark.password}; por
+ * padrão, um H2 em memória. Em PostgreSQL, acrescentar {@code reWriteBatchedInserts=true} à URL, como na aplicação.
+ * <p>
+ * Execução: {@code java -cp target/test-classes:<classpath de teste> com.template.core.test.benchmark.ProdutoInsertBenchmark}
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+public class ProdutoInsertBenchmark {
+
+    private static final int PRODUTOS = 100_000;
+
+    private static final int TRANSACAO = 1000;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addPackage(Produto.class.getPackageName())
+                .addAnnotatedClass(Produto.class)
+                .addResource("benchmark/produto-identity.orm.xml")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, System.getProperty("benchmark.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.username", "sa"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.password", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void limpa() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("DELETE FROM Produto").executeUpdate();
+            session.createMutationQuery("DELETE FROM ProdutoIdentity").executeUpdate();
+        });
+    }
+
+    @Benchmark
+    public void identity() {
+        insere(i -> new ProdutoIdentity("PRODUTO " + i));
+    }
+
+    @Benchmark
+    public void sequencePooledLo() {
+        insere(i -> new Produto(null, "PRODUTO " + i, true));
+    }
+
+    private void insere(IntFunction<Object> produto) {
+        for (int inicio = 0; inicio < PRODUTOS; inicio += TRANSACAO) {
+            int primeiro = inicio;
+            sessionFactory.inTransaction(session -> {
+                for (int i = primeiro; i < primeiro + TRANSACAO; i++) {
+                    session.persist(produto.apply(i));
+                }
+            });
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProdutoInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Produto com o mapeamento de ID original ({@code IDENTITY}), definido em {@code benchmark/produto-identity.orm.xml}
+     * para não ser considerado uma entidade da aplicação.
+     */
+    public static class ProdutoIdentity {
+
+        private Long id;
+
+        private String descricao;
+
+        private boolean ativo;
+
+        protected ProdutoIdentity() {
+        }
+
+        private ProdutoIdentity(String descricao) {
+            this.descricao = descricao.toUpperCase();
+            this.ativo = true;
+        }
+
+    }
+
+}
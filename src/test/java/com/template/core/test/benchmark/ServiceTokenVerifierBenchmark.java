@@ -0,0 +1,67 @@
+package com.template.core.test.benchmark;
+
+import com.template.core.util.security.ServiceTokenVerifier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a validação do X-Service-Token feita pela lambda original do SecurityConfig com o ServiceTokenVerifier.
+ * <p>
+ * Execução: {@code java -cp target/test-classes:<classpath de teste> com.template.core.test.benchmark.ServiceTokenVerifierBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class ServiceTokenVerifierBenchmark {
+
+    private static final String API_KEY = "template-core-api-key-0123456789abcdef";
+
+    private final String validToken = Base64.getEncoder().encodeToString(API_KEY.getBytes(StandardCharsets.UTF_8));
+
+    private final String invalidToken = Base64.getEncoder().encodeToString("template-core-api-key-0123456789abcdeX".getBytes(StandardCharsets.UTF_8));
+
+    private final ServiceTokenVerifier verifier = new ServiceTokenVerifier(API_KEY, List.of("template-core-previous-api-key"));
+
+    /**
+     * Reprodução da validação original: decodifica o header, cria uma String e compara com equals.
+     */
+    private static boolean legacyValidateAPIKey(String key) {
+        String decodedKey = new String(Base64.getDecoder().decode(key.getBytes()));
+        return decodedKey.equals(API_KEY);
+    }
+
+    @Benchmark
+    public boolean legacyValidToken() {
+        return legacyValidateAPIKey(validToken);
+    }
+
+    @Benchmark
+    public boolean legacyInvalidToken() {
+        return legacyValidateAPIKey(invalidToken);
+    }
+
+    @Benchmark
+    public boolean verifierValidToken() {
+        return verifier.matches(validToken);
+    }
+
+    @Benchmark
+    public boolean verifierInvalidToken() {
+        return verifier.matches(invalidToken);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ServiceTokenVerifierBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.template.core.test.benchmark;
+
+import com.template.core.util.email.TemplatesEmail;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a renderização do assunto e do corpo de 100 mil emails, cada um com o seu destinatário, como no envio de
+ * um lote pelo {@link com.template.core.config.EmailOutboxWorker}: a implementação usual, que procura e substitui as
+ * variáveis no HTML a cada email com {@code String.replace}, e os {@link TemplatesEmail}, compilados uma única vez e
+ * renderizados em um buffer reaproveitado.
+ * <p>
+ * Execução: {@code java -cp target/test-classes:<classpath de teste> com.template.core.test.benchmark.TemplatesEmailBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class TemplatesEmailBenchmark {
+
+    private static final int EMAILS = 100_000;
+
+    private static final String TEMPLATE = "boas-vindas";
+
+    private TemplatesEmail templates;
+
+    private String fonte;
+
+    private String[] destinatarios;
+
+    private Map<String, String> variaveis;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        templates = TemplatesEmail.carregar();
+        try (var stream = getClass().getResourceAsStream("/templates/email/" + TEMPLATE + ".html")) {
+            fonte = new String(stream.readAllBytes());
+        }
+        destinatarios = new String[EMAILS];
+        for (int i = 0; i < EMAILS; i++) {
+            destinatarios[i] = "cliente" + i + "@template.com";
+        }
+        variaveis = Map.of("nome", "Cliente & Cia");
+    }
+
+    @Benchmark
+    public void stringReplace(Blackhole blackhole) {
+        for (String destinatario : destinatarios) {
+            String html = fonte.replace("{{nome}}", escapar(variaveis.get("nome"))).replace("{{destinatario}}", escapar(destinatario));
+            blackhole.consume(html.substring(html.indexOf("<title>") + 7, html.indexOf("</title>")).replace("&amp;", "&"));
+            blackhole.consume(html);
+        }
+    }
+
+    @Benchmark
+    public void templatesEmail(Blackhole blackhole) {
+        for (String destinatario : destinatarios) {
+            blackhole.consume(templates.renderizar(TEMPLATE, nome -> TemplatesEmail.DESTINATARIO.equals(nome) ? destinatario : variaveis.get(nome)));
+        }
+    }
+
+    /**
+     * Escape usual, com uma substituição por caractere especial.
+     */
+    private static String escapar(String valor) {
+        return valor.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;").replace("'", "&#39;");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TemplatesEmailBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.template.core.test.benchmark;
+
+import com.template.core.util.ratelimit.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo do TokenBucketRateLimiter sob contenção de 64 threads, tanto com as requisições espalhadas entre
+ * vários clientes e rotas quanto concentradas em um único bucket.
+ * <p>
+ * Execução: {@code java -cp target/test-classes:<classpath de teste> com.template.core.test.benchmark.TokenBucketRateLimiterBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+@Warmup(iterations = 3, time = 1)
+public class TokenBucketRateLimiterBenchmark {
+
+    private static final int CALLERS = 4;
+
+    private static final int ROUTES = 64;
+
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1_000_000, 4096);
+
+    @Benchmark
+    public long spreadKeys() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long key = (long) random.nextInt(CALLERS) << Integer.SIZE | random.nextInt(ROUTES);
+        return limiter.tryAcquire(key, System.nanoTime());
+    }
+
+    @Benchmark
+    public long hotKey() {
+        return limiter.tryAcquire(1, System.nanoTime());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TokenBucketRateLimiterBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+
+}